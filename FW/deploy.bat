@@ -26,10 +26,13 @@ if errorlevel 1 (
 )
 del sources.txt
 
+:: Ressources (déclaration de l'annotation processor)
+xcopy /E /I /Y src\main\resources %BUILD_DIR% > nul
+
 :: Création du JAR
 echo Creation du JAR %APP_NAME%.jar...
 cd %BUILD_DIR%
-jar -cvf %APP_NAME%.jar com
+jar -cvf %APP_NAME%.jar com META-INF
 cd ..
 
 :: Copie vers le projet Test
@@ -0,0 +1,15 @@
+package com.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * La méthode est exécutée hors du pool du conteneur (threads virtuels si disponibles),
+ * la requête restant ouverte en mode asynchrone jusqu'à la réponse.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Async {
+}
@@ -0,0 +1,18 @@
+package com.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * La réponse d'une route GET est gardée en mémoire (octets et en-têtes déjà produits),
+ * par chemin et valeurs des @RequestParam : un hit ne crée pas de controller,
+ * ne fait aucun binding et ne resérialise rien.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cacheable {
+    long ttl() default 60;          // secondes
+    int maxEntries() default 1000;  // au-delà, les entrées les moins récemment lues sont évincées
+}
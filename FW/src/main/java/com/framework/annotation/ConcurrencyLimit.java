@@ -0,0 +1,20 @@
+package com.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Nombre maximal d'exécutions simultanées d'une route : au-delà, la requête attend dans
+ * une file courte et bornée, sinon réponse 503 immédiate. Évite qu'une route lente
+ * (dépendance en panne) occupe tous les threads du conteneur.
+ * Sur la classe, s'applique à chaque route du controller (une annotation de méthode l'emporte).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ConcurrencyLimit {
+    int value();                       // exécutions simultanées
+    int queue() default 0;             // requêtes pouvant attendre une place ; 0 : refus immédiat
+    long maxWaitMillis() default 100;  // attente maximale dans la file
+}
@@ -9,4 +9,6 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 public @interface Controller {
     String url() default "";   // on remet "url()" pour que ton code compile
-}
\ No newline at end of file
+    Scope scope() default Scope.REQUEST;
+    int poolSize() default 16; // utilisé seulement avec Scope.POOLED
+}
@@ -0,0 +1,16 @@
+package com.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Réponse en Server-Sent Events (text/event-stream) : chaque élément du résultat (Stream,
+ * Iterator, Iterable) devient un événement envoyé dès qu'il est produit, ServerSentEvent
+ * pour nommer l'événement ou fixer son id. Avec @Async, la requête n'a pas de délai maximal.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface EventStream {
+}
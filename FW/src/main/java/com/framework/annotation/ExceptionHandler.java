@@ -0,0 +1,19 @@
+package com.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Méthode d'un controller appelée quand une de ses routes lève une exception du type
+ * déclaré (ou d'un sous-type ; le gestionnaire du type le plus proche l'emporte).
+ * Paramètres acceptés : l'exception, HttpServletRequest, HttpServletResponse.
+ * Le résultat est rendu comme celui de la route, avec le statut d'erreur.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ExceptionHandler {
+    Class<? extends Throwable>[] value() default {}; // vide : le type du paramètre exception
+    int status() default 0;                          // 0 : statut de la FrameworkException, sinon 500
+}
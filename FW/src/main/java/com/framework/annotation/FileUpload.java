@@ -5,8 +5,13 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Paramètre de type InputStream, java.nio.file.Path (fichier enregistré dans le
+ * dossier d'upload), UploadedFile, Part, ou byte[] avec inMemory = true.
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.PARAMETER)
 public @interface FileUpload {
     String value(); // nom du <input name="...">
-}
\ No newline at end of file
+    boolean inMemory() default false; // obligatoire pour un byte[] : tout le fichier en mémoire
+}
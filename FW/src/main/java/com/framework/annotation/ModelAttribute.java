@@ -0,0 +1,18 @@
+package com.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Le paramètre (un bean) est rempli avec les paramètres de la requête, ou les champs texte
+ * d'un formulaire multipart : "nom", "adresse.ville", "lignes[0].quantite", "tags"...
+ * Seules les propriétés ayant un setter public sont remplies : un champ sans setter
+ * (admin, id...) ne peut pas être fixé par le client.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface ModelAttribute {
+    String value() default ""; // préfixe : "user" → user.nom, user.adresse.ville...
+}
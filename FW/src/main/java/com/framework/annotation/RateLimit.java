@@ -0,0 +1,17 @@
+package com.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Débit maximal d'une route (seau à jetons) : au-delà, réponse 429 immédiate avec Retry-After.
+ * Sur la classe, s'applique à chaque route du controller (une annotation de méthode l'emporte).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RateLimit {
+    double value();          // requêtes par seconde
+    int burst() default 0;   // rafale admise d'un coup ; 0 : une seconde de débit
+}
@@ -0,0 +1,17 @@
+package com.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Le paramètre est lu depuis le corps JSON de la requête (objet, record, liste, Map, type simple),
+ * directement sur le flux d'entrée. Un bean n'est rempli que par ses setters publics : un champ
+ * sans setter (admin, id...) ne peut pas être fixé par le client.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface RequestBody {
+    boolean required() default true; // false : corps vide → null
+}
@@ -0,0 +1,7 @@
+package com.framework.annotation;
+
+public enum Scope {
+    REQUEST,    // une nouvelle instance par requête (comportement historique)
+    SINGLETON,  // une seule instance créée à init(), partagée : le controller doit être sans état
+    POOLED      // instances réutilisées depuis un pool borné
+}
@@ -0,0 +1,57 @@
+package com.framework.binding;
+
+import com.framework.mapping.RouteMatch;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contexte d'une sous-requête de batch : paramètres et corps lus dans le JSON du batch,
+ * variables de chemin de la route trouvée, pas de fichier ni de requête servlet propre.
+ */
+public class BatchBindingContext extends BindingContext {
+    private final Map<String, String> parameters;
+    private final RouteMatch match;
+    private final UploadSettings uploadSettings;
+    private final byte[] body; // JSON de la propriété "body" de la sous-requête, ou null
+    private Map<String, String[]> parameterMap;
+
+    public BatchBindingContext(Map<String, String> parameters, RouteMatch match, UploadSettings uploadSettings, byte[] body) {
+        this.parameters = parameters;
+        this.match = match;
+        this.uploadSettings = uploadSettings;
+        this.body = body;
+    }
+
+    @Override
+    public String getParameter(String name) { return parameters.get(name); }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        if (parameterMap == null) {
+            parameterMap = new HashMap<>();
+            parameters.forEach((name, value) -> parameterMap.put(name, new String[]{value}));
+        }
+        return parameterMap;
+    }
+
+    @Override
+    public String getPathVariable(int index) { return match.getPathVariable(index); }
+
+    @Override
+    public Part getFilePart(String name) { return null; }
+
+    @Override
+    public UploadSettings getUploadSettings() { return uploadSettings; }
+
+    @Override
+    public InputStream getBody() { return body != null ? new ByteArrayInputStream(body) : null; }
+
+    // les sous-requêtes s'exécutent en parallèle : la requête du batch ne leur est pas exposée
+    @Override
+    public HttpServletRequest getRequest() { return null; }
+}
@@ -0,0 +1,33 @@
+package com.framework.binding;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
+
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Sources de valeurs disponibles pour les binders d'une requête.
+ */
+public abstract class BindingContext {
+
+    public abstract String getParameter(String name) throws Exception;
+
+    public abstract String getPathVariable(int index);
+
+    public abstract Part getFilePart(String name) throws Exception;
+
+    public abstract UploadSettings getUploadSettings();
+
+    public abstract HttpServletRequest getRequest();
+
+    /** Tous les paramètres (valeurs multiples comprises), pour @ModelAttribute. */
+    public Map<String, String[]> getParameterMap() throws Exception {
+        return Map.of();
+    }
+
+    /** Corps JSON de la requête, ou null s'il n'y en a pas. */
+    public InputStream getBody() throws Exception {
+        return null;
+    }
+}
@@ -0,0 +1,6 @@
+package com.framework.binding;
+
+@FunctionalInterface
+public interface Converter {
+    Object convert(String value);
+}
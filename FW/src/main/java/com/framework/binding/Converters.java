@@ -0,0 +1,139 @@
+package com.framework.binding;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre des convertisseurs String → type. Les types simples, enums, dates, UUID et tableaux
+ * sont fournis ; register() ajoute ou remplace un type et doit être appelé avant le scan,
+ * puisque chaque paramètre résout son convertisseur une fois, au scan.
+ */
+public final class Converters {
+
+    private static final Map<Class<?>, Converter> REGISTRY = new ConcurrentHashMap<>();
+
+    static {
+        Converter bool = value -> Boolean.parseBoolean(value) || "on".equalsIgnoreCase(value) || "1".equals(value);
+        Converter character = value -> {
+            if (value.length() != 1) throw new IllegalArgumentException("un seul caractère attendu : " + value);
+            return value.charAt(0);
+        };
+        builtIn(Integer::parseInt, int.class, Integer.class);
+        builtIn(Long::parseLong, long.class, Long.class);
+        builtIn(Double::parseDouble, double.class, Double.class);
+        builtIn(Float::parseFloat, float.class, Float.class);
+        builtIn(Short::parseShort, short.class, Short.class);
+        builtIn(Byte::parseByte, byte.class, Byte.class);
+        builtIn(bool, boolean.class, Boolean.class);
+        builtIn(character, char.class, Character.class);
+        builtIn(value -> value, String.class, CharSequence.class, Object.class);
+        builtIn(BigDecimal::new, BigDecimal.class);
+        builtIn(BigInteger::new, BigInteger.class);
+        builtIn(UUID::fromString, UUID.class);
+        builtIn(LocalDate::parse, LocalDate.class);
+        builtIn(LocalDateTime::parse, LocalDateTime.class);
+        builtIn(LocalTime::parse, LocalTime.class);
+        builtIn(OffsetDateTime::parse, OffsetDateTime.class);
+        builtIn(Instant::parse, Instant.class);
+    }
+
+    private Converters() {}
+
+    private static void builtIn(Converter converter, Class<?>... types) {
+        for (Class<?> type : types) REGISTRY.put(type, converter);
+    }
+
+    /** Ajoute ou remplace le convertisseur d'un type (avant le scan des controllers). */
+    public static void register(Class<?> type, Converter converter) {
+        REGISTRY.put(type, converter);
+    }
+
+    // résolu une fois au scan : plus de chaîne de if par requête
+    public static Converter forType(Class<?> targetType) {
+        Converter converter = find(targetType);
+        return converter != null ? converter : value -> value;
+    }
+
+    /**
+     * Convertisseur du type, ou null s'il n'en a pas : registre, enum, tableau
+     * ("a,b,c"), sinon méthode statique valueOf(String) ou constructeur (String).
+     */
+    public static Converter find(Class<?> type) {
+        Converter converter = REGISTRY.get(type);
+        if (converter != null) return converter;
+        if (type.isEnum()) return enumConverter(type);
+        if (type.isArray()) {
+            Converter element = find(type.getComponentType());
+            return element != null ? arrayConverter(type.getComponentType(), element) : null;
+        }
+        return factory(type);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Converter enumConverter(Class<?> type) {
+        Map<String, Object> constants = new HashMap<>();
+        for (Object constant : type.getEnumConstants()) constants.put(((Enum) constant).name(), constant);
+        return value -> {
+            Object constant = constants.get(value);
+            if (constant == null) throw new IllegalArgumentException(value + " n'est pas une valeur de " + type.getSimpleName());
+            return constant;
+        };
+    }
+
+    private static Converter arrayConverter(Class<?> componentType, Converter element) {
+        return value -> {
+            String[] items = value.isEmpty() ? new String[0] : value.split(",");
+            Object array = Array.newInstance(componentType, items.length);
+            for (int i = 0; i < items.length; i++) Array.set(array, i, element.convert(items[i].trim()));
+            return array;
+        };
+    }
+
+    private static Converter factory(Class<?> type) {
+        if (type.isPrimitive() || type.isInterface() || Modifier.isAbstract(type.getModifiers())) return null;
+        MethodHandle handle = null;
+        try {
+            Method valueOf = type.getMethod("valueOf", String.class);
+            if (Modifier.isStatic(valueOf.getModifiers()) && type.isAssignableFrom(valueOf.getReturnType())) {
+                handle = MethodHandles.publicLookup().unreflect(valueOf);
+            }
+        } catch (NoSuchMethodException | IllegalAccessException ignored) {
+            // pas de valueOf(String) public
+        }
+        if (handle == null) {
+            try {
+                Constructor<?> ctor = type.getConstructor(String.class);
+                handle = MethodHandles.publicLookup().unreflectConstructor(ctor);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return null;
+            }
+        }
+        MethodHandle factory = handle.asType(MethodType.methodType(Object.class, String.class));
+        return value -> {
+            try {
+                return (Object) factory.invokeExact(value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        };
+    }
+}
@@ -0,0 +1,394 @@
+package com.framework.binding;
+
+import com.framework.exception.BadRequestException;
+import com.framework.json.BeanSetters;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Binder d'un paramètre @ModelAttribute. Le plan est construit une fois, au scan :
+ * un arbre de propriétés portant chacune son nom ("adresse.ville"), son setter
+ * (MethodHandle) et son convertisseur. Par requête, une lecture de la map des paramètres
+ * par propriété ; un bean imbriqué n'est créé que si l'une de ses propriétés est présente.
+ * Les éléments d'une liste de beans ("lignes[0].produit") partagent un seul plan, aux noms
+ * relatifs à l'élément : le préfixe "lignes[i]." n'est ajouté qu'à la lecture, la taille du
+ * plan ne dépend donc pas des index envoyés par le client.
+ */
+final class ModelAttributeBinder implements ParamBinder {
+
+    // lignes[i] : index borné, la taille des listes ne dépend pas du client
+    static final int MAX_INDEX = 256;
+    private static final int MAX_DEPTH = 8;
+    private static final Object ABSENT = new Object();
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // introspection d'une classe, partagée par tous les préfixes qui l'utilisent
+    private static final ClassValue<BeanPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected BeanPlan computeValue(Class<?> type) {
+            return new BeanPlan(type);
+        }
+    };
+
+    private final BeanNode root;
+
+    private ModelAttributeBinder(BeanNode root) {
+        this.root = root;
+    }
+
+    /** prefix : valeur de @ModelAttribute ("" : propriétés à la racine). */
+    static ModelAttributeBinder of(Class<?> type, String prefix) {
+        if (!isBean(type)) {
+            throw new IllegalStateException(type.getName() + " n'est pas un bean (constructeur sans argument requis)");
+        }
+        Set<Class<?>> ancestors = new HashSet<>();
+        ancestors.add(type);
+        return new ModelAttributeBinder(new BeanNode(type, prefix.isEmpty() ? "" : prefix + ".", ancestors));
+    }
+
+    @Override
+    public Object bind(BindingContext ctx) throws Exception {
+        return root.bind(ctx.getParameterMap(), "", true);
+    }
+
+    private static boolean isBean(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || type.isEnum()
+                || Modifier.isAbstract(type.getModifiers()) || type.getName().startsWith("java.")) {
+            return false;
+        }
+        try {
+            type.getDeclaredConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // nœud d'une propriété ; null : propriété ignorée (cycle ou profondeur maximale)
+    private static Node node(BeanPlan.Property property, String name, Set<Class<?>> ancestors) {
+        Class<?> type = property.type;
+        if (type.isArray() || Collection.class.isAssignableFrom(type)) {
+            Class<?> element = type.isArray() ? type.getComponentType() : elementType(property);
+            Function<List<Object>, Object> collector = collector(type, element);
+            Converter converter = Converters.find(element);
+            if (converter != null) return new ValuesNode(property.setter, name, converter, collector);
+            if (!isBean(element)) throw unsupported(property, element);
+            if (ancestors.contains(element) || ancestors.size() >= MAX_DEPTH) return null;
+            return new IndexedNode(property.setter, name, element, collector, ancestors);
+        }
+        Converter converter = Converters.find(type);
+        if (converter != null) return new ValueNode(property.setter, name, converter, type == String.class);
+        if (!isBean(type)) throw unsupported(property, type);
+        if (ancestors.contains(type) || ancestors.size() >= MAX_DEPTH) return null;
+        return new NestedNode(property.setter, new BeanNode(type, name + ".", with(ancestors, type)));
+    }
+
+    private static Class<?> elementType(BeanPlan.Property property) {
+        if (property.genericType instanceof ParameterizedType) {
+            Type arg = ((ParameterizedType) property.genericType).getActualTypeArguments()[0];
+            if (arg instanceof Class) return (Class<?>) arg;
+        }
+        throw new IllegalStateException("type d'élément non résolu pour " + property.name + " : " + property.genericType);
+    }
+
+    private static IllegalStateException unsupported(BeanPlan.Property property, Class<?> type) {
+        return new IllegalStateException("type non supporté pour " + property.name + " : " + type.getName()
+                + " (ajouter un convertisseur avec Converters.register)");
+    }
+
+    private static Set<Class<?>> with(Set<Class<?>> ancestors, Class<?> type) {
+        Set<Class<?>> set = new HashSet<>(ancestors);
+        set.add(type);
+        return set;
+    }
+
+    private static Function<List<Object>, Object> collector(Class<?> type, Class<?> element) {
+        if (type.isArray()) {
+            return items -> {
+                Object array = Array.newInstance(element, items.size());
+                for (int i = 0; i < items.size(); i++) Array.set(array, i, items.get(i));
+                return array;
+            };
+        }
+        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+            MethodHandle ctor = BeanPlan.constructor(type);
+            return items -> {
+                @SuppressWarnings("unchecked")
+                Collection<Object> collection = (Collection<Object>) newInstance(ctor);
+                collection.addAll(items);
+                return collection;
+            };
+        }
+        if (SortedSet.class.isAssignableFrom(type)) return TreeSet::new;
+        if (Set.class.isAssignableFrom(type)) return LinkedHashSet::new;
+        if (type.isAssignableFrom(ArrayList.class)) return ArrayList::new;
+        throw new IllegalStateException("Collection non supportée : " + type.getName());
+    }
+
+    // base : préfixe de l'élément de liste englobant ("lignes[2]."), vide hors liste
+    private static String key(String base, String name) {
+        return base.isEmpty() ? name : base + name;
+    }
+
+    private static Object convert(Converter converter, String name, String value) {
+        try {
+            return converter.convert(value);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Paramètre '" + name + "' invalide : " + value);
+        }
+    }
+
+    /**
+     * Index de "nom[i]" à partir de from (juste après le '['), ou -1 si la clé n'a pas cette forme ;
+     * leaf : rien après le ']', sinon un '.' doit suivre.
+     */
+    private static int index(String key, int from, String name, boolean leaf) {
+        int i = from;
+        int index = 0;
+        while (i < key.length() && key.charAt(i) >= '0' && key.charAt(i) <= '9') {
+            index = index * 10 + (key.charAt(i) - '0');
+            if (index >= MAX_INDEX) throw new BadRequestException("Index trop grand pour " + name + " (max " + (MAX_INDEX - 1) + ")");
+            i++;
+        }
+        if (i == from || i >= key.length() || key.charAt(i) != ']') return -1;
+        i++;
+        if (leaf) return i == key.length() ? index : -1;
+        return i < key.length() && key.charAt(i) == '.' ? index : -1;
+    }
+
+    private static Object newInstance(MethodHandle ctor) {
+        try {
+            return (Object) ctor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    private static void set(MethodHandle setter, Object bean, Object value) {
+        try {
+            setter.invokeExact(bean, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    private static final class BeanNode {
+        private final MethodHandle constructor;
+        private final Node[] properties;
+
+        BeanNode(Class<?> type, String prefix, Set<Class<?>> ancestors) {
+            BeanPlan plan = PLANS.get(type);
+            this.constructor = plan.constructor;
+            List<Node> nodes = new ArrayList<>();
+            for (BeanPlan.Property property : plan.properties) {
+                Node node = node(property, prefix + property.name, ancestors);
+                if (node != null) nodes.add(node);
+            }
+            this.properties = nodes.toArray(new Node[0]);
+        }
+
+        // always : bean créé même sans aucune propriété (racine) ; sinon null si rien n'est présent
+        Object bind(Map<String, String[]> params, String base, boolean always) {
+            Object bean = always ? newInstance(constructor) : null;
+            for (Node property : properties) {
+                Object value = property.read(params, base);
+                if (value == ABSENT) continue;
+                if (bean == null) bean = newInstance(constructor);
+                set(property.setter, bean, value);
+            }
+            return bean;
+        }
+    }
+
+    private abstract static class Node {
+        final MethodHandle setter;
+
+        Node(MethodHandle setter) {
+            this.setter = setter;
+        }
+
+        /** Valeur de la propriété, ou ABSENT : la valeur d'initialisation du champ est conservée. */
+        abstract Object read(Map<String, String[]> params, String base);
+    }
+
+    private static final class ValueNode extends Node {
+        private final String name;
+        private final Converter converter;
+        private final boolean text;
+
+        ValueNode(MethodHandle setter, String name, Converter converter, boolean text) {
+            super(setter);
+            this.name = name;
+            this.converter = converter;
+            this.text = text;
+        }
+
+        @Override
+        Object read(Map<String, String[]> params, String base) {
+            String key = key(base, name);
+            String[] values = params.get(key);
+            if (values == null || values.length == 0) return ABSENT;
+            String value = values[0];
+            if (value.isEmpty() && !text) return ABSENT; // champ de formulaire laissé vide
+            return convert(converter, key, value);
+        }
+    }
+
+    // tags=a&tags=b, ou tags[0]=a&tags[1]=b
+    private static final class ValuesNode extends Node {
+        private final String name;
+        private final Converter converter;
+        private final Function<List<Object>, Object> collector;
+
+        ValuesNode(MethodHandle setter, String name, Converter converter, Function<List<Object>, Object> collector) {
+            super(setter);
+            this.name = name;
+            this.converter = converter;
+            this.collector = collector;
+        }
+
+        @Override
+        Object read(Map<String, String[]> params, String base) {
+            String name = key(base, this.name);
+            String open = name + "[";
+            String[] values = params.get(name);
+            List<Object> items = new ArrayList<>();
+            if (values != null) {
+                for (String value : values) {
+                    if (!value.isEmpty()) items.add(convert(converter, name, value));
+                }
+                return collector.apply(items);
+            }
+            TreeMap<Integer, String> indexed = null;
+            for (Map.Entry<String, String[]> e : params.entrySet()) {
+                String key = e.getKey();
+                if (!key.startsWith(open)) continue;
+                int i = index(key, open.length(), name, true);
+                if (i < 0 || e.getValue().length == 0 || e.getValue()[0].isEmpty()) continue;
+                if (indexed == null) indexed = new TreeMap<>();
+                indexed.put(i, e.getValue()[0]);
+            }
+            if (indexed == null) return ABSENT;
+            for (Map.Entry<Integer, String> e : indexed.entrySet()) {
+                items.add(convert(converter, name + "[" + e.getKey() + "]", e.getValue()));
+            }
+            return collector.apply(items);
+        }
+    }
+
+    private static final class NestedNode extends Node {
+        private final BeanNode bean;
+
+        NestedNode(MethodHandle setter, BeanNode bean) {
+            super(setter);
+            this.bean = bean;
+        }
+
+        @Override
+        Object read(Map<String, String[]> params, String base) {
+            Object value = bean.bind(params, base, false);
+            return value != null ? value : ABSENT;
+        }
+    }
+
+    // lignes[0].produit=...&lignes[1].produit=... : un seul plan d'élément, relatif ("produit"),
+    // lu avec le préfixe de chaque index présent
+    private static final class IndexedNode extends Node {
+        private final String name;
+        private final BeanNode element;
+        private final Function<List<Object>, Object> collector;
+
+        IndexedNode(MethodHandle setter, String name, Class<?> element, Function<List<Object>, Object> collector,
+                    Set<Class<?>> ancestors) {
+            super(setter);
+            this.name = name;
+            this.element = new BeanNode(element, "", with(ancestors, element));
+            this.collector = collector;
+        }
+
+        @Override
+        Object read(Map<String, String[]> params, String base) {
+            String name = key(base, this.name);
+            String open = name + "[";
+            BitSet indexes = null;
+            for (String key : params.keySet()) {
+                if (!key.startsWith(open)) continue;
+                int i = index(key, open.length(), name, false);
+                if (i < 0) continue;
+                if (indexes == null) indexes = new BitSet();
+                indexes.set(i);
+            }
+            if (indexes == null) return ABSENT;
+            List<Object> items = new ArrayList<>();
+            for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+                Object item = element.bind(params, open + i + "].", false);
+                if (item != null) items.add(item);
+            }
+            return collector.apply(items);
+        }
+    }
+
+    // constructeur sans argument et setters publics d'une classe, en MethodHandles ;
+    // pas d'écriture directe des champs : le client ne remplit que ce que la classe expose
+    private static final class BeanPlan {
+        final MethodHandle constructor;
+        final List<Property> properties = new ArrayList<>();
+
+        BeanPlan(Class<?> type) {
+            this.constructor = constructor(type);
+            for (Field field : BeanSetters.fields(type)) {
+                MethodHandle setter = BeanSetters.setter(field);
+                if (setter != null) properties.add(new Property(field, setter.asType(SETTER)));
+            }
+        }
+
+        static MethodHandle constructor(Class<?> type) {
+            try {
+                Constructor<?> ctor = type.getDeclaredConstructor();
+                ctor.setAccessible(true);
+                return MethodHandles.lookup().unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new IllegalStateException("Instanciation impossible : " + type.getName(), e);
+            }
+        }
+
+        static final class Property {
+            final String name;
+            final Class<?> type;
+            final Type genericType;
+            final MethodHandle setter;
+
+            Property(Field field, MethodHandle setter) {
+                this.name = field.getName();
+                this.type = field.getType();
+                this.genericType = field.getGenericType();
+                this.setter = setter;
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.framework.binding;
+
+/**
+ * Fournit la valeur d'un paramètre de méthode de controller.
+ * Le tableau de binders d'une route est calculé une seule fois au scan.
+ */
+@FunctionalInterface
+public interface ParamBinder {
+    Object bind(BindingContext ctx) throws Exception;
+}
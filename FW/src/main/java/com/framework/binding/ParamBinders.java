@@ -0,0 +1,243 @@
+package com.framework.binding;
+
+import com.framework.annotation.FileUpload;
+import com.framework.annotation.ModelAttribute;
+import com.framework.annotation.Param;
+import com.framework.annotation.RequestBody;
+import com.framework.annotation.RequestParam;
+import com.framework.exception.BadRequestException;
+import com.framework.json.JsonDecoder;
+import com.framework.json.JsonReader;
+import com.framework.model.UploadedFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
+
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Construit, au scan, le plan de binding d'une méthode de controller :
+ * un binder par paramètre, toutes les annotations étant lues ici une fois.
+ */
+public final class ParamBinders {
+
+    private ParamBinders() {}
+
+    public static ParamBinder[] plan(Method method, String url) {
+        List<String> pathVariables = pathVariables(url);
+        Parameter[] parameters = method.getParameters();
+        ParamBinder[] binders = new ParamBinder[parameters.length];
+        boolean[] claimed = new boolean[pathVariables.size()];
+        List<Integer> unnamed = new ArrayList<>();
+
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter param = parameters[i];
+
+            // 1. Fichier (@FileUpload)
+            if (param.isAnnotationPresent(FileUpload.class)) {
+                binders[i] = fileUpload(param, method);
+                continue;
+            }
+
+            // 2. Corps JSON (@RequestBody) : lecteur du type construit ici, une fois
+            if (param.isAnnotationPresent(RequestBody.class)) {
+                binders[i] = requestBody(param, method);
+                continue;
+            }
+
+            // 3. Bean rempli par les paramètres (@ModelAttribute) : plan du bean construit ici, une fois
+            if (param.isAnnotationPresent(ModelAttribute.class)) {
+                binders[i] = modelAttribute(param, method);
+                continue;
+            }
+
+            Converter converter = Converters.forType(param.getType());
+
+            // 4. @RequestParam
+            if (param.isAnnotationPresent(RequestParam.class)) {
+                RequestParam rp = param.getAnnotation(RequestParam.class);
+                binders[i] = requestParam(rp.value(), rp.required(), rp.defaultValue(), converter);
+                continue;
+            }
+
+            // 5. Variable de chemin : par @Param, sinon par nom de paramètre (-parameters),
+            //    sinon dans l'ordre des paramètres non annotés, parmi les variables restantes
+            int index;
+            String name;
+            if (param.isAnnotationPresent(Param.class)) {
+                name = param.getAnnotation(Param.class).value();
+                index = pathVariables.indexOf(name);
+                if (index < 0) {
+                    throw new IllegalStateException("Variable {" + name + "} absente de l'URL " + url
+                            + " (" + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ")");
+                }
+            } else if (param.isNamePresent() && pathVariables.contains(param.getName())) {
+                name = param.getName();
+                index = pathVariables.indexOf(name);
+            } else {
+                unnamed.add(i); // position attribuée une fois toutes les variables nommées connues
+                continue;
+            }
+            claimed[index] = true;
+            binders[i] = pathVariable(index, name, converter);
+        }
+
+        int positional = 0;
+        for (int i : unnamed) {
+            while (positional < claimed.length && claimed[positional]) positional++;
+            int index = positional < claimed.length ? positional++ : -1;
+            String name = index >= 0 ? pathVariables.get(index) : "paramètre " + i;
+            binders[i] = index >= 0 ? pathVariable(index, name, Converters.forType(parameters[i].getType())) : missing(name);
+        }
+        return binders;
+    }
+
+    /** Exécute le plan : un argument par binder, dans l'ordre des paramètres. */
+    public static Object[] bind(ParamBinder[] binders, BindingContext ctx) throws Exception {
+        Object[] args = new Object[binders.length];
+        for (int i = 0; i < binders.length; i++) {
+            args[i] = binders[i].bind(ctx);
+        }
+        return args;
+    }
+
+    static List<String> pathVariables(String url) {
+        List<String> names = new ArrayList<>();
+        for (String segment : url.split("/")) {
+            if (segment.length() > 1 && segment.startsWith("{") && segment.endsWith("}")) {
+                names.add(segment.substring(1, segment.length() - 1));
+            }
+        }
+        return names;
+    }
+
+    private static ParamBinder pathVariable(int index, String name, Converter converter) {
+        return ctx -> {
+            String value = ctx.getPathVariable(index);
+            if (value == null || value.isEmpty()) {
+                throw new BadRequestException("Paramètre requis manquant : " + name);
+            }
+            return convert(converter, name, value);
+        };
+    }
+
+    private static ParamBinder requestParam(String name, boolean required, String defaultValue, Converter converter) {
+        return ctx -> {
+            String value = ctx.getParameter(name);
+            if (value == null || value.isEmpty()) {
+                if (required) throw new BadRequestException("Paramètre requis manquant : " + name);
+                value = defaultValue;
+            }
+            return convert(converter, name, value);
+        };
+    }
+
+    private static Object convert(Converter converter, String name, String value) {
+        try {
+            return converter.convert(value);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Paramètre '" + name + "' invalide : " + value);
+        }
+    }
+
+    private static ParamBinder requestBody(Parameter param, Method method) {
+        boolean required = param.getAnnotation(RequestBody.class).required();
+        JsonDecoder.ValueReader reader;
+        try {
+            reader = JsonDecoder.forType(param.getParameterizedType());
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("@RequestBody " + param.getType().getSimpleName() + " : " + e.getMessage()
+                    + " (" + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ")", e);
+        }
+        boolean primitive = param.getType().isPrimitive();
+        return ctx -> {
+            InputStream body = ctx.getBody();
+            JsonReader in = body != null ? new JsonReader(body) : null;
+            if (in == null || in.peek() == JsonReader.Token.END_DOCUMENT) {
+                if (required || primitive) throw new BadRequestException("Corps de requête JSON manquant");
+                return null;
+            }
+            Object value = reader.read(in);
+            in.peek(); // rien après la valeur (sinon erreur de syntaxe)
+            if (value == null && required) throw new BadRequestException("Corps de requête JSON manquant");
+            return value;
+        };
+    }
+
+    private static ParamBinder modelAttribute(Parameter param, Method method) {
+        try {
+            return ModelAttributeBinder.of(param.getType(), param.getAnnotation(ModelAttribute.class).value());
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("@ModelAttribute " + param.getType().getSimpleName() + " : " + e.getMessage()
+                    + " (" + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ")", e);
+        }
+    }
+
+    private static ParamBinder missing(String name) {
+        return ctx -> {
+            throw new BadRequestException("Paramètre requis manquant : " + name);
+        };
+    }
+
+    private static ParamBinder fileUpload(Parameter param, Method method) {
+        FileUpload fu = param.getAnnotation(FileUpload.class);
+        String fieldName = fu.value();
+        Class<?> type = param.getType();
+
+        if (type == InputStream.class) {
+            return ctx -> {
+                Part part = ctx.getFilePart(fieldName);
+                return part != null ? part.getInputStream() : null;
+            };
+        }
+        if (type == UploadedFile.class) {
+            return ctx -> {
+                Part part = ctx.getFilePart(fieldName);
+                return part != null ? new UploadedFile(part) : null;
+            };
+        }
+        if (type == Part.class) {
+            return ctx -> ctx.getFilePart(fieldName);
+        }
+        if (type == Path.class) {
+            return ctx -> {
+                Part part = ctx.getFilePart(fieldName);
+                return part != null ? save(ctx, part) : null;
+            };
+        }
+        if (type == byte[].class) {
+            if (!fu.inMemory()) {
+                throw new IllegalStateException("@FileUpload(\"" + fieldName + "\") en byte[] charge tout le fichier en mémoire :"
+                        + " utiliser InputStream, Path ou UploadedFile, ou inMemory = true ("
+                        + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ")");
+            }
+            return ctx -> {
+                Part part = ctx.getFilePart(fieldName);
+                if (part == null) return null;
+                save(ctx, part);
+                try (InputStream is = part.getInputStream()) {
+                    return is.readAllBytes();
+                }
+            };
+        }
+        throw new IllegalStateException("Type non supporté pour @FileUpload(\"" + fieldName + "\") : " + type.getName());
+    }
+
+    private static Path save(BindingContext ctx, Part part) throws Exception {
+        Path savedFile = UploadStorage.store(part, ctx.getUploadSettings().getDirectory());
+
+        HttpServletRequest req = ctx.getRequest();
+        if (req != null) {
+            req.setAttribute("uploadedFileName", savedFile.getFileName().toString());
+            req.setAttribute("uploadedOriginalName", part.getSubmittedFileName());
+            req.setAttribute("uploadedFileSize", part.getSize());
+            req.setAttribute("uploadedFileType", part.getContentType());
+            req.setAttribute("uploadedFilePath", savedFile.toAbsolutePath().toString());
+        }
+        return savedFile;
+    }
+}
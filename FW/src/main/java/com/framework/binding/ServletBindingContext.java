@@ -0,0 +1,174 @@
+package com.framework.binding;
+
+import com.framework.exception.PayloadTooLargeException;
+import com.framework.exception.UnsupportedMediaTypeException;
+import com.framework.mapping.RouteMatch;
+import com.framework.metrics.RequestTiming;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ServletBindingContext extends BindingContext {
+    private final HttpServletRequest req;
+    private final RouteMatch match;
+    private final UploadSettings uploadSettings;
+    private final boolean multipart;
+    private final RequestTiming timing; // null : mesure désactivée
+
+    // lecture paresseuse des parts, une seule fois, et seulement si un binder en a besoin
+    private Map<String, String> textParams;
+    private Map<String, Part> fileParts;
+    private Map<String, String[]> textParamMap;
+
+    public ServletBindingContext(HttpServletRequest req, RouteMatch match, UploadSettings uploadSettings) {
+        this(req, match, uploadSettings, null);
+    }
+
+    public ServletBindingContext(HttpServletRequest req, RouteMatch match, UploadSettings uploadSettings,
+                                 RequestTiming timing) {
+        this.req = req;
+        this.timing = timing;
+        this.match = match;
+        this.uploadSettings = uploadSettings;
+        String contentType = req.getContentType();
+        this.multipart = contentType != null && contentType.startsWith("multipart/form-data");
+    }
+
+    @Override
+    public String getParameter(String name) throws Exception {
+        if (!multipart) return req.getParameter(name);
+        readParts();
+        return textParams.get(name);
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() throws Exception {
+        if (!multipart) return req.getParameterMap();
+        readParts();
+        if (textParamMap == null) {
+            textParamMap = new HashMap<>();
+            textParams.forEach((name, value) -> textParamMap.put(name, new String[]{value}));
+        }
+        return textParamMap;
+    }
+
+    @Override
+    public String getPathVariable(int index) {
+        return match.getPathVariable(index);
+    }
+
+    @Override
+    public Part getFilePart(String name) throws Exception {
+        if (!multipart) return null;
+        readParts();
+        return fileParts.get(name);
+    }
+
+    @Override
+    public UploadSettings getUploadSettings() { return uploadSettings; }
+
+    @Override
+    public HttpServletRequest getRequest() { return req; }
+
+    @Override
+    public InputStream getBody() throws Exception {
+        String contentType = req.getContentType();
+        if (multipart || (contentType != null && contentType.startsWith("application/x-www-form-urlencoded"))) {
+            throw new UnsupportedMediaTypeException("Corps JSON attendu (Content-Type reçu : " + contentType + ")");
+        }
+        long maxRequestSize = uploadSettings.getMaxRequestSize();
+        if (maxRequestSize > 0 && req.getContentLengthLong() > maxRequestSize) {
+            throw new PayloadTooLargeException("Requête trop volumineuse (max " + maxRequestSize + " octets)");
+        }
+        // corps chunked ou Content-Length mensonger : la limite est aussi vérifiée à la lecture
+        return maxRequestSize > 0 ? new LimitedInputStream(req.getInputStream(), maxRequestSize) : req.getInputStream();
+    }
+
+    private void readParts() throws Exception {
+        if (fileParts != null) return;
+        long start = timing != null ? System.nanoTime() : 0;
+        try {
+            parseParts();
+        } finally {
+            if (timing != null) timing.add(RequestTiming.Phase.MULTIPART, System.nanoTime() - start);
+        }
+    }
+
+    private void parseParts() throws Exception {
+        long maxRequestSize = uploadSettings.getMaxRequestSize();
+        if (maxRequestSize > 0 && req.getContentLengthLong() > maxRequestSize) {
+            throw new PayloadTooLargeException("Requête trop volumineuse (max " + maxRequestSize + " octets)");
+        }
+        textParams = new HashMap<>();
+        fileParts = new HashMap<>();
+        Collection<Part> parts;
+        try {
+            parts = req.getParts();  // Fonctionne grâce à @MultipartConfig
+        } catch (IllegalStateException e) {
+            // limite maxFileSize / maxRequestSize du conteneur dépassée pendant la lecture
+            throw new PayloadTooLargeException("Requête ou fichier trop volumineux (max " + uploadSettings.getMaxFileSize()
+                    + " octets par fichier, " + maxRequestSize + " par requête)");
+        }
+        for (Part part : parts) {
+            String fieldName = part.getName();
+            if (part.getSubmittedFileName() != null && !part.getSubmittedFileName().isEmpty()) {
+                long maxFileSize = uploadSettings.getMaxFileSize();
+                if (maxFileSize > 0 && part.getSize() > maxFileSize) {
+                    throw new PayloadTooLargeException("Fichier trop volumineux : " + part.getSubmittedFileName()
+                            + " (max " + maxFileSize + " octets)");
+                }
+                fileParts.put(fieldName, part);
+            } else {
+                try (InputStream is = part.getInputStream()) {
+                    textParams.put(fieldName, new String(is.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    /** Flux qui lève PayloadTooLargeException dès que plus de max octets ont été lus. */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long max;
+        private long count;
+
+        LimitedInputStream(InputStream in, long max) {
+            super(in);
+            this.max = max;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) count(skipped);
+            return skipped;
+        }
+
+        @Override public boolean markSupported() { return false; }
+
+        private void count(long n) {
+            count += n;
+            if (count > max) throw new PayloadTooLargeException("Requête trop volumineuse (max " + max + " octets)");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.framework.binding;
+
+import java.nio.file.Path;
+
+public class UploadSettings {
+    public static final long DEFAULT_MAX_FILE_SIZE = 10485760;     // 10 Mo par fichier
+    public static final long DEFAULT_MAX_REQUEST_SIZE = 52428800;  // 50 Mo pour toute la requête
+
+    private final Path directory;
+    private final long maxFileSize;
+    private final long maxRequestSize;
+
+    public UploadSettings(Path directory, long maxFileSize, long maxRequestSize) {
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    public Path getDirectory() { return directory; }
+    public long getMaxFileSize() { return maxFileSize; }
+    public long getMaxRequestSize() { return maxRequestSize; }
+}
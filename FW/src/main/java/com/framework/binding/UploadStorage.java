@@ -0,0 +1,65 @@
+package com.framework.binding;
+
+import jakarta.servlet.http.Part;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Écriture d'un fichier uploadé sur disque, par blocs via FileChannel :
+ * le fichier n'est jamais entièrement chargé en mémoire.
+ */
+public final class UploadStorage {
+    private static final long CHUNK = 1 << 20;
+
+    private UploadStorage() {}
+
+    // enregistre sous un nom libre du dossier (nom_1.ext, nom_2.ext... si déjà pris)
+    public static Path store(Part part, Path directory) throws IOException {
+        String originalFileName = safeFileName(part.getSubmittedFileName());
+        int dot = originalFileName.lastIndexOf('.');
+        String nameWithoutExt = dot > 0 ? originalFileName.substring(0, dot) : originalFileName;
+        String ext = dot > 0 ? originalFileName.substring(dot) : "";
+
+        String finalFileName = originalFileName;
+        for (int counter = 1; ; counter++) {
+            Path target = directory.resolve(finalFileName);
+            try (InputStream in = part.getInputStream()) {
+                copy(in, target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                return target;
+            } catch (FileAlreadyExistsException e) {
+                finalFileName = nameWithoutExt + "_" + counter + ext;
+            }
+        }
+    }
+
+    public static void copy(InputStream in, Path target, OpenOption... options) throws IOException {
+        try (ReadableByteChannel src = Channels.newChannel(in);
+             FileChannel dst = FileChannel.open(target, options)) {
+            long position = 0;
+            long n;
+            while ((n = dst.transferFrom(src, position, CHUNK)) > 0) {
+                position += n;
+            }
+        } catch (IOException e) {
+            if (!(e instanceof FileAlreadyExistsException)) Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+
+    // garde seulement le nom (certains navigateurs envoient le chemin complet)
+    private static String safeFileName(String submitted) {
+        String name = submitted.replace('\\', '/');
+        name = name.substring(name.lastIndexOf('/') + 1);
+        return name.isEmpty() || name.equals("..") ? "upload" : Paths.get(name).getFileName().toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.framework.cache;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Réponse figée : statut, type, en-têtes et corps déjà encodé, rejouable
+ * telle quelle sur n'importe quelle requête.
+ */
+public final class CachedResponse {
+    private final int status;
+    private final String errorMessage; // non null : réponse produite par sendError
+    private final String contentType;
+    private final List<String[]> headers;
+    private final byte[] body;
+
+    CachedResponse(int status, String errorMessage, String contentType, List<String[]> headers, byte[] body) {
+        this.status = status;
+        this.errorMessage = errorMessage;
+        this.contentType = contentType;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /** Seules les réponses 200 complètes et sans cookie sont mises en cache. */
+    boolean isCacheable() {
+        if (status != HttpServletResponse.SC_OK || errorMessage != null) return false;
+        for (String[] header : headers) {
+            if ("Set-Cookie".equalsIgnoreCase(header[0])) return false;
+        }
+        return true;
+    }
+
+    public int getStatus() { return status; }
+    public int getLength() { return body.length; }
+
+    public void writeTo(HttpServletResponse resp) throws IOException {
+        for (String[] header : headers) resp.addHeader(header[0], header[1]);
+        if (errorMessage != null) {
+            resp.sendError(status, errorMessage);
+            return;
+        }
+        resp.setStatus(status);
+        if (contentType != null) resp.setContentType(contentType);
+        resp.setContentLength(body.length);
+        resp.getOutputStream().write(body);
+    }
+}
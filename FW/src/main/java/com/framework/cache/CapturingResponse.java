@@ -0,0 +1,147 @@
+package com.framework.cache;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enveloppe qui garde en mémoire tout ce que le rendu écrit (corps, statut, en-têtes)
+ * au lieu de l'envoyer ; {@link #toCachedResponse()} fige le résultat.
+ */
+public class CapturingResponse extends HttpServletResponseWrapper {
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final List<String[]> headers = new ArrayList<>();
+    private ServletOutputStream stream;
+    private PrintWriter writer;
+    private int status = SC_OK;
+    private String errorMessage;
+    private String contentType;
+    private String characterEncoding;
+
+    public CapturingResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    public CachedResponse toCachedResponse() {
+        if (writer != null) writer.flush();
+        String type = contentType;
+        if (type != null && characterEncoding != null && !type.contains("charset=")) {
+            type += ";charset=" + characterEncoding;
+        }
+        return new CachedResponse(status, errorMessage, type, List.copyOf(headers), body.toByteArray());
+    }
+
+    @Override public void setStatus(int sc) { status = sc; }
+    @Override public int getStatus() { return status; }
+
+    @Override
+    public void sendError(int sc, String msg) {
+        status = sc;
+        errorMessage = msg != null ? msg : "";
+    }
+
+    @Override public void sendError(int sc) { sendError(sc, null); }
+
+    @Override
+    public void sendRedirect(String location) {
+        status = SC_FOUND;
+        setHeader("Location", location);
+    }
+
+    @Override public void setContentType(String type) { contentType = type; }
+    @Override public String getContentType() { return contentType; }
+    @Override public void setCharacterEncoding(String charset) { characterEncoding = charset; }
+
+    @Override
+    public String getCharacterEncoding() {
+        if (characterEncoding != null) return characterEncoding;
+        int i = contentType != null ? contentType.indexOf("charset=") : -1;
+        return i >= 0 ? contentType.substring(i + 8).trim() : StandardCharsets.ISO_8859_1.name();
+    }
+
+    // la longueur est recalculée au rejeu
+    @Override public void setContentLength(int len) {}
+    @Override public void setContentLengthLong(long len) {}
+
+    @Override
+    public void setHeader(String name, String value) {
+        headers.removeIf(h -> h[0].equalsIgnoreCase(name));
+        addHeader(name, value);
+    }
+
+    @Override public void addHeader(String name, String value) { headers.add(new String[]{name, value}); }
+    @Override public void setIntHeader(String name, int value) { setHeader(name, Integer.toString(value)); }
+    @Override public void addIntHeader(String name, int value) { addHeader(name, Integer.toString(value)); }
+    @Override public void setDateHeader(String name, long date) { setHeader(name, httpDate(date)); }
+    @Override public void addDateHeader(String name, long date) { addHeader(name, httpDate(date)); }
+
+    private static String httpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis).atZone(ZoneOffset.UTC));
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        for (String[] h : headers) if (h[0].equalsIgnoreCase(name)) return true;
+        return false;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        for (String[] h : headers) if (h[0].equalsIgnoreCase(name)) return h[1];
+        return null;
+    }
+
+    @Override public boolean isCommitted() { return false; }
+    @Override public void flushBuffer() {}
+
+    @Override
+    public void resetBuffer() {
+        if (writer != null) writer.flush();
+        body.reset();
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        headers.clear();
+        status = SC_OK;
+        errorMessage = null;
+        contentType = null;
+        characterEncoding = null;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) throw new IllegalStateException("getWriter() déjà appelé");
+        if (stream == null) {
+            stream = new ServletOutputStream() {
+                @Override public void write(int b) { body.write(b); }
+                @Override public void write(byte[] b, int off, int len) { body.write(b, off, len); }
+                @Override public boolean isReady() { return true; }
+                @Override public void setWriteListener(WriteListener listener) {}
+            };
+        }
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (stream != null) throw new IllegalStateException("getOutputStream() déjà appelé");
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(body, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,254 @@
+package com.framework.cache;
+
+import com.framework.annotation.Async;
+import com.framework.annotation.Cacheable;
+import com.framework.annotation.EventStream;
+import com.framework.annotation.Json;
+import com.framework.annotation.ModelAttribute;
+import com.framework.annotation.RequestParam;
+import com.framework.json.ResponseFormat;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache des réponses d'une route @Cacheable.
+ *
+ * Clé : chemin demandé + valeurs brutes des @RequestParam (ce sont elles qui déterminent
+ * les arguments liés), ou de tous les paramètres, triés, si un @ModelAttribute les lit ;
+ * sur une route @Json, l'encodage négocié (JSON ou CBOR) en fait aussi partie. Une seule requête recalcule une entrée absente ou expirée,
+ * les autres attendent son résultat. Au-delà de maxEntries, un seul thread à la fois
+ * purge les entrées expirées puis les moins récemment lues.
+ */
+public class ResponseCache {
+
+    /** Produit la réponse (controller, binding, rendu) quand elle n'est pas en cache. */
+    public interface Loader {
+        CachedResponse load() throws Exception;
+    }
+
+    private final String httpMethod;
+    private final String route;
+    private final String[] parameterNames; // null : tous les paramètres (@ModelAttribute)
+    private final boolean negotiated;      // réponse @Json : JSON, CBOR ou NDJSON selon Accept
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache(String httpMethod, String route, String[] parameterNames, boolean negotiated,
+                         long ttlSeconds, int maxEntries) {
+        this.httpMethod = httpMethod;
+        this.route = route;
+        this.parameterNames = parameterNames;
+        this.negotiated = negotiated;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /** null si la méthode n'est pas @Cacheable. */
+    public static ResponseCache of(Method method, String httpMethod, String url) {
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        if (cacheable == null) return null;
+        String where = " (" + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ")";
+        if (!"GET".equals(httpMethod)) {
+            throw new IllegalStateException("@Cacheable n'est possible que sur une route GET" + where);
+        }
+        if (method.isAnnotationPresent(Async.class)) {
+            throw new IllegalStateException("@Cacheable et @Async ne se combinent pas" + where);
+        }
+        if (method.isAnnotationPresent(EventStream.class)) {
+            throw new IllegalStateException("@Cacheable et @EventStream ne se combinent pas" + where);
+        }
+        if (cacheable.ttl() <= 0) {
+            throw new IllegalStateException("@Cacheable(ttl) doit être positif" + where);
+        }
+        boolean negotiated = method.isAnnotationPresent(Json.class);
+        List<String> names = new ArrayList<>();
+        for (Parameter param : method.getParameters()) {
+            if (param.isAnnotationPresent(ModelAttribute.class)) {
+                return new ResponseCache(httpMethod, url, null, negotiated, cacheable.ttl(), cacheable.maxEntries());
+            }
+            RequestParam rp = param.getAnnotation(RequestParam.class);
+            if (rp != null && !names.contains(rp.value())) names.add(rp.value());
+        }
+        return new ResponseCache(httpMethod, url, names.toArray(new String[0]), negotiated,
+                cacheable.ttl(), cacheable.maxEntries());
+    }
+
+    public String key(String path, HttpServletRequest req) {
+        String key = parametersKey(path, req);
+        if (!negotiated) return key;
+        // le chemin commence par '/' : le préfixe ne peut pas rencontrer une clé JSON.
+        // Le format dépend du résultat (NDJSON pour une séquence seulement), encore inconnu ici
+        String accept = req.getHeader("Accept");
+        ResponseFormat value = ResponseFormat.negotiate(accept, false);
+        ResponseFormat sequence = ResponseFormat.negotiate(accept, true);
+        if (value == ResponseFormat.JSON && sequence == ResponseFormat.JSON) return key;
+        return (value.name() + " " + sequence.name()).toLowerCase(Locale.ROOT) + " " + key;
+    }
+
+    private String parametersKey(String path, HttpServletRequest req) {
+        if (parameterNames == null) return allParametersKey(path, req);
+        if (parameterNames.length == 0) return path;
+        StringBuilder key = new StringBuilder(path);
+        for (String name : parameterNames) {
+            String value = req.getParameter(name);
+            // \0 sépare les valeurs, \1 distingue "absent" de "vide"
+            key.append('\0');
+            if (value == null) key.append('\1');
+            else key.append(value);
+        }
+        return key.toString();
+    }
+
+    // ordre des paramètres indifférent : ?a=1&b=2 et ?b=2&a=1 partagent l'entrée
+    private static String allParametersKey(String path, HttpServletRequest req) {
+        Map<String, String[]> params = req.getParameterMap();
+        if (params.isEmpty()) return path;
+        StringBuilder key = new StringBuilder(path);
+        for (Map.Entry<String, String[]> e : new TreeMap<>(params).entrySet()) {
+            key.append('\0').append(e.getKey());
+            for (String value : e.getValue()) key.append('\1').append(value);
+        }
+        return key.toString();
+    }
+
+    public CachedResponse get(String key, Loader loader) throws Exception {
+        for (;;) {
+            long now = System.nanoTime();
+            Entry current = entries.get(key);
+            if (current != null && !current.isExpired(now, ttlNanos)) {
+                CachedResponse response = current.await();
+                if (response != null) {
+                    hits.increment();
+                    current.lastAccess = now;
+                    return response;
+                }
+                // le calcul attendu a échoué ou n'était pas cacheable : on produit notre propre réponse
+                misses.increment();
+                return loader.load();
+            }
+
+            Entry mine = new Entry(now);
+            boolean owner = current == null ? entries.putIfAbsent(key, mine) == null : entries.replace(key, current, mine);
+            if (!owner) continue; // un autre thread vient de prendre la main : on attend son résultat
+
+            misses.increment();
+            if (current == null && size.incrementAndGet() > maxEntries) evict(now);
+            CachedResponse response = null;
+            try {
+                response = loader.load();
+            } finally {
+                if (response != null && response.isCacheable()) {
+                    mine.complete(response, System.nanoTime());
+                } else {
+                    if (entries.remove(key, mine)) size.decrementAndGet();
+                    mine.complete(null, now);
+                }
+            }
+            return response;
+        }
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                if (e.getValue().isExpired(now, ttlNanos)) remove(e.getKey(), e.getValue());
+            }
+            int excess = size.get() - maxEntries;
+            if (excess <= 0) return;
+            // marge de 10 % pour ne pas repasser ici à chaque insertion
+            excess += maxEntries / 10;
+            // âge figé avant le tri : lastAccess continue de bouger pendant l'éviction
+            List<Candidate> candidates = new ArrayList<>();
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                if (entry.isDone()) candidates.add(new Candidate(e.getKey(), entry, now - entry.lastAccess));
+            }
+            candidates.sort((a, b) -> Long.compare(b.age, a.age));
+            for (int i = 0; i < excess && i < candidates.size(); i++) {
+                remove(candidates.get(i).key, candidates.get(i).entry);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            size.decrementAndGet();
+            evictions.increment();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        size.set(0);
+    }
+
+    public String getHttpMethod() { return httpMethod; }
+    public String getRoute() { return route; }
+    public int getSize() { return size.get(); }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+
+    private static final class Candidate {
+        final String key;
+        final Entry entry;
+        final long age;
+
+        Candidate(String key, Entry entry, long age) {
+            this.key = key;
+            this.entry = entry;
+            this.age = age;
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<CachedResponse> response = new CompletableFuture<>();
+        private volatile long loadedAt;
+        volatile long lastAccess;
+
+        Entry(long now) {
+            this.lastAccess = now;
+        }
+
+        void complete(CachedResponse value, long now) {
+            loadedAt = now;
+            lastAccess = now;
+            response.complete(value);
+        }
+
+        boolean isDone() {
+            return response.isDone();
+        }
+
+        // une entrée en cours de calcul n'expire jamais : ses lecteurs l'attendent
+        boolean isExpired(long now, long ttlNanos) {
+            return response.isDone() && now - loadedAt >= ttlNanos;
+        }
+
+        CachedResponse await() {
+            return response.join();
+        }
+    }
+}
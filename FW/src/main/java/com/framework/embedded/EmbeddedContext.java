@@ -0,0 +1,217 @@
+package com.framework.embedded;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterRegistration;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRegistration;
+import jakarta.servlet.SessionCookieConfig;
+import jakarta.servlet.SessionTrackingMode;
+import jakarta.servlet.descriptor.JspConfigDescriptor;
+import jakarta.servlet.http.HttpServlet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.EventListener;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * ServletContext du serveur embarqué : context-params pris dans la configuration,
+ * attributs en mémoire, ressources (fichiers statiques, templates) lues sous webRoot.
+ * Le contexte est déjà initialisé à sa création : l'enregistrement dynamique de servlets,
+ * filtres ou listeners lève IllegalStateException, comme dans un conteneur après démarrage.
+ */
+final class EmbeddedContext implements ServletContext {
+    private static final Logger LOG = Logger.getLogger("com.framework.embedded");
+    private static final Map<String, String> MIME_TYPES = Map.ofEntries(
+            Map.entry("html", "text/html"), Map.entry("htm", "text/html"), Map.entry("css", "text/css"),
+            Map.entry("js", "text/javascript"), Map.entry("mjs", "text/javascript"), Map.entry("json", "application/json"),
+            Map.entry("txt", "text/plain"), Map.entry("csv", "text/csv"), Map.entry("xml", "application/xml"),
+            Map.entry("svg", "image/svg+xml"), Map.entry("png", "image/png"), Map.entry("jpg", "image/jpeg"),
+            Map.entry("jpeg", "image/jpeg"), Map.entry("gif", "image/gif"), Map.entry("webp", "image/webp"),
+            Map.entry("ico", "image/x-icon"), Map.entry("pdf", "application/pdf"), Map.entry("wasm", "application/wasm"),
+            Map.entry("woff", "font/woff"), Map.entry("woff2", "font/woff2"), Map.entry("map", "application/json"));
+
+    private final Map<String, String> initParameters;
+    private final Path webRoot;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private volatile String requestCharacterEncoding;
+    private volatile String responseCharacterEncoding;
+
+    /** webRoot : null si le serveur ne sert ni fichiers ni templates. */
+    EmbeddedContext(Map<String, String> initParameters, Path webRoot, Path tempDir) {
+        this.initParameters = initParameters;
+        this.webRoot = webRoot;
+        attributes.put(TEMPDIR, tempDir.toFile());
+    }
+
+    static ServletConfig config(HttpServlet servlet, ServletContext context) {
+        return new ServletConfig() {
+            @Override public String getServletName() { return servlet.getClass().getSimpleName(); }
+            @Override public ServletContext getServletContext() { return context; }
+            @Override public String getInitParameter(String name) { return null; }
+            @Override public Enumeration<String> getInitParameterNames() { return Collections.emptyEnumeration(); }
+        };
+    }
+
+    // ---- identité
+
+    @Override public String getContextPath() { return ""; }
+    @Override public ServletContext getContext(String uripath) { return null; }
+    @Override public String getServletContextName() { return "embedded"; }
+    @Override public String getServerInfo() { return "framework-embedded"; }
+    @Override public String getVirtualServerName() { return "embedded"; }
+    @Override public int getMajorVersion() { return 6; }
+    @Override public int getMinorVersion() { return 0; }
+    @Override public int getEffectiveMajorVersion() { return 6; }
+    @Override public int getEffectiveMinorVersion() { return 0; }
+    @Override public ClassLoader getClassLoader() { return EmbeddedContext.class.getClassLoader(); }
+
+    // ---- paramètres, attributs
+
+    @Override public String getInitParameter(String name) { return initParameters.get(name); }
+    @Override public Enumeration<String> getInitParameterNames() { return Collections.enumeration(initParameters.keySet()); }
+    @Override public boolean setInitParameter(String name, String value) { throw initialized(); }
+    @Override public Object getAttribute(String name) { return attributes.get(name); }
+    @Override public Enumeration<String> getAttributeNames() { return Collections.enumeration(attributes.keySet()); }
+
+    @Override
+    public void setAttribute(String name, Object object) {
+        if (object == null) attributes.remove(name);
+        else attributes.put(name, object);
+    }
+
+    @Override public void removeAttribute(String name) { attributes.remove(name); }
+    @Override public String getRequestCharacterEncoding() { return requestCharacterEncoding; }
+    @Override public void setRequestCharacterEncoding(String encoding) { requestCharacterEncoding = encoding; }
+    @Override public String getResponseCharacterEncoding() { return responseCharacterEncoding; }
+    @Override public void setResponseCharacterEncoding(String encoding) { responseCharacterEncoding = encoding; }
+
+    // ---- ressources
+
+    @Override
+    public URL getResource(String path) throws MalformedURLException {
+        Path file = resolve(path);
+        return file != null && Files.isRegularFile(file) ? file.toUri().toURL() : null;
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String path) {
+        Path file = resolve(path);
+        if (file == null || !Files.isRegularFile(file)) return null;
+        try {
+            return Files.newInputStream(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Set<String> getResourcePaths(String path) {
+        Path dir = resolve(path);
+        if (dir == null || !Files.isDirectory(dir)) return null;
+        String prefix = path.endsWith("/") ? path : path + "/";
+        Set<String> paths = new LinkedHashSet<>();
+        try (Stream<Path> children = Files.list(dir)) {
+            children.forEach(child -> paths.add(prefix + child.getFileName() + (Files.isDirectory(child) ? "/" : "")));
+        } catch (IOException e) {
+            return null;
+        }
+        return paths;
+    }
+
+    @Override
+    public String getRealPath(String path) {
+        Path file = resolve(path);
+        return file != null ? file.toString() : null;
+    }
+
+    @Override
+    public String getMimeType(String file) {
+        int dot = file.lastIndexOf('.');
+        String type = dot >= 0 ? MIME_TYPES.get(file.substring(dot + 1).toLowerCase(Locale.ROOT)) : null;
+        return type != null ? type : URLConnection.guessContentTypeFromName(new File(file).getName());
+    }
+
+    // pas de moteur JSP ni de servlet nommée : seules les vues template sont rendues
+    @Override public RequestDispatcher getRequestDispatcher(String path) { return null; }
+    @Override public RequestDispatcher getNamedDispatcher(String name) { return null; }
+    @Override public JspConfigDescriptor getJspConfigDescriptor() { return null; }
+
+    // ---- journal
+
+    @Override public void log(String msg) { LOG.info(msg); }
+    @Override public void log(String message, Throwable throwable) { LOG.log(Level.SEVERE, message, throwable); }
+
+    // ---- enregistrement dynamique : contexte déjà initialisé
+
+    @Override public ServletRegistration.Dynamic addServlet(String servletName, String className) { throw initialized(); }
+    @Override public ServletRegistration.Dynamic addServlet(String servletName, Servlet servlet) { throw initialized(); }
+    @Override public ServletRegistration.Dynamic addServlet(String servletName, Class<? extends Servlet> servletClass) { throw initialized(); }
+    @Override public ServletRegistration.Dynamic addJspFile(String servletName, String jspFile) { throw initialized(); }
+    @Override public ServletRegistration getServletRegistration(String servletName) { return null; }
+    @Override public Map<String, ? extends ServletRegistration> getServletRegistrations() { return Map.of(); }
+    @Override public FilterRegistration.Dynamic addFilter(String filterName, String className) { throw initialized(); }
+    @Override public FilterRegistration.Dynamic addFilter(String filterName, Filter filter) { throw initialized(); }
+    @Override public FilterRegistration.Dynamic addFilter(String filterName, Class<? extends Filter> filterClass) { throw initialized(); }
+    @Override public FilterRegistration getFilterRegistration(String filterName) { return null; }
+    @Override public Map<String, ? extends FilterRegistration> getFilterRegistrations() { return Map.of(); }
+    @Override public void addListener(String className) { throw initialized(); }
+    @Override public <T extends EventListener> void addListener(T t) { throw initialized(); }
+    @Override public void addListener(Class<? extends EventListener> listenerClass) { throw initialized(); }
+    @Override public void declareRoles(String... roleNames) { throw initialized(); }
+    @Override public <T extends Servlet> T createServlet(Class<T> clazz) throws ServletException { return instantiate(clazz); }
+    @Override public <T extends Filter> T createFilter(Class<T> clazz) throws ServletException { return instantiate(clazz); }
+    @Override public <T extends EventListener> T createListener(Class<T> clazz) throws ServletException { return instantiate(clazz); }
+
+    // ---- sessions : aucune en mode embarqué
+
+    @Override public SessionCookieConfig getSessionCookieConfig() { throw new IllegalStateException("Session non disponible en mode embarqué"); }
+    @Override public void setSessionTrackingModes(Set<SessionTrackingMode> sessionTrackingModes) { throw initialized(); }
+    @Override public Set<SessionTrackingMode> getDefaultSessionTrackingModes() { return Set.of(); }
+    @Override public Set<SessionTrackingMode> getEffectiveSessionTrackingModes() { return Set.of(); }
+    @Override public int getSessionTimeout() { return 0; }
+    @Override public void setSessionTimeout(int sessionTimeout) { throw initialized(); }
+
+    @Override
+    public String toString() {
+        return "EmbeddedContext(" + webRoot + ")";
+    }
+
+    private static IllegalStateException initialized() {
+        return new IllegalStateException("Contexte embarqué déjà initialisé");
+    }
+
+    private static <T> T instantiate(Class<T> type) throws ServletException {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new ServletException("Instanciation impossible : " + type.getName(), e);
+        }
+    }
+
+    // jamais hors de webRoot ("/../" normalisé puis refusé)
+    private Path resolve(String path) {
+        if (webRoot == null || path == null) return null;
+        Path file = webRoot.resolve(path.startsWith("/") ? path.substring(1) : path).normalize();
+        return file.startsWith(webRoot) ? file : null;
+    }
+}
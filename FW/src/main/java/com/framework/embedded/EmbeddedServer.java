@@ -0,0 +1,213 @@
+package com.framework.embedded;
+
+import com.framework.servlet.AsyncSupport;
+import com.framework.servlet.FrameworkConfig;
+import com.framework.servlet.FrontServlet;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.MultipartConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serveur HTTP embarqué : FrontServlet (routage, binding, vues template, fichiers statiques...)
+ * tourne sur le serveur HTTP du JDK (com.sun.net.httpserver), sans conteneur, avec un thread
+ * virtuel par requête (Java 21+, pool de threads sinon).
+ *
+ * Options, en --nom=valeur sur la ligne de commande ou dans un fichier --config=app.properties
+ * (la ligne de commande l'emporte) : port (8080, 0 : port libre), host (toutes les interfaces),
+ * web-root (fichiers statiques et templates), server-threads (pool de repli, 200), server-backlog,
+ * shutdown-grace (s, 2). Toutes sont aussi passées comme context-params au framework :
+ * controller-package, upload-directory, compression...
+ *
+ * Pas de moteur JSP, de session ni de requête asynchrone servlet : les routes @Async et les
+ * CompletionStage sont attendues sur le thread (virtuel) de la requête.
+ */
+public final class EmbeddedServer implements AutoCloseable {
+    private static final Logger LOG = Logger.getLogger("com.framework.embedded");
+
+    private final HttpServer server;
+    private final FrontServlet servlet;
+    private final ServletContext context;
+    private final ExecutorService executor;
+    private final MultipartConfigElement multipart;
+    private final int shutdownGrace;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private EmbeddedServer(HttpServer server, FrontServlet servlet, ServletContext context, ExecutorService executor,
+                           MultipartConfigElement multipart, int shutdownGrace) {
+        this.server = server;
+        this.servlet = servlet;
+        this.context = context;
+        this.executor = executor;
+        this.multipart = multipart;
+        this.shutdownGrace = shutdownGrace;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long start = System.nanoTime();
+        Map<String, String> options;
+        try {
+            options = options(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage : java -cp <classpath> " + EmbeddedServer.class.getName()
+                    + " --controller-package=app.controllers [--port=8080] [--web-root=web] [--upload-directory=uploads]"
+                    + " [--config=app.properties] [--<context-param>=<valeur>...]");
+            System.exit(2);
+            return;
+        }
+        EmbeddedServer server = start(options);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "framework-shutdown"));
+        System.out.println("Serveur embarqué prêt sur http://localhost:" + server.getPort() + "/ ("
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms)");
+    }
+
+    /** Démarre le serveur ; controller-package est obligatoire. */
+    public static EmbeddedServer start(Map<String, String> options) throws IOException, ServletException {
+        Map<String, String> params = new LinkedHashMap<>(options);
+        FrameworkConfig config = new FrameworkConfig(params::get);
+        if (config.get("controller-package", null) == null) {
+            throw new IllegalArgumentException("Option --controller-package manquante");
+        }
+
+        String webRootOption = config.get("web-root", null);
+        Path webRoot = webRootOption != null ? Paths.get(webRootOption).toAbsolutePath().normalize() : null;
+        if (webRoot != null && !Files.isDirectory(webRoot)) {
+            throw new IllegalArgumentException("web-root introuvable : " + webRoot);
+        }
+        Path tempDir = Paths.get(System.getProperty("java.io.tmpdir"));
+        ServletContext context = new EmbeddedContext(params, webRoot, tempDir);
+
+        FrontServlet servlet = new FrontServlet();
+        servlet.init(EmbeddedContext.config(servlet, context));
+
+        ExecutorService executor = null;
+        try {
+            String host = config.get("host", null);
+            int port = config.getInt("port", 8080);
+            InetSocketAddress address = host != null ? new InetSocketAddress(host, port) : new InetSocketAddress(port);
+            HttpServer server = HttpServer.create(address, config.getInt("server-backlog", 0));
+            executor = AsyncSupport.virtualThreads();
+            if (executor == null) executor = pool(config.getInt("server-threads", 200));
+
+            // limites du @MultipartConfig de FrontServlet, remplacées par upload-max-* comme dans un conteneur
+            MultipartConfig defaults = FrontServlet.class.getAnnotation(MultipartConfig.class);
+            MultipartConfigElement multipart = new MultipartConfigElement(tempDir.toString(),
+                    config.getLong("upload-max-file-size", defaults.maxFileSize()),
+                    config.getLong("upload-max-request-size", defaults.maxRequestSize()), defaults.fileSizeThreshold());
+            EmbeddedServer embedded = new EmbeddedServer(server, servlet, context, executor, multipart,
+                    config.getInt("shutdown-grace", 2));
+            server.createContext("/", embedded::handle);
+            server.setExecutor(executor);
+            server.start();
+            return embedded;
+        } catch (IOException | RuntimeException e) {
+            servlet.destroy();
+            if (executor != null) executor.shutdown();
+            throw e;
+        }
+    }
+
+    /**
+     * --nom=valeur (ou --drapeau, valant true) ; --config=fichier.properties est lu d'abord,
+     * les autres options le complètent ou le remplacent.
+     */
+    static Map<String, String> options(String[] args) throws IOException {
+        Map<String, String> cli = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.length() == 2) throw new IllegalArgumentException("Option invalide : " + arg);
+            int eq = arg.indexOf('=');
+            if (eq < 0) cli.put(arg.substring(2), "true");
+            else cli.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        Map<String, String> options = new LinkedHashMap<>();
+        String file = cli.remove("config");
+        if (file != null) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(Paths.get(file))) {
+                properties.load(in);
+            }
+            properties.stringPropertyNames().forEach(name -> options.put(name, properties.getProperty(name)));
+        }
+        options.putAll(cli);
+        return options;
+    }
+
+    private static ExecutorService pool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "framework-http-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), factory);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    // une requête : adaptateurs servlet autour de l'échange, puis FrontServlet comme dans un conteneur
+    private void handle(HttpExchange exchange) {
+        ExchangeResponse resp = new ExchangeResponse(exchange, 8192);
+        ExchangeRequest req = null;
+        try {
+            req = new ExchangeRequest(exchange, context, multipart);
+            servlet.service(req, resp);
+        } catch (Throwable e) {
+            LOG.log(Level.SEVERE, exchange.getRequestMethod() + " " + exchange.getRequestURI() + " : " + e, e);
+            if (!resp.isCommitted()) {
+                try {
+                    resp.sendError(500, "Erreur interne du serveur");
+                } catch (IOException | IllegalStateException ignored) {
+                }
+            }
+        } finally {
+            if (req != null) req.release();
+            try {
+                resp.finish();
+            } catch (IOException ignored) {
+                // client déjà parti
+            }
+            exchange.close();
+        }
+    }
+
+    /** Port d'écoute effectif (utile avec --port=0). */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public ServletContext getServletContext() {
+        return context;
+    }
+
+    /** Arrête d'accepter les connexions, laisse shutdown-grace secondes aux requêtes en cours. */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        server.stop(shutdownGrace);
+        servlet.destroy();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,418 @@
+package com.framework.embedded;
+
+import com.framework.exception.PayloadTooLargeException;
+import com.sun.net.httpserver.HttpExchange;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletConnection;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpUpgradeHandler;
+import jakarta.servlet.http.Part;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Requête servlet lue sur un HttpExchange : en-têtes, paramètres (query string et
+ * formulaire urlencoded, analysés à la première lecture), corps et parts multipart
+ * (lues en flux, sur disque au-delà de fileSizeThreshold).
+ * Pas de session ni de dispatch asynchrone : chaque requête a son propre thread.
+ */
+final class ExchangeRequest implements HttpServletRequest {
+    private static final int MAX_FORM_SIZE = 2097152; // 2 Mo de formulaire urlencoded
+    private final HttpExchange exchange;
+    private final ServletContext context;
+    private final MultipartConfigElement multipart;
+    private final String path;
+    private final Map<String, Object> attributes = new HashMap<>();
+    private ServletInputStream input;
+    private BufferedReader reader;
+    private String characterEncoding;
+    private Map<String, String[]> parameters;
+    private List<Part> parts;
+
+    ExchangeRequest(HttpExchange exchange, ServletContext context, MultipartConfigElement multipart) {
+        this.exchange = exchange;
+        this.context = context;
+        this.multipart = multipart;
+        String raw = exchange.getRequestURI().getRawPath();
+        this.path = raw == null || raw.isEmpty() ? "/" : raw;
+        String contentType = getContentType();
+        this.characterEncoding = contentType != null ? charset(contentType) : null;
+    }
+
+    @Override public String getMethod() { return exchange.getRequestMethod(); }
+    @Override public String getRequestURI() { return path; }
+    @Override public String getContextPath() { return ""; }
+    @Override public String getServletPath() { return URLDecoder.decode(path.replace("+", "%2B"), StandardCharsets.UTF_8); }
+    @Override public String getPathInfo() { return null; }
+    @Override public String getQueryString() { return exchange.getRequestURI().getRawQuery(); }
+    @Override public String getProtocol() { return exchange.getProtocol(); }
+    @Override public String getScheme() { return "http"; }
+    @Override public boolean isSecure() { return false; }
+    @Override public DispatcherType getDispatcherType() { return DispatcherType.REQUEST; }
+    @Override public ServletContext getServletContext() { return context; }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        return new StringBuffer(getScheme()).append("://").append(getHeader("Host") != null ? getHeader("Host")
+                : getServerName() + ":" + getServerPort()).append(path);
+    }
+
+    @Override
+    public String getServerName() {
+        String host = getHeader("Host");
+        if (host == null) return exchange.getLocalAddress().getHostString();
+        int colon = host.lastIndexOf(':');
+        return colon > 0 && host.indexOf(']') < colon ? host.substring(0, colon) : host;
+    }
+
+    @Override public int getServerPort() { return exchange.getLocalAddress().getPort(); }
+    @Override public int getLocalPort() { return exchange.getLocalAddress().getPort(); }
+    @Override public String getLocalAddr() { return exchange.getLocalAddress().getAddress().getHostAddress(); }
+    @Override public String getLocalName() { return exchange.getLocalAddress().getHostString(); }
+
+    @Override
+    public String getRemoteAddr() {
+        InetSocketAddress remote = exchange.getRemoteAddress();
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+
+    @Override public String getRemoteHost() { return getRemoteAddr(); }
+    @Override public int getRemotePort() { return exchange.getRemoteAddress().getPort(); }
+    @Override public Locale getLocale() { return Locale.getDefault(); }
+    @Override public Enumeration<Locale> getLocales() { return Collections.enumeration(List.of(Locale.getDefault())); }
+
+    // ---- en-têtes
+
+    @Override public String getHeader(String name) { return exchange.getRequestHeaders().getFirst(name); }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        List<String> values = exchange.getRequestHeaders().get(name);
+        return Collections.enumeration(values != null ? values : List.of());
+    }
+
+    @Override public Enumeration<String> getHeaderNames() { return Collections.enumeration(exchange.getRequestHeaders().keySet()); }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value != null ? Integer.parseInt(value.trim()) : -1;
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null) return -1;
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date invalide dans l'en-tête " + name + " : " + value);
+        }
+    }
+
+    @Override
+    public Cookie[] getCookies() {
+        String header = getHeader("Cookie");
+        if (header == null) return null;
+        List<Cookie> cookies = new ArrayList<>();
+        for (String pair : header.split(";")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            String name = pair.substring(0, eq).trim();
+            String value = pair.substring(eq + 1).trim();
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) value = value.substring(1, value.length() - 1);
+            try {
+                cookies.add(new Cookie(name, value));
+            } catch (IllegalArgumentException ignored) {
+                // nom de cookie invalide : ignoré
+            }
+        }
+        return cookies.isEmpty() ? null : cookies.toArray(new Cookie[0]);
+    }
+
+    // ---- corps
+
+    @Override public String getContentType() { return getHeader("Content-Type"); }
+
+    @Override
+    public int getContentLength() {
+        long length = getContentLengthLong();
+        return length > Integer.MAX_VALUE ? -1 : (int) length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        String value = getHeader("Content-Length");
+        if (value == null) return -1;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override public String getCharacterEncoding() { return characterEncoding; }
+
+    @Override
+    public void setCharacterEncoding(String env) throws UnsupportedEncodingException {
+        if (!Charset.isSupported(env)) throw new UnsupportedEncodingException(env);
+        this.characterEncoding = env;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        if (input == null) {
+            InputStream body = exchange.getRequestBody();
+            input = new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int b = body.read();
+                    if (b < 0) finished = true;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = body.read(b, off, len);
+                    if (n < 0) finished = true;
+                    return n;
+                }
+
+                @Override public boolean isFinished() { return finished; }
+                @Override public boolean isReady() { return true; }
+                @Override public void setReadListener(ReadListener listener) { throw new IllegalStateException("Lecture non bloquante non supportée"); }
+            };
+        }
+        return input;
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        if (reader == null) reader = new BufferedReader(new InputStreamReader(getInputStream(), encoding()));
+        return reader;
+    }
+
+    private Charset encoding() {
+        return characterEncoding != null ? Charset.forName(characterEncoding) : StandardCharsets.UTF_8;
+    }
+
+    // ---- paramètres
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters().get(name);
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    @Override public String[] getParameterValues(String name) { return parameters().get(name); }
+    @Override public Map<String, String[]> getParameterMap() { return parameters(); }
+    @Override public Enumeration<String> getParameterNames() { return Collections.enumeration(parameters().keySet()); }
+
+    private Map<String, String[]> parameters() {
+        if (parameters == null) {
+            Map<String, List<String>> values = new LinkedHashMap<>();
+            decode(getQueryString(), StandardCharsets.UTF_8, values);
+            String contentType = getContentType();
+            if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("application/x-www-form-urlencoded")) {
+                decode(readForm(), encoding(), values);
+            }
+            Map<String, String[]> map = new LinkedHashMap<>();
+            values.forEach((name, list) -> map.put(name, list.toArray(new String[0])));
+            parameters = Collections.unmodifiableMap(map);
+        }
+        return parameters;
+    }
+
+    // octets bruts, décodés après l'URL-décodage ; borné comme le maxPostSize d'un conteneur,
+    // même sans Content-Length (chunked)
+    private String readForm() {
+        long max = multipart.getMaxRequestSize() > 0 ? Math.min(MAX_FORM_SIZE, multipart.getMaxRequestSize()) : MAX_FORM_SIZE;
+        try {
+            InputStream in = getInputStream();
+            byte[] body = in.readNBytes((int) max);
+            if (body.length == max && in.read() >= 0) {
+                throw new PayloadTooLargeException("Formulaire trop volumineux (max " + max + " octets)");
+            }
+            return new String(body, StandardCharsets.ISO_8859_1);
+        } catch (IOException e) {
+            throw new IllegalStateException("Lecture du formulaire impossible", e);
+        }
+    }
+
+    private static void decode(String query, Charset charset, Map<String, List<String>> into) {
+        if (query == null || query.isEmpty()) return;
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String name = urlDecode(eq >= 0 ? pair.substring(0, eq) : pair, charset);
+            String value = eq >= 0 ? urlDecode(pair.substring(eq + 1), charset) : "";
+            into.computeIfAbsent(name, k -> new ArrayList<>(1)).add(value);
+        }
+    }
+
+    private static String urlDecode(String s, Charset charset) {
+        try {
+            return URLDecoder.decode(s, charset);
+        } catch (IllegalArgumentException e) {
+            return s; // séquence % invalide : valeur brute
+        }
+    }
+
+    // ---- multipart
+
+    @Override
+    public Collection<Part> getParts() throws IOException, ServletException {
+        if (parts == null) {
+            String contentType = getContentType();
+            if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data")) {
+                throw new ServletException("Requête non multipart/form-data");
+            }
+            parts = Multipart.parse(contentType, getInputStream(), multipart);
+        }
+        return parts;
+    }
+
+    @Override
+    public Part getPart(String name) throws IOException, ServletException {
+        for (Part part : getParts()) {
+            if (part.getName().equals(name)) return part;
+        }
+        return null;
+    }
+
+    /** Fin de la requête : fichiers temporaires des parts supprimés, comme dans un conteneur. */
+    void release() {
+        if (parts == null) return;
+        for (Part part : parts) {
+            try {
+                part.delete();
+            } catch (IOException ignored) {
+                // déjà supprimé
+            }
+        }
+    }
+
+    // ---- attributs, dispatch
+
+    @Override public Object getAttribute(String name) { return attributes.get(name); }
+    @Override public Enumeration<String> getAttributeNames() { return Collections.enumeration(attributes.keySet()); }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) attributes.remove(name);
+        else attributes.put(name, value);
+    }
+
+    @Override public void removeAttribute(String name) { attributes.remove(name); }
+
+    @Override public boolean isAsyncSupported() { return false; }
+    @Override public boolean isAsyncStarted() { return false; }
+    @Override public AsyncContext getAsyncContext() { throw new IllegalStateException("Requête asynchrone non supportée en mode embarqué"); }
+    @Override public AsyncContext startAsync() { return getAsyncContext(); }
+    @Override public AsyncContext startAsync(ServletRequest request, ServletResponse response) { return getAsyncContext(); }
+
+    @Override
+    public <T extends HttpUpgradeHandler> T upgrade(Class<T> handlerClass) throws ServletException {
+        throw new ServletException("Changement de protocole non supporté en mode embarqué");
+    }
+
+    @Override public String getRequestId() { return Integer.toHexString(System.identityHashCode(this)); }
+    @Override public String getProtocolRequestId() { return ""; }
+
+    @Override
+    public ServletConnection getServletConnection() {
+        return new ServletConnection() {
+            @Override public String getConnectionId() { return exchange.getRemoteAddress().toString(); }
+            @Override public String getProtocol() { return exchange.getProtocol(); }
+            @Override public String getProtocolConnectionId() { return ""; }
+            @Override public boolean isSecure() { return false; }
+        };
+    }
+
+    // ---- session, sécurité : ni l'une ni l'autre en mode embarqué
+
+    @Override public HttpSession getSession(boolean create) { return create ? getSession() : null; }
+    @Override public HttpSession getSession() { throw new IllegalStateException("Session non disponible en mode embarqué"); }
+    @Override public String changeSessionId() { return getSession().getId(); }
+    @Override public String getRequestedSessionId() { return null; }
+    @Override public boolean isRequestedSessionIdValid() { return false; }
+    @Override public boolean isRequestedSessionIdFromCookie() { return false; }
+    @Override public boolean isRequestedSessionIdFromURL() { return false; }
+    @Override public String getAuthType() { return null; }
+    @Override public String getRemoteUser() { return null; }
+    @Override public Principal getUserPrincipal() { return null; }
+    @Override public boolean isUserInRole(String role) { return false; }
+    @Override public String getPathTranslated() { return null; }
+
+    @Override
+    public boolean authenticate(HttpServletResponse response) throws IOException {
+        response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+        return false;
+    }
+
+    @Override
+    public void login(String username, String password) throws ServletException {
+        throw new ServletException("Authentification non configurée en mode embarqué");
+    }
+
+    @Override public void logout() {}
+
+    // pas de moteur JSP : seules les vues template sont rendues en mode embarqué
+    @Override
+    public RequestDispatcher getRequestDispatcher(String target) {
+        return new RequestDispatcher() {
+            @Override
+            public void forward(ServletRequest request, ServletResponse response) throws ServletException {
+                throw new ServletException("Vue JSP " + target + " non disponible en mode embarqué (utiliser un template)");
+            }
+
+            @Override
+            public void include(ServletRequest request, ServletResponse response) throws ServletException {
+                forward(request, response);
+            }
+        };
+    }
+
+    private static String charset(String contentType) {
+        for (String parameter : contentType.split(";")) {
+            String p = parameter.trim();
+            if (p.regionMatches(true, 0, "charset=", 0, 8)) return p.substring(8).replace("\"", "").trim();
+        }
+        return null;
+    }
+}
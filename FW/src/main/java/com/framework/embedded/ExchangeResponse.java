@@ -0,0 +1,252 @@
+package com.framework.embedded;
+
+import com.sun.net.httpserver.HttpExchange;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Réponse servlet écrite sur un HttpExchange. Le corps est d'abord retenu dans un tampon
+ * (resetBuffer/sendError restent possibles) ; au premier débordement ou flushBuffer, les
+ * en-têtes partent avec la longueur déclarée, ou en chunked si elle est inconnue.
+ * Une réponse terminée sans débordement part avec sa longueur exacte.
+ */
+final class ExchangeResponse implements HttpServletResponse {
+    private final HttpExchange exchange;
+    private final boolean head;
+    private byte[] buffer;
+    private int count;
+    private int status = SC_OK;
+    private String contentType;
+    private String characterEncoding;
+    private long contentLength = -1;
+    private OutputStream body;      // flux de l'échange, une fois les en-têtes envoyés
+    private boolean errorSent;      // sendError : le corps est figé
+    private ServletOutputStream stream;
+    private PrintWriter writer;
+
+    ExchangeResponse(HttpExchange exchange, int bufferSize) {
+        this.exchange = exchange;
+        this.head = "HEAD".equalsIgnoreCase(exchange.getRequestMethod());
+        this.buffer = new byte[bufferSize];
+    }
+
+    // ---- statut et en-têtes
+
+    @Override public void setStatus(int sc) { if (!isCommitted()) status = sc; }
+    @Override public int getStatus() { return status; }
+    @Override public boolean isCommitted() { return body != null; }
+
+    @Override
+    public void setContentType(String type) {
+        if (isCommitted()) return;
+        contentType = type;
+        if (type == null) {
+            exchange.getResponseHeaders().remove("Content-Type");
+            return;
+        }
+        String charset = null;
+        for (String parameter : type.split(";")) {
+            String p = parameter.trim();
+            if (p.regionMatches(true, 0, "charset=", 0, 8)) charset = p.substring(8).trim();
+        }
+        if (charset != null) characterEncoding = charset;
+        else if (characterEncoding != null && type.startsWith("text/")) type = type + ";charset=" + characterEncoding;
+        exchange.getResponseHeaders().set("Content-Type", type);
+    }
+
+    @Override public String getContentType() { return contentType; }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        if (isCommitted() || writer != null) return;
+        characterEncoding = charset;
+        if (contentType != null) setContentType(contentType.split(";")[0]);
+    }
+
+    @Override public String getCharacterEncoding() { return characterEncoding != null ? characterEncoding : "ISO-8859-1"; }
+    @Override public void setContentLength(int len) { setContentLengthLong(len); }
+    @Override public void setContentLengthLong(long len) { if (!isCommitted()) contentLength = len; }
+    @Override public void setLocale(Locale loc) {}
+    @Override public Locale getLocale() { return Locale.getDefault(); }
+
+    @Override public void setHeader(String name, String value) {
+        if (isCommitted()) return;
+        if ("Content-Type".equalsIgnoreCase(name)) setContentType(value);
+        else if ("Content-Length".equalsIgnoreCase(name)) setContentLengthLong(value != null ? Long.parseLong(value) : -1);
+        else if (value == null) exchange.getResponseHeaders().remove(name);
+        else exchange.getResponseHeaders().set(name, value);
+    }
+
+    @Override public void addHeader(String name, String value) { if (!isCommitted()) exchange.getResponseHeaders().add(name, value); }
+    @Override public void setIntHeader(String name, int value) { setHeader(name, Integer.toString(value)); }
+    @Override public void addIntHeader(String name, int value) { addHeader(name, Integer.toString(value)); }
+    @Override public void setDateHeader(String name, long date) { setHeader(name, httpDate(date)); }
+    @Override public void addDateHeader(String name, long date) { addHeader(name, httpDate(date)); }
+    @Override public boolean containsHeader(String name) { return exchange.getResponseHeaders().containsKey(name); }
+    @Override public String getHeader(String name) { return exchange.getResponseHeaders().getFirst(name); }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        List<String> values = exchange.getResponseHeaders().get(name);
+        return values != null ? new ArrayList<>(values) : List.of();
+    }
+
+    @Override public Collection<String> getHeaderNames() { return new ArrayList<>(exchange.getResponseHeaders().keySet()); }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        StringBuilder header = new StringBuilder(cookie.getName()).append('=').append(cookie.getValue() != null ? cookie.getValue() : "");
+        if (cookie.getPath() != null) header.append("; Path=").append(cookie.getPath());
+        if (cookie.getDomain() != null) header.append("; Domain=").append(cookie.getDomain());
+        if (cookie.getMaxAge() >= 0) header.append("; Max-Age=").append(cookie.getMaxAge());
+        if (cookie.getSecure()) header.append("; Secure");
+        if (cookie.isHttpOnly()) header.append("; HttpOnly");
+        addHeader("Set-Cookie", header.toString());
+    }
+
+    @Override public String encodeURL(String url) { return url; }
+    @Override public String encodeRedirectURL(String url) { return url; }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        if (isCommitted()) throw new IllegalStateException("Réponse déjà engagée");
+        resetBuffer();
+        setStatus(SC_FOUND);
+        setHeader("Location", location);
+        errorSent = true;
+    }
+
+    @Override public void sendError(int sc) throws IOException { sendError(sc, null); }
+
+    // page d'erreur minimale, comme celle d'un conteneur
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        if (isCommitted()) throw new IllegalStateException("Réponse déjà engagée");
+        resetBuffer();
+        status = sc;
+        contentLength = -1;
+        setContentType("text/html;charset=UTF-8");
+        String text = msg != null ? escape(msg) : "";
+        byte[] page = ("<!doctype html><html><head><title>Erreur " + sc + "</title></head><body><h1>Erreur " + sc
+                + "</h1><p>" + text + "</p></body></html>").getBytes(StandardCharsets.UTF_8);
+        write(page, 0, page.length);
+        errorSent = true;
+    }
+
+    // ---- corps
+
+    @Override public void setBufferSize(int size) { if (count == 0 && !isCommitted() && size > buffer.length) buffer = new byte[size]; }
+    @Override public int getBufferSize() { return buffer.length; }
+
+    @Override
+    public void resetBuffer() {
+        if (isCommitted()) throw new IllegalStateException("Réponse déjà engagée");
+        if (writer != null) writer.flush(); // les caractères en attente sont jetés avec le tampon
+        count = 0;
+        errorSent = false;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        exchange.getResponseHeaders().clear();
+        status = SC_OK;
+        contentType = null;
+        contentLength = -1;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (stream == null) {
+            stream = new ServletOutputStream() {
+                @Override public void write(int b) throws IOException { ExchangeResponse.this.write(new byte[]{(byte) b}, 0, 1); }
+                @Override public void write(byte[] b, int off, int len) throws IOException { ExchangeResponse.this.write(b, off, len); }
+                @Override public void flush() throws IOException { flushBuffer(); }
+                @Override public boolean isReady() { return true; }
+                @Override public void setWriteListener(WriteListener listener) { throw new IllegalStateException("Écriture non bloquante non supportée"); }
+            };
+        }
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            if (characterEncoding == null) setCharacterEncoding("UTF-8");
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(characterEncoding)), false);
+        }
+        return writer;
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        if (errorSent || head) return;
+        if (body != null) {
+            body.write(b, off, len);
+            return;
+        }
+        if (len <= buffer.length - count) {
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+            return;
+        }
+        commit(false);
+        body.write(b, off, len);
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) writer.flush();
+        if (body == null) commit(false);
+        body.flush();
+    }
+
+    // complete : fin du traitement, la taille exacte est connue si rien n'est encore parti
+    private void commit(boolean complete) throws IOException {
+        long length;
+        if (head || status == SC_NO_CONTENT || status == SC_NOT_MODIFIED || status < 200) {
+            if (head && contentLength >= 0) exchange.getResponseHeaders().set("Content-Length", Long.toString(contentLength));
+            length = -1; // pas de corps
+        } else if (contentLength >= 0) {
+            length = contentLength == 0 ? -1 : contentLength;
+        } else if (complete) {
+            length = count == 0 ? -1 : count;
+        } else {
+            length = 0; // chunked
+        }
+        exchange.sendResponseHeaders(status, length);
+        body = exchange.getResponseBody();
+        if (count > 0 && length != -1) body.write(buffer, 0, count);
+        count = 0;
+    }
+
+    /** Termine l'échange : en-têtes si rien n'est parti, puis fermeture du flux. */
+    void finish() throws IOException {
+        if (writer != null) writer.flush();
+        if (body == null) commit(true);
+        body.close();
+    }
+
+    private static String httpDate(long date) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atZone(ZoneOffset.UTC));
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
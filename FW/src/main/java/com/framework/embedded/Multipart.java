@@ -0,0 +1,290 @@
+package com.framework.embedded;
+
+import com.framework.exception.BadRequestException;
+import com.framework.exception.PayloadTooLargeException;
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.http.Part;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lecture en flux d'un corps multipart/form-data (RFC 7578), comme dans un conteneur : une
+ * part reste en mémoire jusqu'à fileSizeThreshold puis est écrite dans un fichier temporaire
+ * sous location. maxFileSize (par part) et maxRequestSize sont vérifiés pendant la lecture ;
+ * le corps entier n'est jamais en mémoire.
+ */
+final class Multipart {
+    private static final int BUFFER_SIZE = 16384; // borne aussi les en-têtes d'une part
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] HEADERS_END = {'\r', '\n', '\r', '\n'};
+
+    private final InputStream in;
+    private final MultipartConfigElement config;
+    private final byte[] separator; // "\r\n--boundary" : fin de part
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private long total;
+
+    private Multipart(InputStream in, MultipartConfigElement config, String boundary) {
+        this.in = in;
+        this.config = config;
+        this.separator = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /** Parts lues sur in ; leurs fichiers temporaires sont supprimés par Part.delete. */
+    static List<Part> parse(String contentType, InputStream in, MultipartConfigElement config) throws IOException {
+        Multipart reader = new Multipart(in, config, boundary(contentType));
+        List<Part> parts = new ArrayList<>();
+        try {
+            reader.read(parts);
+        } catch (IOException | RuntimeException e) {
+            parts.forEach(part -> ((StreamPart) part).discard());
+            throw e;
+        }
+        return parts;
+    }
+
+    private void read(List<Part> parts) throws IOException {
+        // le premier délimiteur ouvre en général le corps : un CRLF fictif le précède
+        buf[0] = '\r';
+        buf[1] = '\n';
+        limit = 2;
+        if (!skipPreamble()) throw new BadRequestException("Corps multipart invalide : délimiteur absent");
+        while (true) {
+            if (!ensure(2)) throw new BadRequestException("Corps multipart invalide : délimiteur final absent");
+            if (buf[pos] == '-' && buf[pos + 1] == '-') return; // délimiteur final
+            pos = find(CRLF, "délimiteur"); // bourrage éventuel ignoré, CRLF gardé pour des en-têtes vides
+            int headersEnd = find(HEADERS_END, "en-têtes incomplets");
+            Map<String, List<String>> headers = headers(new String(buf, pos + 2, Math.max(0, headersEnd - pos - 2), StandardCharsets.UTF_8));
+            pos = headersEnd + HEADERS_END.length;
+            parts.add(body(new StreamPart(headers, config)));
+        }
+    }
+
+    private boolean skipPreamble() throws IOException {
+        while (true) {
+            int i = indexOf(separator);
+            if (i >= 0) {
+                pos = i + separator.length;
+                return true;
+            }
+            pos = Math.max(pos, limit - separator.length + 1);
+            if (!fill()) return false;
+        }
+    }
+
+    // contenu jusqu'au prochain séparateur ; seuls les octets qui ne peuvent pas en être le début partent
+    private StreamPart body(StreamPart part) throws IOException {
+        try {
+            while (true) {
+                int i = indexOf(separator);
+                if (i >= 0) {
+                    part.append(buf, pos, i - pos);
+                    pos = i + separator.length;
+                    part.finish();
+                    return part;
+                }
+                int safe = limit - separator.length + 1;
+                if (safe > pos) {
+                    part.append(buf, pos, safe - pos);
+                    pos = safe;
+                }
+                if (!fill()) throw new BadRequestException("Corps multipart invalide : part non terminée");
+            }
+        } catch (IOException | RuntimeException e) {
+            part.discard();
+            throw e;
+        }
+    }
+
+    // position de pattern, en lisant au besoin ; ce qui précède doit tenir dans le tampon
+    private int find(byte[] pattern, String what) throws IOException {
+        while (true) {
+            int i = indexOf(pattern);
+            if (i >= 0) return i;
+            if (limit - pos == buf.length || !fill()) throw new BadRequestException("Corps multipart invalide : " + what);
+        }
+    }
+
+    private boolean ensure(int n) throws IOException {
+        while (limit - pos < n) {
+            if (!fill()) return false;
+        }
+        return true;
+    }
+
+    // tassement en tête du tampon puis lecture ; false en fin de flux
+    private boolean fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n < 0) return false;
+        total += n;
+        if (config.getMaxRequestSize() > 0 && total > config.getMaxRequestSize()) {
+            throw new PayloadTooLargeException("Requête trop volumineuse (max " + config.getMaxRequestSize() + " octets)");
+        }
+        limit += n;
+        return true;
+    }
+
+    private int indexOf(byte[] pattern) {
+        byte first = pattern[0];
+        int last = limit - pattern.length;
+        outer:
+        for (int i = pos; i <= last; i++) {
+            if (buf[i] != first) continue;
+            for (int j = 1; j < pattern.length; j++) {
+                if (buf[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static String boundary(String contentType) {
+        for (String parameter : contentType.split(";")) {
+            String p = parameter.trim();
+            if (p.regionMatches(true, 0, "boundary=", 0, 9)) {
+                String value = p.substring(9).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) value = value.substring(1, value.length() - 1);
+                if (!value.isEmpty() && value.length() <= 70) return value;
+            }
+        }
+        throw new BadRequestException("Content-Type multipart sans boundary valide");
+    }
+
+    private static Map<String, List<String>> headers(String block) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String line : block.split("\r\n")) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) continue;
+            headers.computeIfAbsent(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), k -> new ArrayList<>(1))
+                    .add(line.substring(colon + 1).trim());
+        }
+        return headers;
+    }
+
+    // paramètre name="..." ou filename="..." de Content-Disposition
+    private static String dispositionParameter(String disposition, String name) {
+        if (disposition == null) return null;
+        for (String parameter : disposition.split(";")) {
+            String p = parameter.trim();
+            int eq = p.indexOf('=');
+            if (eq < 0 || !p.substring(0, eq).trim().equalsIgnoreCase(name)) continue;
+            String value = p.substring(eq + 1).trim();
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) value = value.substring(1, value.length() - 1);
+            return value;
+        }
+        return null;
+    }
+
+    /** Part en mémoire, ou dans un fichier temporaire une fois fileSizeThreshold dépassé. */
+    private static final class StreamPart implements Part {
+        private final Map<String, List<String>> headers;
+        private final MultipartConfigElement config;
+        private final String name;
+        private final String fileName;
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private byte[] content;
+        private Path file;
+        private OutputStream out;
+        private long size;
+
+        StreamPart(Map<String, List<String>> headers, MultipartConfigElement config) {
+            this.headers = headers;
+            this.config = config;
+            String disposition = getHeader("Content-Disposition");
+            String n = dispositionParameter(disposition, "name");
+            this.name = n != null ? n : "";
+            this.fileName = dispositionParameter(disposition, "filename");
+        }
+
+        void append(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return;
+            size += len;
+            if (config.getMaxFileSize() > 0 && size > config.getMaxFileSize()) {
+                throw new PayloadTooLargeException("Fichier trop volumineux : " + (fileName != null ? fileName : name)
+                        + " (max " + config.getMaxFileSize() + " octets)");
+            }
+            if (out == null && size > config.getFileSizeThreshold()) {
+                String location = config.getLocation();
+                Path directory = Paths.get(location.isEmpty() ? System.getProperty("java.io.tmpdir") : location);
+                file = Files.createTempFile(directory, "upload-", ".part");
+                out = new BufferedOutputStream(Files.newOutputStream(file));
+                memory.writeTo(out);
+                memory = null;
+            }
+            if (out != null) out.write(b, off, len);
+            else memory.write(b, off, len);
+        }
+
+        void finish() throws IOException {
+            if (out != null) out.close();
+            else content = memory.toByteArray();
+            memory = null;
+        }
+
+        // abandon en cours de lecture ou fin de requête : le fichier temporaire ne survit pas
+        void discard() {
+            try {
+                if (out != null) out.close();
+                if (file != null) Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // fichier temporaire déjà supprimé ou inaccessible
+            }
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return file != null ? Files.newInputStream(file) : new ByteArrayInputStream(content);
+        }
+
+        @Override public String getContentType() { return getHeader("Content-Type"); }
+        @Override public String getName() { return name; }
+        @Override public String getSubmittedFileName() { return fileName; }
+        @Override public long getSize() { return size; }
+
+        @Override
+        public void write(String fileName) throws IOException {
+            Path target = Paths.get(fileName);
+            if (file != null) Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+            else Files.write(target, content);
+        }
+
+        @Override public void delete() { discard(); }
+
+        @Override
+        public String getHeader(String name) {
+            List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+            return values != null && !values.isEmpty() ? values.get(0) : null;
+        }
+
+        @Override
+        public Collection<String> getHeaders(String name) {
+            List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+            return values != null ? values : List.of();
+        }
+
+        @Override public Collection<String> getHeaderNames() { return headers.keySet(); }
+    }
+}
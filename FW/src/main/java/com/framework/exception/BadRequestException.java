@@ -0,0 +1,14 @@
+package com.framework.exception;
+
+/** Entrée client invalide : paramètre manquant ou mal formé, JSON incorrect. */
+public class BadRequestException extends FrameworkException {
+    private static final long serialVersionUID = 1L;
+
+    public BadRequestException(String message) {
+        super(400, message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(400, message, cause);
+    }
+}
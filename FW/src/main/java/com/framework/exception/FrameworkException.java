@@ -0,0 +1,26 @@
+package com.framework.exception;
+
+/**
+ * Erreur de requête connue (entrée invalide, ressource absente...) portant son statut HTTP.
+ * Sans trace de pile : créée à chaque mauvaise entrée client, elle ne coûte qu'une allocation.
+ * Les controllers peuvent la lever directement : new FrameworkException(409, "Conflit").
+ */
+public class FrameworkException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public FrameworkException(int status, String message) {
+        this(status, message, null);
+    }
+
+    public FrameworkException(int status, String message, Throwable cause) {
+        super(message, cause, false, false);
+        if (status < 400 || status > 599) throw new IllegalArgumentException("Statut d'erreur invalide : " + status);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,14 @@
+package com.framework.exception;
+
+/** Ressource demandée inexistante. */
+public class NotFoundException extends FrameworkException {
+    private static final long serialVersionUID = 1L;
+
+    public NotFoundException(String message) {
+        super(404, message);
+    }
+
+    public NotFoundException(String message, Throwable cause) {
+        super(404, message, cause);
+    }
+}
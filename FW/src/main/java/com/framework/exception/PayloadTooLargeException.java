@@ -0,0 +1,14 @@
+package com.framework.exception;
+
+/** Requête ou fichier au-delà des limites configurées (upload-max-*). */
+public class PayloadTooLargeException extends FrameworkException {
+    private static final long serialVersionUID = 1L;
+
+    public PayloadTooLargeException(String message) {
+        super(413, message);
+    }
+
+    public PayloadTooLargeException(String message, Throwable cause) {
+        super(413, message, cause);
+    }
+}
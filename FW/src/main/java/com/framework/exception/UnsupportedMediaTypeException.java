@@ -0,0 +1,14 @@
+package com.framework.exception;
+
+/** Content-Type de la requête incompatible avec la route. */
+public class UnsupportedMediaTypeException extends FrameworkException {
+    private static final long serialVersionUID = 1L;
+
+    public UnsupportedMediaTypeException(String message) {
+        super(415, message);
+    }
+
+    public UnsupportedMediaTypeException(String message, Throwable cause) {
+        super(415, message, cause);
+    }
+}
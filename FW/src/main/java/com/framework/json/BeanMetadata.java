@@ -0,0 +1,90 @@
+package com.framework.json;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accesseurs d'une classe, calculés une fois et mis en cache par classe :
+ * un MethodHandle par champ et le nom déjà encodé ("nom": en JSON, chaîne CBOR).
+ */
+public final class BeanMetadata {
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<BeanMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected BeanMetadata computeValue(Class<?> type) {
+            return new BeanMetadata(type);
+        }
+    };
+
+    private final Property[] properties;
+    private final Map<String, Property> byName = new HashMap<>();
+
+    private BeanMetadata(Class<?> type) {
+        List<Property> list = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+            try {
+                field.setAccessible(true);
+                MethodHandle getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER);
+                list.add(new Property(field.getName(), getter));
+            } catch (IllegalAccessException | RuntimeException e) {
+                // champ inaccessible (module fermé) : ignoré, comme avant
+            }
+        }
+        this.properties = list.toArray(new Property[0]);
+        for (Property p : properties) byName.put(p.getName(), p);
+    }
+
+    public static BeanMetadata of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    public Property[] getProperties() {
+        return properties;
+    }
+
+    /** null si la classe n'a pas de champ lisible de ce nom. */
+    public Property getProperty(String name) {
+        return byName.get(name);
+    }
+
+    public static final class Property {
+        private final String name;
+        private final byte[] jsonName;
+        private final byte[] cborName;
+        private final MethodHandle getter;
+
+        Property(String name, MethodHandle getter) {
+            this.name = name;
+            this.jsonName = ("\"" + name + "\":").getBytes(StandardCharsets.UTF_8);
+            this.cborName = CborWriter.encode(name);
+            this.getter = getter;
+        }
+
+        public String getName() { return name; }
+
+        public byte[] getJsonName() { return jsonName; }
+
+        public byte[] getCborName() { return cborName; }
+
+        public Object get(Object bean) {
+            try {
+                return (Object) getter.invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+    }
+}
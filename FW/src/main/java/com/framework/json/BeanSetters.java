@@ -0,0 +1,43 @@
+package com.framework.json;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Propriétés inscriptibles d'un bean, pendant de BeanMetadata pour l'écriture : partagé par
+ * JsonDecoder (@RequestBody) et le binding @ModelAttribute.
+ */
+public final class BeanSetters {
+    private BeanSetters() {}
+
+    /** Champs d'instance (ni static, ni transient) de la hiérarchie, ceux des parents d'abord. */
+    public static List<Field> fields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            List<Field> declared = new ArrayList<>(Arrays.asList(c.getDeclaredFields()));
+            declared.removeIf(f -> Modifier.isStatic(f.getModifiers()) || Modifier.isTransient(f.getModifiers()) || f.isSynthetic());
+            fields.addAll(0, declared);
+        }
+        return fields;
+    }
+
+    /**
+     * Setter public setXxx(T) du champ, null s'il n'y en a pas : jamais d'écriture directe d'un
+     * champ, le client ne remplit que ce que la classe expose (admin, id... restent hors d'atteinte).
+     */
+    public static MethodHandle setter(Field field) {
+        String name = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        try {
+            Method m = field.getDeclaringClass().getMethod(name, field.getType());
+            return MethodHandles.lookup().unreflect(m);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null; // pas de setter accessible
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.framework.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sérialisation CBOR en flux, pendant binaire de JsonSerializer : même enveloppe, mêmes
+ * règles de parcours et mêmes accesseurs (BeanMetadata), noms de propriétés pré-encodés.
+ * byte[] devient une chaîne d'octets, BigInteger/BigDecimal les tags 2, 3 et 4.
+ */
+public final class CborSerializer {
+    // {"status":"success","code":200,"data": ... : map de 3 entrées, la valeur de data suit
+    private static final byte[] SUCCESS_PREFIX = successPrefix();
+
+    private CborSerializer() {}
+
+    private static byte[] successPrefix() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CborWriter w = new CborWriter(bytes, 64);
+        try {
+            w.startMap(3);
+            w.writeString("status");
+            w.writeString("success");
+            w.writeString("code");
+            w.writeNumber(200);
+            w.writeString("data");
+            w.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static void writeEnvelope(OutputStream out, Object data) throws IOException {
+        CborWriter writer = new CborWriter(out);
+        writer.writeRaw(SUCCESS_PREFIX);
+        write(writer, data);
+        writer.flush();
+    }
+
+    public static void writeSequenceEnvelope(OutputStream out, Object items, SequenceFlusher flusher) throws IOException {
+        CborWriter w = new CborWriter(out);
+        w.writeRaw(SUCCESS_PREFIX);
+        w.startArray();
+        Iterator<?> it = JsonSerializer.iterator(items);
+        try {
+            while (it.hasNext()) {
+                write(w, it.next());
+                flusher.afterItem(w);
+            }
+        } finally {
+            JsonSerializer.close(items);
+        }
+        w.writeBreak();
+        w.flush();
+    }
+
+    // séquences et maps en longueur indéfinie : taille inconnue (Stream) ou changeante pendant le parcours
+    public static void write(CborWriter w, Object obj) throws IOException {
+        if (obj == null) {
+            w.writeNull();
+        } else if (obj instanceof CharSequence s) {
+            w.writeString(s);
+        } else if (obj instanceof Number n) {
+            writeNumber(w, n);
+        } else if (obj instanceof Boolean b) {
+            w.writeBoolean(b);
+        } else if (obj instanceof Character || obj instanceof Enum) {
+            w.writeString(obj instanceof Enum<?> e ? e.name() : obj.toString());
+        } else if (JsonSerializer.isSequence(obj)) {
+            Iterator<?> it = JsonSerializer.iterator(obj);
+            try {
+                w.startArray();
+                while (it.hasNext()) write(w, it.next());
+                w.writeBreak();
+            } finally {
+                JsonSerializer.close(obj);
+            }
+        } else if (obj instanceof Map<?, ?> map) {
+            w.startMap();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                w.writeString(String.valueOf(entry.getKey()));
+                write(w, entry.getValue());
+            }
+            w.writeBreak();
+        } else if (obj instanceof byte[] bytes) {
+            w.writeBytes(bytes);
+        } else if (obj.getClass().isArray()) {
+            int len = Array.getLength(obj);
+            w.startArray(len);
+            for (int i = 0; i < len; i++) write(w, Array.get(obj, i));
+        } else if (obj.getClass().getName().startsWith("java.")) {
+            w.writeString(obj.toString()); // dates, UUID... : champs internes non accessibles
+        } else {
+            BeanMetadata.Property[] properties = BeanMetadata.of(obj.getClass()).getProperties();
+            w.startMap(properties.length);
+            for (BeanMetadata.Property property : properties) {
+                w.writeRaw(property.getCborName());
+                write(w, property.get(obj));
+            }
+        }
+    }
+
+    private static void writeNumber(CborWriter w, Number n) throws IOException {
+        if (n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte
+                || n instanceof AtomicInteger || n instanceof AtomicLong) {
+            w.writeNumber(n.longValue());
+        } else if (n instanceof BigInteger big) {
+            writeBigInteger(w, big);
+        } else if (n instanceof BigDecimal decimal) {
+            // tag 4 : [exposant, mantisse], valeur exacte
+            w.writeTag(4);
+            w.startArray(2);
+            w.writeNumber(-(long) decimal.scale());
+            writeBigInteger(w, decimal.unscaledValue());
+        } else {
+            w.writeNumber(n.doubleValue());
+        }
+    }
+
+    private static void writeBigInteger(CborWriter w, BigInteger big) throws IOException {
+        if (big.bitLength() < 64) {
+            w.writeNumber(big.longValue());
+        } else if (big.signum() >= 0) {
+            w.writeTag(2);
+            w.writeBytes(magnitude(big));
+        } else {
+            w.writeTag(3); // -1 - n
+            w.writeBytes(magnitude(big.not()));
+        }
+    }
+
+    // octets non signés, sans l'octet de signe ajouté par toByteArray
+    private static byte[] magnitude(BigInteger positive) {
+        byte[] bytes = positive.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] trimmed = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
+            return trimmed;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,226 @@
+package com.framework.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Écriture CBOR (RFC 8949) directement dans un flux, via un petit tampon, comme JsonWriter :
+ * entiers sur 1 à 9 octets, chaînes UTF-8 préfixées par leur longueur, aucun échappement.
+ */
+public class CborWriter implements Flushable {
+    private static final int UNSIGNED = 0;
+    private static final int NEGATIVE = 1 << 5;
+    private static final int BYTES = 2 << 5;
+    private static final int TEXT = 3 << 5;
+    private static final int ARRAY = 4 << 5;
+    private static final int MAP = 5 << 5;
+    private static final int TAG = 6 << 5;
+    private static final int FALSE = 0xF4;
+    private static final int TRUE = 0xF5;
+    private static final int NULL = 0xF6;
+    private static final int FLOAT32 = 0xFA;
+    private static final int FLOAT64 = 0xFB;
+    private static final int INDEFINITE = 0x1F;
+    private static final int BREAK = 0xFF;
+
+    private final OutputStream out;
+    private final byte[] buf;
+    private int pos;
+
+    public CborWriter(OutputStream out) {
+        this(out, 8192);
+    }
+
+    public CborWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buf = new byte[Math.max(16, bufferSize)];
+    }
+
+    /** Chaîne déjà encodée (clés de propriétés, débuts d'enveloppe). */
+    public static byte[] encode(String s) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(s.length() + 9);
+        CborWriter w = new CborWriter(bytes, 16);
+        try {
+            w.writeString(s);
+            w.flushBuffer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // flux en mémoire
+        }
+        return bytes.toByteArray();
+    }
+
+    public void writeRaw(byte[] bytes) throws IOException {
+        writeRaw(bytes, 0, bytes.length);
+    }
+
+    private void writeRaw(byte[] bytes, int off, int len) throws IOException {
+        if (len > buf.length - pos) {
+            flushBuffer();
+            if (len > buf.length) {
+                out.write(bytes, off, len);
+                return;
+            }
+        }
+        System.arraycopy(bytes, off, buf, pos, len);
+        pos += len;
+    }
+
+    public void writeNull() throws IOException {
+        writeType(NULL);
+    }
+
+    public void writeBoolean(boolean value) throws IOException {
+        writeType(value ? TRUE : FALSE);
+    }
+
+    public void writeNumber(long value) throws IOException {
+        if (value >= 0) writeHead(UNSIGNED, value);
+        else writeHead(NEGATIVE, ~value); // -1 - value
+    }
+
+    // float32 si la valeur y tient sans perte (NaN et infinis compris), sinon float64
+    public void writeNumber(double value) throws IOException {
+        ensure(9);
+        float f = (float) value;
+        if (f == value || Double.isNaN(value)) {
+            int bits = Float.floatToIntBits(f);
+            buf[pos++] = (byte) FLOAT32;
+            putInt(bits);
+        } else {
+            long bits = Double.doubleToLongBits(value);
+            buf[pos++] = (byte) FLOAT64;
+            putInt((int) (bits >>> 32));
+            putInt((int) bits);
+        }
+    }
+
+    public void writeString(CharSequence s) throws IOException {
+        int len = s.length();
+        writeHead(TEXT, utf8Length(s));
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (pos + 4 > buf.length) flushBuffer();
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                if (Character.isSurrogate(c)) c = '\uFFFD'; // surrogate isolé : caractère de remplacement
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    // longueur en octets, calculée avant l'écriture : la chaîne n'est jamais copiée
+    private static int utf8Length(CharSequence s) {
+        int len = s.length();
+        int bytes = len;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) continue;
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                bytes += 2; // 4 octets pour 2 chars
+                i++;
+            } else {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    public void writeBytes(byte[] bytes) throws IOException {
+        writeHead(BYTES, bytes.length);
+        writeRaw(bytes, 0, bytes.length);
+    }
+
+    public void writeTag(long tag) throws IOException {
+        writeHead(TAG, tag);
+    }
+
+    public void startArray(int size) throws IOException {
+        writeHead(ARRAY, size);
+    }
+
+    public void startMap(int size) throws IOException {
+        writeHead(MAP, size);
+    }
+
+    /** Tableau de taille inconnue, terminé par writeBreak(). */
+    public void startArray() throws IOException {
+        writeType(ARRAY | INDEFINITE);
+    }
+
+    /** Map de taille inconnue, terminée par writeBreak(). */
+    public void startMap() throws IOException {
+        writeType(MAP | INDEFINITE);
+    }
+
+    public void writeBreak() throws IOException {
+        writeType(BREAK);
+    }
+
+    private void writeType(int initialByte) throws IOException {
+        if (pos == buf.length) flushBuffer();
+        buf[pos++] = (byte) initialByte;
+    }
+
+    // type majeur + argument sur la plus courte forme possible
+    private void writeHead(int major, long value) throws IOException {
+        ensure(9);
+        if (value < 24) {
+            buf[pos++] = (byte) (major | value);
+        } else if (value < 0x100) {
+            buf[pos++] = (byte) (major | 24);
+            buf[pos++] = (byte) value;
+        } else if (value < 0x10000) {
+            buf[pos++] = (byte) (major | 25);
+            buf[pos++] = (byte) (value >> 8);
+            buf[pos++] = (byte) value;
+        } else if (value < 0x100000000L) {
+            buf[pos++] = (byte) (major | 26);
+            putInt((int) value);
+        } else {
+            buf[pos++] = (byte) (major | 27);
+            putInt((int) (value >>> 32));
+            putInt((int) value);
+        }
+    }
+
+    private void putInt(int v) {
+        buf[pos++] = (byte) (v >>> 24);
+        buf[pos++] = (byte) (v >>> 16);
+        buf[pos++] = (byte) (v >>> 8);
+        buf[pos++] = (byte) v;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buf.length - pos < bytes) flushBuffer();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+    // vide le tampon sans fermer le flux (celui de la réponse appartient au conteneur)
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+}
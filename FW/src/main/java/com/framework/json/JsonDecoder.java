@@ -0,0 +1,437 @@
+package com.framework.json;
+
+import com.framework.exception.BadRequestException;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Lecture d'un JSON directement dans un type Java, jeton par jeton, sans arbre
+ * intermédiaire. Le lecteur de chaque type (générique résolu compris) est construit
+ * une fois puis mis en cache ; pour un bean : constructeur et setters en MethodHandle.
+ *
+ * Beans acceptés : record (constructeur canonique), classe avec constructeur sans
+ * argument (setter public setXxx, sinon champ non final), ou classe dont un
+ * constructeur a ses noms de paramètres (compilation avec -parameters).
+ */
+public final class JsonDecoder {
+
+    /** Lit une valeur du type pour lequel il a été construit. */
+    public interface ValueReader {
+        Object read(JsonReader in) throws IOException;
+    }
+
+    private static final Map<TypeRef, ValueReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<TypeRef, BeanReader> BEANS = new ConcurrentHashMap<>();
+
+    private JsonDecoder() {}
+
+    /** Lecteur du type (Class ou type générique : List&lt;Foo&gt;, Page&lt;Foo&gt;...). Le bean racine est analysé tout de suite. */
+    public static ValueReader forType(Type type) {
+        TypeRef ref = resolve(type, Map.of());
+        ValueReader reader = reader(ref);
+        if (reader instanceof LazyBean lazy) lazy.get();
+        return reader;
+    }
+
+    public static Object read(JsonReader in, Type type) throws IOException {
+        return forType(type).read(in);
+    }
+
+    // ---- résolution des types génériques -------------------------------------------------
+
+    private static TypeRef resolve(Type type, Map<TypeVariable<?>, TypeRef> vars) {
+        if (type instanceof Class<?> c) {
+            return c.isArray() ? new TypeRef(c, resolve(c.getComponentType(), vars)) : new TypeRef(c);
+        }
+        if (type instanceof ParameterizedType p) {
+            Type[] args = p.getActualTypeArguments();
+            TypeRef[] refs = new TypeRef[args.length];
+            for (int i = 0; i < args.length; i++) refs[i] = resolve(args[i], vars);
+            return new TypeRef((Class<?>) p.getRawType(), refs);
+        }
+        if (type instanceof GenericArrayType g) {
+            TypeRef component = resolve(g.getGenericComponentType(), vars);
+            return new TypeRef(Array.newInstance(component.raw, 0).getClass(), component);
+        }
+        if (type instanceof TypeVariable<?> v) {
+            TypeRef bound = vars.get(v);
+            return bound != null ? bound : resolve(v.getBounds()[0], Map.of());
+        }
+        if (type instanceof WildcardType w) {
+            return resolve(w.getUpperBounds()[0], vars);
+        }
+        throw new IllegalStateException("Type non supporté : " + type);
+    }
+
+    // variables de type d'une classe et de ses superclasses, liées aux arguments connus
+    private static Map<TypeVariable<?>, TypeRef> variables(TypeRef ref) {
+        Map<TypeVariable<?>, TypeRef> vars = new HashMap<>();
+        TypeVariable<?>[] params = ref.raw.getTypeParameters();
+        for (int i = 0; i < params.length && i < ref.args.length; i++) vars.put(params[i], ref.args[i]);
+        for (Class<?> c = ref.raw; c != null && c != Object.class; c = c.getSuperclass()) {
+            if (c.getGenericSuperclass() instanceof ParameterizedType p) {
+                TypeVariable<?>[] superParams = c.getSuperclass().getTypeParameters();
+                Type[] args = p.getActualTypeArguments();
+                for (int i = 0; i < superParams.length; i++) vars.put(superParams[i], resolve(args[i], vars));
+            }
+        }
+        return vars;
+    }
+
+    // ---- lecteurs ------------------------------------------------------------------------
+
+    private static ValueReader reader(TypeRef ref) {
+        // pas de computeIfAbsent : la construction d'un lecteur en construit d'autres (récursion)
+        ValueReader reader = READERS.get(ref);
+        if (reader == null) {
+            reader = create(ref);
+            ValueReader previous = READERS.putIfAbsent(ref, reader);
+            if (previous != null) reader = previous;
+        }
+        return reader;
+    }
+
+    private static ValueReader create(TypeRef ref) {
+        Class<?> raw = ref.raw;
+        ValueReader simple = simple(raw);
+        if (simple != null) return raw.isPrimitive() ? simple : nullable(simple);
+
+        if (raw == Object.class) return JsonReader::readValue;
+        if (raw.isEnum()) return nullable(enumReader(raw));
+        if (raw.isArray()) return nullable(arrayReader(raw.getComponentType(), reader(ref.component)));
+        if (Collection.class.isAssignableFrom(raw)) {
+            ValueReader element = reader(ref.arg(0));
+            return nullable(collectionReader(raw, element));
+        }
+        if (Map.class.isAssignableFrom(raw)) {
+            Class<?> key = ref.arg(0).raw;
+            if (key != String.class && key != Object.class) {
+                throw new IllegalStateException("Clé de Map non supportée en JSON : " + key.getName());
+            }
+            ValueReader value = reader(ref.arg(1));
+            return nullable(in -> {
+                Map<String, Object> map = raw.isInterface() ? new LinkedHashMap<>() : newInstance(raw);
+                in.beginObject();
+                while (in.hasNext()) {
+                    String name = in.nextName();
+                    map.put(name, value.read(in));
+                }
+                in.endObject();
+                return map;
+            });
+        }
+        if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers()) || raw.getName().startsWith("java.")) {
+            throw new IllegalStateException("Type non supporté pour un corps JSON : " + raw.getName());
+        }
+        return nullable(new LazyBean(ref));
+    }
+
+    private static ValueReader simple(Class<?> type) {
+        if (type == String.class || type == CharSequence.class) return JsonReader::nextString;
+        if (type == int.class || type == Integer.class) return JsonReader::nextInt;
+        if (type == long.class || type == Long.class) return JsonReader::nextLong;
+        if (type == double.class || type == Double.class) return JsonReader::nextDouble;
+        if (type == float.class || type == Float.class) return in -> (float) in.nextDouble();
+        if (type == short.class || type == Short.class) return in -> (short) in.nextInt();
+        if (type == byte.class || type == Byte.class) return in -> (byte) in.nextInt();
+        if (type == boolean.class || type == Boolean.class) return JsonReader::nextBoolean;
+        if (type == char.class || type == Character.class) {
+            return in -> {
+                String s = in.nextString();
+                if (s.length() != 1) throw new BadRequestException("JSON invalide : un seul caractère attendu : " + s);
+                return s.charAt(0);
+            };
+        }
+        if (type == BigDecimal.class) return in -> new BigDecimal(in.nextNumber());
+        if (type == BigInteger.class) return in -> new BigInteger(in.nextNumber());
+        if (type == UUID.class) return parsed(UUID::fromString);
+        if (type == LocalDate.class) return parsed(LocalDate::parse);
+        if (type == LocalDateTime.class) return parsed(LocalDateTime::parse);
+        if (type == LocalTime.class) return parsed(LocalTime::parse);
+        if (type == OffsetDateTime.class) return parsed(OffsetDateTime::parse);
+        if (type == Instant.class) return parsed(Instant::parse);
+        return null;
+    }
+
+    private static ValueReader parsed(Function<String, Object> parser) {
+        return in -> {
+            String s = in.nextString();
+            try {
+                return parser.apply(s);
+            } catch (RuntimeException e) {
+                throw new BadRequestException("JSON invalide : valeur incorrecte \"" + s + "\"", e);
+            }
+        };
+    }
+
+    private static ValueReader nullable(ValueReader reader) {
+        return in -> {
+            if (in.peek() == JsonReader.Token.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return reader.read(in);
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ValueReader enumReader(Class<?> type) {
+        Map<String, Object> constants = new HashMap<>();
+        for (Object constant : type.getEnumConstants()) constants.put(((Enum) constant).name(), constant);
+        return in -> {
+            String name = in.nextString();
+            Object constant = constants.get(name);
+            if (constant == null) throw new BadRequestException("JSON invalide : " + name + " n'est pas une valeur de " + type.getSimpleName());
+            return constant;
+        };
+    }
+
+    private static ValueReader arrayReader(Class<?> componentType, ValueReader element) {
+        return in -> {
+            List<Object> items = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) items.add(element.read(in));
+            in.endArray();
+            Object array = Array.newInstance(componentType, items.size());
+            for (int i = 0; i < items.size(); i++) {
+                Object item = items.get(i);
+                if (item == null && componentType.isPrimitive()) throw new BadRequestException("JSON invalide : null dans un tableau de " + componentType);
+                Array.set(array, i, item);
+            }
+            return array;
+        };
+    }
+
+    private static ValueReader collectionReader(Class<?> raw, ValueReader element) {
+        Function<Class<?>, Collection<Object>> factory;
+        if (!raw.isInterface() && !Modifier.isAbstract(raw.getModifiers())) factory = JsonDecoder::newInstance;
+        else if (SortedSet.class.isAssignableFrom(raw)) factory = c -> new TreeSet<>();
+        else if (Set.class.isAssignableFrom(raw)) factory = c -> new LinkedHashSet<>();
+        else if (raw.isAssignableFrom(ArrayList.class)) factory = c -> new ArrayList<>();
+        else throw new IllegalStateException("Collection non supportée en JSON : " + raw.getName());
+        return in -> {
+            Collection<Object> items = factory.apply(raw);
+            in.beginArray();
+            while (in.hasNext()) items.add(element.read(in));
+            in.endArray();
+            return items;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T newInstance(Class<?> type) {
+        try {
+            return (T) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Instanciation impossible : " + type.getName(), e);
+        }
+    }
+
+    // bean : analysé à la première lecture (ou par forType), ce qui permet les types récursifs
+    private static final class LazyBean implements ValueReader {
+        private final TypeRef ref;
+        private volatile BeanReader bean;
+
+        LazyBean(TypeRef ref) {
+            this.ref = ref;
+        }
+
+        BeanReader get() {
+            BeanReader b = bean;
+            if (b == null) {
+                b = BEANS.get(ref);
+                if (b == null) {
+                    b = new BeanReader(ref);
+                    BeanReader previous = BEANS.putIfAbsent(ref, b);
+                    if (previous != null) b = previous;
+                }
+                bean = b;
+            }
+            return b;
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            return get().read(in);
+        }
+    }
+
+    private static final class BeanReader {
+        private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+        private final Class<?> type;
+        private final Map<String, Integer> index = new HashMap<>();
+        private final ValueReader[] readers;
+        private final Object[] defaults;        // valeurs des propriétés absentes (0/false pour les primitifs)
+        private final MethodHandle constructor; // (Object[]) -> Object : arguments du constructeur, ou aucun
+        private final MethodHandle[] setters;   // null : propriété passée au constructeur
+        private final boolean byConstructor;
+
+        BeanReader(TypeRef ref) {
+            this.type = ref.raw;
+            Map<TypeVariable<?>, TypeRef> vars = variables(ref);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            List<String> names = new ArrayList<>();
+            List<Type> types = new ArrayList<>();
+            List<MethodHandle> setterList = new ArrayList<>();
+            try {
+                Constructor<?> ctor;
+                if (type.isRecord()) {
+                    RecordComponent[] components = type.getRecordComponents();
+                    Class<?>[] rawTypes = new Class<?>[components.length];
+                    for (int i = 0; i < components.length; i++) {
+                        names.add(components[i].getName());
+                        types.add(components[i].getGenericType());
+                        rawTypes[i] = components[i].getType();
+                        setterList.add(null);
+                    }
+                    ctor = type.getDeclaredConstructor(rawTypes);
+                } else if ((ctor = noArgConstructor(type)) != null) {
+                    for (Field field : BeanSetters.fields(type)) {
+                        MethodHandle setter = BeanSetters.setter(field);
+                        if (setter == null) continue;
+                        names.add(field.getName());
+                        types.add(field.getGenericType());
+                        setterList.add(setter.asType(SETTER));
+                    }
+                } else {
+                    ctor = namedConstructor(type);
+                    for (Parameter p : ctor.getParameters()) {
+                        names.add(p.getName());
+                        types.add(p.getParameterizedType());
+                        setterList.add(null);
+                    }
+                }
+                ctor.setAccessible(true);
+                int arity = ctor.getParameterCount();
+                this.constructor = lookup.unreflectConstructor(ctor)
+                        .asSpreader(Object[].class, arity)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new IllegalStateException("Lecture JSON impossible pour " + type.getName() + " : " + e.getMessage(), e);
+            }
+
+            int n = names.size();
+            this.readers = new ValueReader[n];
+            this.defaults = new Object[n];
+            this.setters = setterList.toArray(new MethodHandle[0]);
+            this.byConstructor = !setterList.isEmpty() && setterList.get(0) == null;
+            for (int i = 0; i < n; i++) {
+                index.put(names.get(i), i);
+                TypeRef propertyType = resolve(types.get(i), vars);
+                readers[i] = reader(propertyType);
+                if (propertyType.raw.isPrimitive()) defaults[i] = Array.get(Array.newInstance(propertyType.raw, 1), 0);
+            }
+        }
+
+        // constructeur : valeurs réunies puis passées d'un coup ; setters : appliqués au fil de la lecture,
+        // les propriétés absentes gardent la valeur d'initialisation du champ
+        Object read(JsonReader in) throws IOException {
+            try {
+                Object[] values = byConstructor ? defaults.clone() : null;
+                Object bean = byConstructor ? null : (Object) constructor.invokeExact(new Object[0]);
+                in.beginObject();
+                while (in.hasNext()) {
+                    Integer i = index.get(in.nextName());
+                    if (i == null) {
+                        in.skipValue(); // propriété inconnue : ignorée
+                        continue;
+                    }
+                    Object value = readers[i].read(in);
+                    if (byConstructor) values[i] = value;
+                    else setters[i].invokeExact(bean, value);
+                }
+                in.endObject();
+                return byConstructor ? (Object) constructor.invokeExact(values) : bean;
+            } catch (IOException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+
+        private static Constructor<?> noArgConstructor(Class<?> type) {
+            try {
+                return type.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        private static Constructor<?> namedConstructor(Class<?> type) {
+            Constructor<?> best = null;
+            for (Constructor<?> c : type.getDeclaredConstructors()) {
+                if (c.getParameterCount() == 0 || !c.getParameters()[0].isNamePresent()) continue;
+                if (best == null || c.getParameterCount() > best.getParameterCount()) best = c;
+            }
+            if (best == null) {
+                throw new IllegalStateException("ni constructeur sans argument, ni noms de paramètres (compiler avec -parameters)");
+            }
+            return best;
+        }
+    }
+
+    // type résolu (sans variable de type) : clé des caches
+    private static final class TypeRef {
+        final Class<?> raw;
+        final TypeRef[] args;
+        final TypeRef component;
+
+        TypeRef(Class<?> raw, TypeRef... args) {
+            this.raw = raw;
+            this.args = raw.isArray() ? new TypeRef[0] : args;
+            this.component = raw.isArray() ? args[0] : null;
+        }
+
+        TypeRef arg(int i) {
+            return i < args.length ? args[i] : new TypeRef(Object.class);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TypeRef t && raw == t.raw && Arrays.equals(args, t.args)
+                    && (component == null ? t.component == null : component.equals(t.component));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * raw.hashCode() + Arrays.hashCode(args) + (component != null ? component.hashCode() : 0);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.framework.json;
+
+import com.framework.exception.BadRequestException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lecture JSON en flux (pull) : le document est parcouru jeton par jeton,
+ * sans arbre intermédiaire ; {@link #readValue()} construit Map/List si besoin.
+ * Toute erreur de syntaxe lève BadRequestException (400, sans trace de pile) avec la position.
+ */
+public class JsonReader implements Closeable {
+
+    public enum Token { BEGIN_ARRAY, END_ARRAY, BEGIN_OBJECT, END_OBJECT, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT }
+
+    private static final int MAX_DEPTH = 512;
+
+    // état de chaque niveau d'imbrication
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private final Reader in;
+    private final char[] buffer = new char[4096];
+    private int pos;
+    private int limit;
+    private long offset; // caractères consommés avant buffer[0]
+
+    private int[] stack = new int[16];
+    private int depth = 1;
+
+    private Token peeked;
+    private String value; // texte du jeton NAME, STRING, NUMBER ou BOOLEAN en attente
+    private final StringBuilder text = new StringBuilder();
+
+    public JsonReader(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    public JsonReader(Reader in) {
+        this.in = in;
+        stack[0] = EMPTY_DOCUMENT;
+    }
+
+    public Token peek() throws IOException {
+        if (peeked != null) return peeked;
+        int scope = stack[depth - 1];
+        int c;
+        switch (scope) {
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                c = nextNonWhitespace();
+                return peeked = c == -1 ? Token.END_DOCUMENT : readValueToken(c); // document vide
+            case NONEMPTY_DOCUMENT:
+                if (nextNonWhitespace() != -1) throw syntax("données après la fin du document");
+                return peeked = Token.END_DOCUMENT;
+            case EMPTY_ARRAY:
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                return peeked = c == ']' ? Token.END_ARRAY : readValueToken(c);
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') return peeked = Token.END_ARRAY;
+                if (c != ',') throw syntax("',' ou ']' attendu");
+                return peeked = readValueToken(nextNonWhitespace());
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') return peeked = Token.END_OBJECT;
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') throw syntax("',' ou '}' attendu");
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') throw syntax("nom de propriété attendu");
+                value = readString();
+                stack[depth - 1] = DANGLING_NAME;
+                return peeked = Token.NAME;
+            case DANGLING_NAME:
+                if (nextNonWhitespace() != ':') throw syntax("':' attendu");
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                return peeked = readValueToken(nextNonWhitespace());
+            default:
+                throw new IllegalStateException("État inconnu : " + scope);
+        }
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        depth--;
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        depth--;
+    }
+
+    /** Encore un élément (ou une propriété) avant la fin du tableau, de l'objet ou du document. */
+    public boolean hasNext() throws IOException {
+        Token t = peek();
+        return t != Token.END_ARRAY && t != Token.END_OBJECT && t != Token.END_DOCUMENT;
+    }
+
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+        return value;
+    }
+
+    /** Chaîne ; un nombre ou un booléen est aussi accepté, sous sa forme texte. */
+    public String nextString() throws IOException {
+        Token t = peek();
+        if (t != Token.STRING && t != Token.NUMBER && t != Token.BOOLEAN) throw unexpected(Token.STRING);
+        peeked = null;
+        return value;
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        return "true".equals(value);
+    }
+
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+    }
+
+    public long nextLong() throws IOException {
+        String number = numberText();
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            double d = parseDouble(number);
+            if (d != (long) d) throw syntax("entier attendu : " + number);
+            return (long) d;
+        }
+    }
+
+    public int nextInt() throws IOException {
+        long l = nextLong();
+        if (l != (int) l) throw syntax("entier hors limites : " + l);
+        return (int) l;
+    }
+
+    public double nextDouble() throws IOException {
+        return parseDouble(numberText());
+    }
+
+    /** Texte brut du nombre en attente (pour BigDecimal/BigInteger). */
+    public String nextNumber() throws IOException {
+        return numberText();
+    }
+
+    public void skipValue() throws IOException {
+        int nested = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_ARRAY: beginArray(); nested++; break;
+                case BEGIN_OBJECT: beginObject(); nested++; break;
+                case END_ARRAY: endArray(); nested--; break;
+                case END_OBJECT: endObject(); nested--; break;
+                case END_DOCUMENT: throw syntax("fin de document inattendue");
+                default: peeked = null; // NAME, valeur simple
+            }
+        } while (nested > 0);
+    }
+
+    /** Valeur suivante en objets Java : LinkedHashMap, ArrayList, String, Long/Double, Boolean ou null. */
+    public Object readValue() throws IOException {
+        switch (peek()) {
+            case BEGIN_OBJECT:
+                Map<String, Object> map = new LinkedHashMap<>();
+                beginObject();
+                while (hasNext()) {
+                    String name = nextName();
+                    map.put(name, readValue());
+                }
+                endObject();
+                return map;
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                beginArray();
+                while (hasNext()) list.add(readValue());
+                endArray();
+                return list;
+            case STRING:
+                return nextString();
+            case NUMBER:
+                String number = numberText();
+                if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+                    try {
+                        return Long.parseLong(number);
+                    } catch (NumberFormatException ignored) {
+                        // au-delà de long : double
+                    }
+                }
+                return parseDouble(number);
+            case BOOLEAN:
+                return nextBoolean();
+            case NULL:
+                nextNull();
+                return null;
+            default:
+                throw unexpected(null);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void expect(Token token) throws IOException {
+        if (peek() != token) throw unexpected(token);
+        peeked = null;
+    }
+
+    private String numberText() throws IOException {
+        Token t = peek();
+        if (t != Token.NUMBER && t != Token.STRING) throw unexpected(Token.NUMBER);
+        peeked = null;
+        return value;
+    }
+
+    private double parseDouble(String number) {
+        try {
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            throw syntax("nombre invalide : " + number);
+        }
+    }
+
+    private void push(int scope) {
+        if (depth == MAX_DEPTH) throw syntax("imbrication trop profonde");
+        if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+        stack[depth++] = scope;
+    }
+
+    private Token readValueToken(int c) throws IOException {
+        switch (c) {
+            case '{': return Token.BEGIN_OBJECT;
+            case '[': return Token.BEGIN_ARRAY;
+            case '"':
+                value = readString();
+                return Token.STRING;
+            case 't':
+                literal("rue");
+                value = "true";
+                return Token.BOOLEAN;
+            case 'f':
+                literal("alse");
+                value = "false";
+                return Token.BOOLEAN;
+            case 'n':
+                literal("ull");
+                value = null;
+                return Token.NULL;
+            case -1:
+                throw syntax("fin de document inattendue");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    value = readNumber((char) c);
+                    return Token.NUMBER;
+                }
+                throw syntax("caractère inattendu '" + (char) c + "'");
+        }
+    }
+
+    private void literal(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) throw syntax("littéral invalide");
+        }
+    }
+
+    private String readNumber(char first) throws IOException {
+        text.setLength(0);
+        text.append(first);
+        for (;;) {
+            if (pos == limit && !fill()) break;
+            char c = buffer[pos];
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                text.append(c);
+                pos++;
+            } else {
+                break;
+            }
+        }
+        return text.toString();
+    }
+
+    private String readString() throws IOException {
+        text.setLength(0);
+        for (;;) {
+            // copie par blocs jusqu'au prochain guillemet ou échappement
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos];
+                if (c == '"' || c == '\\') break;
+                if (c < 0x20) throw syntax("caractère de contrôle dans une chaîne");
+                pos++;
+            }
+            text.append(buffer, start, pos - start);
+            if (pos == limit) {
+                if (!fill()) throw syntax("chaîne non terminée");
+                continue;
+            }
+            char c = buffer[pos++];
+            if (c == '"') return text.toString();
+            int e = read();
+            switch (e) {
+                case '"': text.append('"'); break;
+                case '\\': text.append('\\'); break;
+                case '/': text.append('/'); break;
+                case 'b': text.append('\b'); break;
+                case 'f': text.append('\f'); break;
+                case 'n': text.append('\n'); break;
+                case 'r': text.append('\r'); break;
+                case 't': text.append('\t'); break;
+                case 'u':
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int h = Character.digit(read(), 16);
+                        if (h < 0) throw syntax("échappement \\u invalide");
+                        code = (code << 4) | h;
+                    }
+                    text.append((char) code);
+                    break;
+                default:
+                    throw syntax("échappement invalide");
+            }
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        for (;;) {
+            if (pos == limit && !fill()) return -1;
+            char c = buffer[pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+        }
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buffer[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        offset += limit;
+        pos = 0;
+        limit = 0;
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) return false;
+        limit = n;
+        return true;
+    }
+
+    private BadRequestException unexpected(Token expected) {
+        return syntax((expected != null ? expected + " attendu, " : "") + peeked + " trouvé");
+    }
+
+    private BadRequestException syntax(String message) {
+        return new BadRequestException("JSON invalide : " + message + " (position " + (offset + pos) + ")");
+    }
+}
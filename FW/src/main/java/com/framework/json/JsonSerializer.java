@@ -0,0 +1,168 @@
+package com.framework.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.BaseStream;
+
+/**
+ * Sérialisation JSON en flux, en remplacement de l'ancien objectToJson.
+ */
+public final class JsonSerializer {
+    private static final byte[] SUCCESS_PREFIX =
+            "{\"status\":\"success\",\"code\":200,\"data\":".getBytes(StandardCharsets.UTF_8);
+
+    private JsonSerializer() {}
+
+    private static final byte[] ERROR_PREFIX = "{\"status\":\"error\",\"code\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MESSAGE = ",\"message\":".getBytes(StandardCharsets.UTF_8);
+
+    // enveloppe {"status":"success","code":200,"data":...} écrite sans String intermédiaire
+    public static void writeEnvelope(OutputStream out, Object data) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writeEnvelope(writer, data);
+        writer.flush();
+    }
+
+    public static void writeEnvelope(JsonWriter w, Object data) throws IOException {
+        w.writeRaw(SUCCESS_PREFIX);
+        write(w, data);
+        w.writeByte('}');
+    }
+
+    // data est un tableau écrit au fil du producteur, envoyé au client selon flusher
+    public static void writeSequenceEnvelope(OutputStream out, Object items, SequenceFlusher flusher) throws IOException {
+        JsonWriter w = new JsonWriter(out);
+        w.writeRaw(SUCCESS_PREFIX);
+        w.writeByte('[');
+        Iterator<?> it = iterator(items);
+        try {
+            boolean first = true;
+            while (it.hasNext()) {
+                if (!first) w.writeByte(',');
+                write(w, it.next());
+                first = false;
+                flusher.afterItem(w);
+            }
+        } finally {
+            close(items);
+        }
+        w.writeByte(']');
+        w.writeByte('}');
+        w.flush();
+    }
+
+    // NDJSON : un document par ligne, sans enveloppe
+    public static void writeLines(OutputStream out, Object items, SequenceFlusher flusher) throws IOException {
+        JsonWriter w = new JsonWriter(out);
+        Iterator<?> it = iterator(items);
+        try {
+            while (it.hasNext()) {
+                write(w, it.next());
+                w.writeByte('\n');
+                flusher.afterItem(w);
+            }
+        } finally {
+            close(items);
+        }
+        w.flush();
+    }
+
+    // {"status":"error","code":404,"message":"..."}
+    public static void writeError(JsonWriter w, int code, String message) throws IOException {
+        w.writeRaw(ERROR_PREFIX);
+        w.writeNumber(code);
+        w.writeRaw(MESSAGE);
+        if (message != null) w.writeString(message);
+        else w.writeNull();
+        w.writeByte('}');
+    }
+
+    public static void write(JsonWriter w, Object obj) throws IOException {
+        if (obj == null) {
+            w.writeNull();
+        } else if (obj instanceof CharSequence s) {
+            w.writeString(s);
+        } else if (obj instanceof Number n) {
+            w.writeNumber(n);
+        } else if (obj instanceof Boolean b) {
+            w.writeBoolean(b);
+        } else if (obj instanceof Character || obj instanceof Enum) {
+            w.writeString(obj instanceof Enum<?> e ? e.name() : obj.toString());
+        } else if (isSequence(obj)) {
+            Iterator<?> it = iterator(obj);
+            try {
+                w.writeByte('[');
+                boolean first = true;
+                while (it.hasNext()) {
+                    if (!first) w.writeByte(',');
+                    write(w, it.next());
+                    first = false;
+                }
+                w.writeByte(']');
+            } finally {
+                close(obj);
+            }
+        } else if (obj instanceof Map<?, ?> map) {
+            w.writeByte('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) w.writeByte(',');
+                w.writeString(String.valueOf(entry.getKey()));
+                w.writeByte(':');
+                write(w, entry.getValue());
+                first = false;
+            }
+            w.writeByte('}');
+        } else if (obj.getClass().isArray()) {
+            w.writeByte('[');
+            int len = Array.getLength(obj);
+            for (int i = 0; i < len; i++) {
+                if (i > 0) w.writeByte(',');
+                write(w, Array.get(obj, i));
+            }
+            w.writeByte(']');
+        } else if (obj.getClass().getName().startsWith("java.")) {
+            w.writeString(obj.toString()); // dates, UUID... : champs internes non accessibles
+        } else {
+            w.writeByte('{');
+            boolean first = true;
+            for (BeanMetadata.Property property : BeanMetadata.of(obj.getClass()).getProperties()) {
+                if (!first) w.writeByte(',');
+                w.writeRaw(property.getJsonName());
+                write(w, property.get(obj));
+                first = false;
+            }
+            w.writeByte('}');
+        }
+    }
+
+    /** Iterable, Iterator ou Stream : parcouru élément par élément, jamais matérialisé. */
+    public static boolean isSequence(Object obj) {
+        return obj instanceof Iterable || obj instanceof Iterator || obj instanceof BaseStream;
+    }
+
+    public static Iterator<?> iterator(Object sequence) {
+        if (sequence instanceof Iterable<?> items) return items.iterator();
+        if (sequence instanceof BaseStream<?, ?> stream) return stream.iterator();
+        return (Iterator<?>) sequence;
+    }
+
+    // un Stream ou un Iterator ne se parcourt qu'une fois : fermé après écriture (fichier, curseur...)
+    public static void close(Object sequence) throws IOException {
+        if (sequence instanceof BaseStream<?, ?> stream) {
+            stream.close();
+        } else if (sequence instanceof Iterator<?> && sequence instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.framework.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Encodage de la réponse d'une route @Json, choisi sur l'en-tête Accept :
+ * CBOR seulement s'il est explicitement préféré à JSON, JSON sinon. Une séquence
+ * (Stream, Iterator, Iterable) peut aussi partir en NDJSON, une ligne par élément.
+ */
+public enum ResponseFormat {
+    JSON("application/json;charset=UTF-8"),
+    CBOR("application/cbor"),
+    NDJSON("application/x-ndjson");
+
+    private final String contentType;
+
+    ResponseFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void writeEnvelope(OutputStream out, Object data) throws IOException {
+        if (this == CBOR) {
+            CborSerializer.writeEnvelope(out, data);
+        } else if (this == NDJSON) {
+            JsonWriter w = new JsonWriter(out);
+            JsonSerializer.write(w, data);
+            w.writeByte('\n');
+            w.flush();
+        } else {
+            JsonSerializer.writeEnvelope(out, data);
+        }
+    }
+
+    /** Séquence écrite au fil du producteur : tableau data de l'enveloppe, ou lignes NDJSON. */
+    public void writeSequence(OutputStream out, Object items, SequenceFlusher flusher) throws IOException {
+        if (this == CBOR) CborSerializer.writeSequenceEnvelope(out, items, flusher);
+        else if (this == NDJSON) JsonSerializer.writeLines(out, items, flusher);
+        else JsonSerializer.writeSequenceEnvelope(out, items, flusher);
+    }
+
+    public static ResponseFormat negotiate(String accept) {
+        return negotiate(accept, false);
+    }
+
+    /** sequence : le résultat est une séquence, NDJSON est alors possible. */
+    public static ResponseFormat negotiate(String accept, boolean sequence) {
+        // cas courant (navigateur, client JSON) : pas d'analyse de l'en-tête
+        if (accept == null || !(accept.contains("cbor") || sequence && accept.contains("ndjson"))) return JSON;
+        double json = -1, cbor = -1, ndjson = -1, wildcard = -1;
+        for (String range : accept.split(",")) {
+            int semicolon = range.indexOf(';');
+            String type = (semicolon < 0 ? range : range.substring(0, semicolon)).trim().toLowerCase();
+            double q = semicolon < 0 ? 1 : quality(range.substring(semicolon + 1));
+            switch (type) {
+                case "application/json": json = Math.max(json, q); break;
+                case "application/cbor": cbor = Math.max(cbor, q); break;
+                case "application/x-ndjson": ndjson = Math.max(ndjson, q); break;
+                case "application/*":
+                case "*/*": wildcard = Math.max(wildcard, q); break;
+                default: break;
+            }
+        }
+        if (json < 0) json = wildcard;
+        if (sequence && ndjson > 0 && ndjson > json && ndjson >= cbor) return NDJSON;
+        return cbor > 0 && cbor > json ? CBOR : JSON;
+    }
+
+    private static double quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String p = parameter.trim();
+            if (p.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(p.substring(2));
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+}
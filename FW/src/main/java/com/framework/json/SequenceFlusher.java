@@ -0,0 +1,34 @@
+package com.framework.json;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Vidage périodique d'une séquence écrite en flux : après un élément, le tampon du writer
+ * puis la réponse sont envoyés si l'intervalle est écoulé depuis le dernier envoi. Le premier
+ * élément part aussitôt ; un producteur rapide n'est pas ralenti par un flush par élément.
+ */
+public final class SequenceFlusher {
+    private final Flushable target;
+    private final long intervalNanos;
+    private long last;
+
+    /**
+     * target : typiquement HttpServletResponse::flushBuffer ; intervalNanos = 0 : après chaque
+     * élément, négatif : jamais (séquence déjà en mémoire, seul le tampon plein part).
+     */
+    public SequenceFlusher(Flushable target, long intervalNanos) {
+        this.target = target;
+        this.intervalNanos = intervalNanos;
+        this.last = System.nanoTime() - intervalNanos;
+    }
+
+    void afterItem(Flushable writer) throws IOException {
+        if (intervalNanos < 0) return;
+        long now = System.nanoTime();
+        if (now - last < intervalNanos) return;
+        last = now;
+        writer.flush();
+        target.flush();
+    }
+}
@@ -0,0 +1,36 @@
+package com.framework.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sous forme GCRA : un seul long (instant théorique de la prochaine
+ * requête) mis à jour par CAS, sans verrou ni thread de remplissage.
+ */
+public final class RateLimiter {
+    private final long interval;   // ns par jeton
+    private final long tolerance;  // avance admise sur le débit : (burst - 1) jetons
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+
+    public RateLimiter(double permitsPerSecond, int burst) {
+        this.interval = Math.max(1, (long) (1e9 / permitsPerSecond));
+        this.tolerance = (burst - 1) * interval;
+    }
+
+    /** @return 0 si la requête est admise, sinon le délai (ns) avant qu'un jeton soit disponible */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = tat - now > 0 ? tat : now;
+            long ahead = base - now;
+            if (ahead > tolerance) return ahead - tolerance;
+            if (theoreticalArrival.compareAndSet(tat, base + interval)) return 0;
+        }
+    }
+
+    /** Délai (ns) avant le prochain jeton, sans le consommer. */
+    public long delay() {
+        long ahead = theoreticalArrival.get() - System.nanoTime();
+        return Math.max(0, ahead - tolerance);
+    }
+}
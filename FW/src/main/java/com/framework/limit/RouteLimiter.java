@@ -0,0 +1,97 @@
+package com.framework.limit;
+
+import com.framework.annotation.ConcurrencyLimit;
+import com.framework.annotation.RateLimit;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contrôle d'admission d'une route (@RateLimit, @ConcurrencyLimit), construit au scan.
+ * Chemin rapide sans verrou : CAS sur le seau à jetons, tryAcquire non bloquant du sémaphore.
+ * Seules les requêtes admises dans la file (bornée) attendent, au plus maxWaitMillis.
+ */
+public final class RouteLimiter {
+    public static final int ADMITTED = 0;
+    public static final int TOO_MANY_REQUESTS = 429;
+    public static final int OVERLOADED = 503;
+
+    private final RateLimiter rate;         // null : pas de @RateLimit
+    private final Semaphore permits;        // null : pas de @ConcurrencyLimit
+    private final int queue;
+    private final long maxWaitNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private RouteLimiter(RateLimiter rate, Semaphore permits, int queue, long maxWaitNanos) {
+        this.rate = rate;
+        this.permits = permits;
+        this.queue = queue;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /** @return null si la route n'a aucune limite */
+    public static RouteLimiter of(Method method, String url) {
+        RateLimit rl = method.isAnnotationPresent(RateLimit.class)
+                ? method.getAnnotation(RateLimit.class) : method.getDeclaringClass().getAnnotation(RateLimit.class);
+        ConcurrencyLimit cl = method.isAnnotationPresent(ConcurrencyLimit.class)
+                ? method.getAnnotation(ConcurrencyLimit.class) : method.getDeclaringClass().getAnnotation(ConcurrencyLimit.class);
+        if (rl == null && cl == null) return null;
+
+        String where = " (" + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ", " + url + ")";
+        RateLimiter rate = null;
+        if (rl != null) {
+            if (!(rl.value() > 0) || rl.burst() < 0) throw new IllegalStateException("@RateLimit : débit > 0 et burst >= 0 requis" + where);
+            rate = new RateLimiter(rl.value(), rl.burst() > 0 ? rl.burst() : (int) Math.max(1, Math.ceil(rl.value())));
+        }
+        Semaphore permits = null;
+        int queue = 0;
+        long maxWait = 0;
+        if (cl != null) {
+            if (cl.value() <= 0 || cl.queue() < 0 || cl.maxWaitMillis() < 0) {
+                throw new IllegalStateException("@ConcurrencyLimit : value > 0, queue >= 0 et maxWaitMillis >= 0 requis" + where);
+            }
+            permits = new Semaphore(cl.value());
+            queue = cl.queue();
+            maxWait = TimeUnit.MILLISECONDS.toNanos(cl.maxWaitMillis());
+        }
+        return new RouteLimiter(rate, permits, queue, maxWait);
+    }
+
+    /**
+     * @return ADMITTED (appeler ensuite {@link #release}), TOO_MANY_REQUESTS ou OVERLOADED
+     */
+    public int acquire() {
+        if (rate != null && rate.tryAcquire() != 0) return TOO_MANY_REQUESTS;
+        if (permits == null || permits.tryAcquire()) return ADMITTED;
+        if (queue == 0 || maxWaitNanos == 0) return OVERLOADED;
+
+        // file bornée : au-delà de queue requêtes en attente, refus immédiat
+        if (waiting.incrementAndGet() > queue) {
+            waiting.decrementAndGet();
+            return OVERLOADED;
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS) ? ADMITTED : OVERLOADED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return OVERLOADED;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        if (permits != null) permits.release();
+    }
+
+    /** Valeur de Retry-After (secondes, arrondie au-dessus) après un refus. */
+    public long retryAfterSeconds(int status) {
+        if (status == TOO_MANY_REQUESTS && rate != null) {
+            long wait = rate.delay();
+            return Math.max(1, (wait + 999_999_999L) / 1_000_000_000L);
+        }
+        return 1;
+    }
+}
@@ -1,5 +1,15 @@
 package com.framework.mapping;
 
+import com.framework.annotation.Async;
+import com.framework.annotation.EventStream;
+import com.framework.annotation.Json;
+import com.framework.annotation.Scope;
+import com.framework.binding.ParamBinder;
+import com.framework.binding.ParamBinders;
+import com.framework.cache.ResponseCache;
+import com.framework.limit.RouteLimiter;
+import com.framework.metrics.RouteMetrics;
+
 import java.lang.reflect.Method;
 
 public class AnnotationStore {
@@ -7,16 +17,69 @@ public class AnnotationStore {
     private final Method method;
     private final String url;
     private final String httpMethod;
+    private final RouteInvoker invoker;
+    private final ControllerProvider provider;
+    private final ParamBinder[] binders;
+    private final boolean json;
+    private final boolean async;
+    private final boolean eventStream;
+    private final RouteMetrics metrics;
+    private final ResponseCache cache; // null si la route n'est pas @Cacheable
+    private final RouteLimiter limiter; // null sans @RateLimit ni @ConcurrencyLimit
+    private final ExceptionHandlers exceptionHandlers;
 
     public AnnotationStore(Class<?> controllerClass, Method method, String url, String httpMethod) {
+        this(controllerClass, method, url, httpMethod, RouteInvoker.of(method),
+             perRequest(controllerClass), ParamBinders.plan(method, url));
+    }
+
+    public AnnotationStore(Class<?> controllerClass, Method method, String url, String httpMethod,
+                           RouteInvoker invoker, ControllerProvider provider, ParamBinder[] binders) {
+        this(controllerClass, method, url, httpMethod, invoker, provider, binders, ExceptionHandlers.NONE);
+    }
+
+    public AnnotationStore(Class<?> controllerClass, Method method, String url, String httpMethod,
+                           RouteInvoker invoker, ControllerProvider provider, ParamBinder[] binders,
+                           ExceptionHandlers exceptionHandlers) {
         this.controllerClass = controllerClass;
         this.method = method;
         this.url = url;
         this.httpMethod = httpMethod;
+        this.invoker = invoker;
+        this.provider = provider;
+        this.binders = binders;
+        this.json = method.isAnnotationPresent(Json.class);
+        this.async = method.isAnnotationPresent(Async.class);
+        this.eventStream = method.isAnnotationPresent(EventStream.class);
+        this.metrics = new RouteMetrics(httpMethod, url);
+        this.cache = ResponseCache.of(method, httpMethod, url);
+        this.limiter = RouteLimiter.of(method, url);
+        this.exceptionHandlers = exceptionHandlers;
+    }
+
+    // un controller par requête : rien n'est instancié ici, seul le constructeur est résolu
+    private static ControllerProvider perRequest(Class<?> controllerClass) {
+        try {
+            return ControllerProvider.of(controllerClass, Scope.REQUEST, 0);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Constructeur sans argument introuvable ou inaccessible : " + controllerClass.getName(), e);
+        }
     }
 
     public Class<?> getControllerClass() { return controllerClass; }
     public Method getMethod() { return method; }
     public String getUrl() { return url; }
     public String getHttpMethod() { return httpMethod; }
-}
\ No newline at end of file
+    public RouteInvoker getInvoker() { return invoker; }
+    public ControllerProvider getProvider() { return provider; }
+    public ParamBinder[] getBinders() { return binders; }
+    public boolean isJson() { return json; }
+    public boolean isAsync() { return async; }
+    public boolean isEventStream() { return eventStream; }
+    public RouteMetrics getMetrics() { return metrics; }
+    public ResponseCache getCache() { return cache; }
+    public RouteLimiter getLimiter() { return limiter; }
+    public ExceptionHandlers getExceptionHandlers() { return exceptionHandlers; }
+}
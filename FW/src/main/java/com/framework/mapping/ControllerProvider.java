@@ -0,0 +1,115 @@
+package com.framework.mapping;
+
+import com.framework.annotation.Scope;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fournit les instances de controller selon le {@link Scope} déclaré.
+ * Un seul provider par classe de controller, partagé par toutes ses routes.
+ */
+public abstract class ControllerProvider {
+
+    public abstract Object acquire() throws Exception;
+
+    public void release(Object controller) {}
+
+    public static ControllerProvider of(Class<?> controllerClass, Scope scope, int poolSize) throws Exception {
+        MethodHandle constructor = constructor(controllerClass);
+        switch (scope) {
+            case SINGLETON:
+                return new Singleton(newInstance(constructor));
+            case POOLED:
+                return new Pooled(constructor, poolSize);
+            default:
+                return new PerRequest(constructor);
+        }
+    }
+
+    private static MethodHandle constructor(Class<?> controllerClass) throws ReflectiveOperationException {
+        Constructor<?> ctor = controllerClass.getDeclaredConstructor();
+        ctor.setAccessible(true);
+        return MethodHandles.lookup().unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+    }
+
+    private static Object newInstance(MethodHandle constructor) throws Exception {
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    private static final class Singleton extends ControllerProvider {
+        private final Object instance;
+
+        Singleton(Object instance) { this.instance = instance; }
+
+        @Override
+        public Object acquire() { return instance; }
+    }
+
+    private static final class PerRequest extends ControllerProvider {
+        private final MethodHandle constructor;
+
+        PerRequest(MethodHandle constructor) { this.constructor = constructor; }
+
+        @Override
+        public Object acquire() throws Exception { return newInstance(constructor); }
+    }
+
+    /**
+     * Pool borné sans verrou : des cases indépendantes prises/rendues par getAndSet/CAS.
+     * Chaque thread commence sa recherche à une case différente pour limiter la contention.
+     * Pool vide : on crée une instance ; pool plein au retour : l'instance est abandonnée.
+     */
+    private static final class Pooled extends ControllerProvider {
+        private final MethodHandle constructor;
+        private final AtomicReferenceArray<Object> slots;
+        private final int mask;
+
+        Pooled(MethodHandle constructor, int poolSize) throws Exception {
+            this.constructor = constructor;
+            int size = Integer.highestOneBit(Math.max(1, poolSize - 1)) << 1;
+            this.slots = new AtomicReferenceArray<>(size);
+            this.mask = size - 1;
+            for (int i = 0; i < poolSize; i++) {
+                slots.set(i, newInstance(constructor));
+            }
+        }
+
+        @Override
+        public Object acquire() throws Exception {
+            int start = probe();
+            for (int i = 0; i <= mask; i++) {
+                int idx = (start + i) & mask;
+                if (slots.get(idx) != null) {
+                    Object instance = slots.getAndSet(idx, null);
+                    if (instance != null) return instance;
+                }
+            }
+            return newInstance(constructor);
+        }
+
+        @Override
+        public void release(Object controller) {
+            int start = probe();
+            for (int i = 0; i <= mask; i++) {
+                int idx = (start + i) & mask;
+                if (slots.get(idx) == null && slots.compareAndSet(idx, null, controller)) return;
+            }
+        }
+
+        private static int probe() {
+            long id = Thread.currentThread().getId();
+            return (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        }
+    }
+}
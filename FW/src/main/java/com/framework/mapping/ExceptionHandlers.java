@@ -0,0 +1,139 @@
+package com.framework.mapping;
+
+import com.framework.annotation.ExceptionHandler;
+import com.framework.annotation.Json;
+import com.framework.exception.FrameworkException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Méthodes @ExceptionHandler d'un controller, lues au scan. Le gestionnaire d'un type
+ * d'exception concret (le plus proche dans la hiérarchie) n'est cherché qu'une fois,
+ * puis gardé par ClassValue : une erreur ne coûte ensuite qu'une lecture.
+ */
+public final class ExceptionHandlers {
+    public static final ExceptionHandlers NONE = new ExceptionHandlers(Map.of());
+
+    private static final int EXCEPTION = 0;
+    private static final int REQUEST = 1;
+    private static final int RESPONSE = 2;
+
+    private final Map<Class<?>, Handler> declared;
+    private final ClassValue<Handler> resolved = new ClassValue<>() {
+        @Override
+        protected Handler computeValue(Class<?> type) {
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                Handler handler = declared.get(c);
+                if (handler != null) return handler;
+            }
+            return null;
+        }
+    };
+
+    private ExceptionHandlers(Map<Class<?>, Handler> declared) {
+        this.declared = declared;
+    }
+
+    public static ExceptionHandlers of(Class<?> controllerClass) {
+        Map<Class<?>, Handler> declared = new HashMap<>();
+        for (Method method : controllerClass.getDeclaredMethods()) {
+            ExceptionHandler annotation = method.getAnnotation(ExceptionHandler.class);
+            if (annotation == null) continue;
+            String where = controllerClass.getSimpleName() + "." + method.getName() + "()";
+
+            Class<?> parameterType = null;
+            Class<?>[] types = method.getParameterTypes();
+            int[] kinds = new int[types.length];
+            for (int i = 0; i < types.length; i++) {
+                if (Throwable.class.isAssignableFrom(types[i])) {
+                    kinds[i] = EXCEPTION;
+                    parameterType = types[i];
+                } else if (types[i] == HttpServletRequest.class) {
+                    kinds[i] = REQUEST;
+                } else if (types[i] == HttpServletResponse.class) {
+                    kinds[i] = RESPONSE;
+                } else {
+                    throw new IllegalStateException("@ExceptionHandler : paramètre " + types[i].getSimpleName()
+                            + " non supporté (exception, HttpServletRequest, HttpServletResponse) : " + where);
+                }
+            }
+            Class<?>[] handled = annotation.value().length > 0 ? annotation.value()
+                    : parameterType != null ? new Class<?>[]{parameterType} : null;
+            if (handled == null) {
+                throw new IllegalStateException("@ExceptionHandler sans type d'exception (ni value, ni paramètre) : " + where);
+            }
+            int status = annotation.status();
+            if (status != 0 && (status < 100 || status > 599)) {
+                throw new IllegalStateException("@ExceptionHandler : statut invalide " + status + " : " + where);
+            }
+
+            Handler handler = new Handler(RouteInvoker.of(method), kinds, status,
+                    method.isAnnotationPresent(Json.class), Modifier.isStatic(method.getModifiers()));
+            for (Class<?> type : handled) {
+                if (parameterType != null && !parameterType.isAssignableFrom(type)) {
+                    throw new IllegalStateException("@ExceptionHandler : " + type.getSimpleName() + " n'est pas un "
+                            + parameterType.getSimpleName() + " : " + where);
+                }
+                Handler previous = declared.put(type, handler);
+                if (previous != null) {
+                    throw new IllegalStateException("Deux @ExceptionHandler pour " + type.getSimpleName()
+                            + " dans " + controllerClass.getSimpleName());
+                }
+            }
+        }
+        return declared.isEmpty() ? NONE : new ExceptionHandlers(declared);
+    }
+
+    /** @return le gestionnaire du type de l'exception, ou null */
+    public Handler find(Throwable e) {
+        return declared.isEmpty() ? null : resolved.get(e.getClass());
+    }
+
+    public static final class Handler {
+        private final RouteInvoker invoker;
+        private final int[] kinds;
+        private final int status;
+        private final boolean json;
+        private final boolean isStatic;
+
+        Handler(RouteInvoker invoker, int[] kinds, int status, boolean json, boolean isStatic) {
+            this.invoker = invoker;
+            this.kinds = kinds;
+            this.status = status;
+            this.json = json;
+            this.isStatic = isStatic;
+        }
+
+        public Object invoke(Object controller, Throwable e, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+            Object[] args = new Object[kinds.length];
+            for (int i = 0; i < kinds.length; i++) {
+                args[i] = kinds[i] == EXCEPTION ? e : kinds[i] == REQUEST ? req : resp;
+            }
+            return invoker.invoke(controller, args);
+        }
+
+        public int getStatus(Throwable e) {
+            if (status != 0) return status;
+            return e instanceof FrameworkException fe ? fe.getStatus() : 500;
+        }
+
+        /** Résultat en JSON même si la route ne l'est pas. */
+        public boolean isJson() { return json; }
+
+        /** Prend HttpServletRequest ou HttpServletResponse (exclu des sous-requêtes batch). */
+        public boolean usesServletObjects() {
+            for (int kind : kinds) {
+                if (kind != EXCEPTION) return true;
+            }
+            return false;
+        }
+
+        /** Appelable sans instance de controller (échec de création du controller). */
+        public boolean isStatic() { return isStatic; }
+    }
+}
@@ -1,53 +1,103 @@
 package com.framework.mapping;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
 
+/**
+ * Table des routes. Chaque modification construit un nouvel instantané (map + arbre)
+ * publié d'un coup : la lecture (match) n'est qu'une lecture volatile, sans verrou,
+ * et une requête en cours garde l'instantané qu'elle a lu. Les écritures, rares
+ * (scan, enregistrement à chaud, rechargement), sont sérialisées.
+ */
 public class MappingStore {
-    private final Map<String, AnnotationStore> mappings = new HashMap<>();
-    private final List<AnnotationStore> dynamicMappings = new ArrayList<>();
+    private static final Logger LOG = Logger.getLogger("com.framework.routes");
 
-    public void addMapping(String key, AnnotationStore store) {
-        if (key.contains("{") && key.contains("}")) {
-            dynamicMappings.add(store);
-        } else {
-            mappings.put(key, store);
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap());
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private static final class Snapshot {
+        final Map<String, AnnotationStore> mappings;
+        final RouteTrie trie = new RouteTrie();
+
+        Snapshot(Map<String, AnnotationStore> mappings) {
+            this.mappings = Collections.unmodifiableMap(mappings);
+            mappings.values().forEach(trie::add);
         }
     }
 
-    public AnnotationStore findMapping(String requestPath, String httpMethod) {
-        String exactKey = httpMethod + ":" + requestPath;
-        if (mappings.containsKey(exactKey)) {
-            return mappings.get(exactKey);
-        }
+    public void addMapping(String key, AnnotationStore store) {
+        addMappings(Map.of(key, store));
+    }
 
-        for (AnnotationStore store : dynamicMappings) {
-            if (store.getHttpMethod().equals(httpMethod) && urlsMatch(requestPath, store.getUrl())) {
-                return store;
+    /** Ajoute des routes ; une clé déjà prise est remplacée (la dernière l'emporte), avec un avertissement. */
+    public synchronized void addMappings(Map<String, AnnotationStore> routes) {
+        Map<String, AnnotationStore> next = new LinkedHashMap<>(snapshot.mappings);
+        routes.forEach((key, route) -> {
+            AnnotationStore previous = next.put(key, route);
+            if (previous != null && previous != route) {
+                LOG.warning("Route " + key + " remplacée : " + describe(previous) + " → " + describe(route));
             }
-        }
-        return null;
+        });
+        publish(next);
     }
 
-    private boolean urlsMatch(String requestPath, String pattern) {
-        String[] req = requestPath.split("/");
-        String[] pat = pattern.split("/");
+    /**
+     * Remplace toutes les routes d'un controller (par nom de classe : une classe rechargée
+     * vient d'un autre ClassLoader) par celles fournies, en une seule publication.
+     * Une clé déjà prise par un autre controller est refusée : un rechargement à chaud ne
+     * détourne pas une route existante.
+     */
+    public synchronized void replaceController(String className, Map<String, AnnotationStore> routes) {
+        Map<String, AnnotationStore> next = new LinkedHashMap<>(snapshot.mappings);
+        next.values().removeIf(route -> route.getControllerClass().getName().equals(className));
+        putAll(next, routes);
+        publish(next);
+    }
 
-        if (req.length != pat.length) return false;
+    /** @return false si le controller n'avait aucune route */
+    public synchronized boolean removeController(String className) {
+        Map<String, AnnotationStore> next = new LinkedHashMap<>(snapshot.mappings);
+        if (!next.values().removeIf(route -> route.getControllerClass().getName().equals(className))) return false;
+        publish(next);
+        return true;
+    }
 
-        for (int i = 0; i < req.length; i++) {
-            if (pat[i].startsWith("{") && pat[i].endsWith("}")) {
-                continue; // paramètre dynamique
-            }
-            if (!pat[i].equals(req[i])) {
-                return false;
+    /** Appelé (dans le thread qui modifie) après chaque changement de la table. */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    private static void putAll(Map<String, AnnotationStore> target, Map<String, AnnotationStore> routes) {
+        routes.forEach((key, route) -> {
+            AnnotationStore previous = target.get(key);
+            if (previous != null && !previous.getControllerClass().getName().equals(route.getControllerClass().getName())) {
+                throw new IllegalStateException("Route " + key + " déjà déclarée par " + describe(previous));
             }
-        }
-        return true;
+            target.put(key, route);
+        });
+    }
+
+    private static String describe(AnnotationStore route) {
+        return route.getControllerClass().getSimpleName() + "." + route.getMethod().getName() + "()";
+    }
+
+    private void publish(Map<String, AnnotationStore> mappings) {
+        snapshot = new Snapshot(mappings);
+        for (Runnable listener : listeners) listener.run();
+    }
+
+    public AnnotationStore findMapping(String requestPath, String httpMethod) {
+        RouteMatch match = snapshot.trie.match(requestPath, httpMethod);
+        return match != null ? match.getStore() : null;
+    }
+
+    public RouteMatch match(String requestPath, String httpMethod) {
+        return snapshot.trie.match(requestPath, httpMethod);
     }
 
+    /** Instantané courant, non modifiable. */
     public Map<String, AnnotationStore> getAllMappings() {
-        Map<String, AnnotationStore> all = new HashMap<>(mappings);
-        dynamicMappings.forEach(store -> all.put(store.getHttpMethod() + ":" + store.getUrl(), store));
-        return all;
+        return snapshot.mappings;
     }
-} 
\ No newline at end of file
+}
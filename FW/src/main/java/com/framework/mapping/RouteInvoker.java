@@ -0,0 +1,48 @@
+package com.framework.mapping;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Invocation précompilée d'une méthode de controller : un MethodHandle
+ * adapté une fois pour toutes à la forme (Object, Object[]) -> Object.
+ * Plus de setAccessible ni de contrôle d'accès à chaque requête, et les
+ * arguments primitifs sont déballés directement par le handle.
+ */
+public final class RouteInvoker {
+    private static final MethodType GENERIC = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final MethodHandle handle;
+
+    private RouteInvoker(MethodHandle handle) {
+        this.handle = handle;
+    }
+
+    public static RouteInvoker of(Method method) {
+        try {
+            method.setAccessible(true);
+            MethodHandle mh = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                mh = MethodHandles.dropArguments(mh, 0, Object.class);
+            }
+            mh = mh.asSpreader(Object[].class, method.getParameterCount());
+            return new RouteInvoker(mh.asType(GENERIC));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Méthode inaccessible : " + method, e);
+        }
+    }
+
+    public Object invoke(Object controller, Object[] args) throws Exception {
+        try {
+            return (Object) handle.invokeExact(controller, args);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.framework.mapping;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Résultat d'une recherche dans le {@link RouteTrie} : la route trouvée
+ * et les variables extraites du chemin, dans l'ordre de l'URL.
+ */
+public class RouteMatch {
+    private final AnnotationStore store;
+    private final String[] names;
+    private final String[] values;
+
+    public RouteMatch(AnnotationStore store, String[] names, String[] values) {
+        this.store = store;
+        this.names = names;
+        this.values = values;
+    }
+
+    public AnnotationStore getStore() { return store; }
+
+    public int getPathVariableCount() { return values.length; }
+
+    public String getPathVariable(int index) {
+        return index < values.length ? values[index] : null;
+    }
+
+    public String getPathVariable(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) return values[i];
+        }
+        return null;
+    }
+
+    public Map<String, String> getPathVariables() {
+        if (values.length == 0) return Collections.emptyMap();
+        Map<String, String> vars = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            vars.put(names[i], values[i]);
+        }
+        return vars;
+    }
+}
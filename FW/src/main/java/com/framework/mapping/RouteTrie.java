@@ -0,0 +1,169 @@
+package com.framework.mapping;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Arbre de segments compilé au scan : une racine par méthode HTTP,
+ * les enfants littéraux sont prioritaires sur l'enfant {param}.
+ * La recherche parcourt le chemin une seule fois, sans split ni substring
+ * (sauf pour les valeurs des variables de la route trouvée).
+ * Deux routes qui ne diffèrent que par le nom de leurs variables ({id} / {name}) aboutissent
+ * au même nœud : la dernière ajoutée l'emporte, avec un avertissement.
+ */
+public class RouteTrie {
+    private static final Logger LOG = Logger.getLogger("com.framework.routes");
+
+    private final Map<String, Node> roots = new HashMap<>();
+    private int maxParams;
+
+    public void add(AnnotationStore store) {
+        Node node = roots.computeIfAbsent(store.getHttpMethod(), m -> new Node());
+        List<String> names = new ArrayList<>();
+        String url = store.getUrl();
+        int end = trimmedEnd(url);
+        if (end > 1) {
+            int start = 1;
+            while (start <= end) {
+                int segEnd = url.indexOf('/', start);
+                if (segEnd < 0 || segEnd > end) segEnd = end;
+                String segment = url.substring(start, segEnd);
+                if (segment.length() > 1 && segment.startsWith("{") && segment.endsWith("}")) {
+                    names.add(segment.substring(1, segment.length() - 1));
+                    if (node.paramChild == null) node.paramChild = new Node();
+                    node = node.paramChild;
+                } else {
+                    node = node.literalChild(segment);
+                }
+                start = segEnd + 1;
+            }
+        }
+        if (node.store != null && node.store != store) {
+            LOG.warning("Routes " + store.getHttpMethod() + " " + node.store.getUrl() + " et " + url + " indiscernables : "
+                    + describe(node.store) + " masquée par " + describe(store));
+        }
+        node.store = store;
+        node.paramNames = names.toArray(new String[0]);
+        node.staticMatch = names.isEmpty() ? new RouteMatch(store, node.paramNames, new String[0]) : null;
+        maxParams = Math.max(maxParams, names.size());
+    }
+
+    public RouteMatch match(String path, String httpMethod) {
+        Node root = roots.get(httpMethod);
+        if (root == null) return null;
+
+        int end = trimmedEnd(path);
+        int[] captures = maxParams == 0 ? null : new int[maxParams * 2];
+        Node found = end <= 1 ? (root.store != null ? root : null) : walk(root, path, 1, end, captures, 0);
+        if (found == null) return null;
+        if (found.staticMatch != null) return found.staticMatch;
+
+        String[] values = new String[found.paramNames.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = path.substring(captures[2 * i], captures[2 * i + 1]);
+        }
+        return new RouteMatch(found.store, found.paramNames, values);
+    }
+
+    private static Node walk(Node node, String path, int start, int end, int[] captures, int depth) {
+        if (start > end) return node.store != null ? node : null;
+
+        // fin du segment courant + hash calculé au passage (même formule que String.hashCode)
+        int segEnd = start;
+        int hash = 0;
+        while (segEnd < end) {
+            char c = path.charAt(segEnd);
+            if (c == '/') break;
+            hash = 31 * hash + c;
+            segEnd++;
+        }
+
+        Node literal = node.findLiteral(path, start, segEnd - start, hash);
+        if (literal != null) {
+            Node found = walk(literal, path, segEnd + 1, end, captures, depth);
+            if (found != null) return found;
+        }
+        if (node.paramChild != null && segEnd > start) {
+            captures[2 * depth] = start;
+            captures[2 * depth + 1] = segEnd;
+            return walk(node.paramChild, path, segEnd + 1, end, captures, depth + 1);
+        }
+        return null;
+    }
+
+    private static String describe(AnnotationStore route) {
+        return route.getControllerClass().getSimpleName() + "." + route.getMethod().getName() + "()";
+    }
+
+    // "/a/b/" et "/a/b" sont équivalents (comme avec split("/"))
+    private static int trimmedEnd(String path) {
+        int end = path.length();
+        while (end > 1 && path.charAt(end - 1) == '/') end--;
+        return end;
+    }
+
+    private static final class Node {
+        // table à adressage ouvert : pas de String créée pour chercher un segment
+        private String[] keys;
+        private Node[] children;
+        private int size;
+        private Node paramChild;
+        private AnnotationStore store;
+        private String[] paramNames;
+        private RouteMatch staticMatch;
+
+        Node literalChild(String segment) {
+            if (keys == null) {
+                keys = new String[4];
+                children = new Node[4];
+            }
+            int mask = keys.length - 1;
+            int i = spread(segment.hashCode()) & mask;
+            while (keys[i] != null) {
+                if (keys[i].equals(segment)) return children[i];
+                i = (i + 1) & mask;
+            }
+            Node child = new Node();
+            keys[i] = segment;
+            children[i] = child;
+            if (++size * 2 > keys.length) resize();
+            return child;
+        }
+
+        Node findLiteral(String path, int offset, int length, int hash) {
+            if (keys == null) return null;
+            int mask = keys.length - 1;
+            int i = spread(hash) & mask;
+            String key;
+            while ((key = keys[i]) != null) {
+                if (key.length() == length && key.hashCode() == hash && path.regionMatches(offset, key, 0, length)) {
+                    return children[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        private void resize() {
+            String[] oldKeys = keys;
+            Node[] oldChildren = children;
+            keys = new String[oldKeys.length * 2];
+            children = new Node[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] == null) continue;
+                int i = spread(oldKeys[j].hashCode()) & mask;
+                while (keys[i] != null) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                children[i] = oldChildren[j];
+            }
+        }
+
+        private static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+}
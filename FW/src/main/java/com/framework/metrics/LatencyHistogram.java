@@ -0,0 +1,81 @@
+package com.framework.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de durées log-linéaire sans verrou : chaque puissance de deux
+ * (en nanosecondes) est coupée en SUB_BUCKETS tranches égales, chaque tranche
+ * étant un LongAdder. De 2^14 ns (~16 µs) à 2^35 ns (~34 s), puis +Inf.
+ */
+public class LatencyHistogram {
+    private static final int MIN_EXPONENT = 14;
+    private static final int MAX_EXPONENT = 35;
+    private static final int SUB_BUCKETS = 2;
+    private static final long[] UPPER_BOUNDS = upperBounds();
+
+    private final LongAdder[] buckets = new LongAdder[UPPER_BOUNDS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+    }
+
+    private static long[] upperBounds() {
+        int count = 1 + (MAX_EXPONENT - MIN_EXPONENT) * SUB_BUCKETS;
+        long[] bounds = new long[count];
+        bounds[0] = 1L << MIN_EXPONENT;
+        int i = 1;
+        for (int e = MIN_EXPONENT; e < MAX_EXPONENT; e++) {
+            long base = 1L << e;
+            for (int s = 1; s <= SUB_BUCKETS; s++) {
+                bounds[i++] = base + base * s / SUB_BUCKETS;
+            }
+        }
+        return bounds;
+    }
+
+    public void record(long nanos) {
+        buckets[indexOf(nanos)].increment();
+        sumNanos.add(nanos);
+    }
+
+    // calcul direct de l'indice à partir de l'exposant, sans recherche
+    static int indexOf(long nanos) {
+        if (nanos <= UPPER_BOUNDS[0]) return 0;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos - 1);
+        if (exponent >= MAX_EXPONENT) return UPPER_BOUNDS.length;
+        long base = 1L << exponent;
+        int sub = (int) (((nanos - 1 - base) * SUB_BUCKETS) >>> exponent);
+        return 1 + (exponent - MIN_EXPONENT) * SUB_BUCKETS + sub;
+    }
+
+    public static long[] getUpperBounds() {
+        return UPPER_BOUNDS.clone();
+    }
+
+    /** Comptes par tranche (non cumulés) ; le dernier élément correspond à +Inf. */
+    public long[] snapshot() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) counts[i] = buckets[i].sum();
+        return counts;
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    /** Borne supérieure (ns) de la tranche contenant le quantile q, ou -1 sans données. */
+    public long quantile(double q) {
+        long[] counts = snapshot();
+        long total = 0;
+        for (long c : counts) total += c;
+        if (total == 0) return -1;
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return i < UPPER_BOUNDS.length ? UPPER_BOUNDS[i] : Long.MAX_VALUE;
+        }
+        return Long.MAX_VALUE;
+    }
+}
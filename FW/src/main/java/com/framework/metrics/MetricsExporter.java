@@ -0,0 +1,121 @@
+package com.framework.metrics;
+
+import com.framework.cache.ResponseCache;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Export des métriques de routes : texte Prometheus (0.0.4) et MXBeans JMX.
+ */
+public final class MetricsExporter {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final Logger LOG = Logger.getLogger("com.framework.metrics");
+
+    private MetricsExporter() {}
+
+    public static void writePrometheus(Collection<RouteMetrics> routes, Writer out) throws IOException {
+        header(out, "framework_requests_total", "counter", "Requêtes traitées par route");
+        for (RouteMetrics m : routes) sample(out, "framework_requests_total", labels(m), m.getRequestCount());
+
+        header(out, "framework_request_errors_total", "counter", "Requêtes terminées en erreur par route");
+        for (RouteMetrics m : routes) sample(out, "framework_request_errors_total", labels(m), m.getErrorCount());
+
+        header(out, "framework_requests_in_flight", "gauge", "Requêtes en cours par route");
+        for (RouteMetrics m : routes) sample(out, "framework_requests_in_flight", labels(m), m.getInFlight());
+
+        header(out, "framework_requests_rejected_total", "counter", "Requêtes refusées par @RateLimit / @ConcurrencyLimit");
+        for (RouteMetrics m : routes) sample(out, "framework_requests_rejected_total", labels(m), m.getRejectedCount());
+
+        header(out, "framework_request_duration_seconds", "histogram", "Durée de traitement par route");
+        long[] bounds = LatencyHistogram.getUpperBounds();
+        for (RouteMetrics m : routes) {
+            String labels = labels(m);
+            long[] counts = m.getDurations().snapshot();
+            long cumulative = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                cumulative += counts[i];
+                sample(out, "framework_request_duration_seconds_bucket",
+                        labels + ",le=\"" + bounds[i] / 1e9 + "\"", cumulative);
+            }
+            cumulative += counts[bounds.length];
+            sample(out, "framework_request_duration_seconds_bucket", labels + ",le=\"+Inf\"", cumulative);
+            out.write("framework_request_duration_seconds_sum{" + labels + "} " + m.getDurations().getSumNanos() / 1e9 + "\n");
+            sample(out, "framework_request_duration_seconds_count", labels, cumulative);
+        }
+    }
+
+    public static void writeCachePrometheus(Collection<ResponseCache> caches, Writer out) throws IOException {
+        if (caches.isEmpty()) return;
+        header(out, "framework_cache_hits_total", "counter", "Réponses servies depuis le cache @Cacheable");
+        for (ResponseCache c : caches) sample(out, "framework_cache_hits_total", labels(c), c.getHitCount());
+
+        header(out, "framework_cache_misses_total", "counter", "Réponses recalculées (absentes, expirées ou non cacheables)");
+        for (ResponseCache c : caches) sample(out, "framework_cache_misses_total", labels(c), c.getMissCount());
+
+        header(out, "framework_cache_evictions_total", "counter", "Entrées évincées (expirées ou au-delà de maxEntries)");
+        for (ResponseCache c : caches) sample(out, "framework_cache_evictions_total", labels(c), c.getEvictionCount());
+
+        header(out, "framework_cache_entries", "gauge", "Entrées actuellement en cache");
+        for (ResponseCache c : caches) sample(out, "framework_cache_entries", labels(c), c.getSize());
+    }
+
+    private static void header(Writer out, String name, String type, String help) throws IOException {
+        out.write("# HELP " + name + " " + help + "\n# TYPE " + name + " " + type + "\n");
+    }
+
+    private static void sample(Writer out, String name, String labels, long value) throws IOException {
+        out.write(name + "{" + labels + "} " + value + "\n");
+    }
+
+    private static String labels(RouteMetrics m) {
+        return "method=\"" + escape(m.getHttpMethod()) + "\",route=\"" + escape(m.getRoute()) + "\"";
+    }
+
+    private static String labels(ResponseCache c) {
+        return "method=\"" + escape(c.getHttpMethod()) + "\",route=\"" + escape(c.getRoute()) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /** Enregistre un MXBean par route ; renvoie les noms, pour {@link #unregister}. */
+    public static List<ObjectName> register(Collection<RouteMetrics> routes, String context) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        List<ObjectName> names = new ArrayList<>();
+        for (RouteMetrics m : routes) {
+            try {
+                ObjectName name = new ObjectName("com.framework:type=RouteMetrics,context="
+                        + ObjectName.quote(context.isEmpty() ? "/" : context)
+                        + ",route=" + ObjectName.quote(m.getHttpMethod() + " " + m.getRoute()));
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(m, name);
+                    names.add(name);
+                }
+            } catch (JMException e) {
+                LOG.warning("Métriques JMX non enregistrées pour " + m.getRoute() + " : " + e.getMessage());
+            }
+        }
+        return names;
+    }
+
+    public static void unregister(List<ObjectName> names) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : names) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.framework.metrics;
+
+import java.util.Locale;
+
+/**
+ * Durées (ns) des phases d'une requête, mesurées par tours successifs : chaque
+ * {@link #lap} attribue à une phase le temps écoulé depuis le tour précédent.
+ * Créée seulement si Server-Timing ou le journal des requêtes lentes est actif.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        ROUTE("route"),            // recherche de la route
+        MULTIPART("multipart"),    // lecture des parts (req.getParts)
+        BIND("bind"),              // conversion des arguments
+        CONTROLLER("controller"),  // appel de la méthode (et attente d'un CompletionStage)
+        RENDER("render");          // JSON, template ou forward JSP
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final String method;
+    private final String path;
+    private final long start = System.nanoTime();
+    private final long[] durations = new long[PHASES.length];
+    private long mark = start;
+
+    public RequestTiming(String method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    public String getMethod() { return method; }
+    public String getPath() { return path; }
+
+    public void lap(Phase phase) {
+        long now = System.nanoTime();
+        durations[phase.ordinal()] += now - mark;
+        mark = now;
+    }
+
+    /** Durée mesurée à l'intérieur d'un tour : exclue du tour en cours. */
+    public void add(Phase phase, long nanos) {
+        durations[phase.ordinal()] += nanos;
+        mark += nanos;
+    }
+
+    public long getDuration(Phase phase) {
+        return durations[phase.ordinal()];
+    }
+
+    public long getElapsed() {
+        return System.nanoTime() - start;
+    }
+
+    /** Valeur de l'en-tête Server-Timing (durées en ms), phases non mesurées omises. */
+    public String toServerTiming() {
+        StringBuilder sb = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            long nanos = durations[phase.ordinal()];
+            if (nanos == 0) continue;
+            sb.append(phase.label).append(";dur=").append(millis(nanos)).append(", ");
+        }
+        return sb.append("total;dur=").append(millis(getElapsed())).toString();
+    }
+
+    /** Détail par phase pour un journal : "route=0.012ms bind=0.200ms ...". */
+    public String toLogFields() {
+        StringBuilder sb = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            long nanos = durations[phase.ordinal()];
+            if (nanos == 0) continue;
+            sb.append(' ').append(phase.label).append('=').append(millis(nanos)).append("ms");
+        }
+        return sb.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+}
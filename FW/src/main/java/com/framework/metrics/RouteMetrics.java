@@ -0,0 +1,75 @@
+package com.framework.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs d'une route, mis à jour sans verrou sur le chemin de la requête.
+ */
+public class RouteMetrics implements RouteMetricsMXBean {
+    private final String httpMethod;
+    private final String route;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyHistogram durations = new LatencyHistogram();
+
+    public RouteMetrics(String httpMethod, String route) {
+        this.httpMethod = httpMethod;
+        this.route = route;
+    }
+
+    /** @return l'instant de début (System.nanoTime), à repasser à {@link #finished} */
+    public long started() {
+        inFlight.increment();
+        return System.nanoTime();
+    }
+
+    public void finished(long startNanos, boolean failed) {
+        durations.record(System.nanoTime() - startNanos);
+        requests.increment();
+        if (failed) errors.increment();
+        inFlight.decrement();
+    }
+
+    /** Requête refusée par le contrôle d'admission (429/503), sans exécution. */
+    public void rejected() {
+        rejected.increment();
+    }
+
+    public String getHttpMethod() { return httpMethod; }
+
+    @Override
+    public String getRoute() { return route; }
+
+    @Override
+    public long getRequestCount() { return requests.sum(); }
+
+    @Override
+    public long getErrorCount() { return errors.sum(); }
+
+    @Override
+    public long getInFlight() { return inFlight.sum(); }
+
+    @Override
+    public long getRejectedCount() { return rejected.sum(); }
+
+    @Override
+    public double getMeanDurationMillis() {
+        long count = requests.sum();
+        return count == 0 ? 0 : durations.getSumNanos() / 1e6 / count;
+    }
+
+    @Override
+    public double getP50DurationMillis() { return quantileMillis(0.50); }
+
+    @Override
+    public double getP99DurationMillis() { return quantileMillis(0.99); }
+
+    private double quantileMillis(double q) {
+        long nanos = durations.quantile(q);
+        return nanos < 0 ? 0 : nanos == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : nanos / 1e6;
+    }
+
+    public LatencyHistogram getDurations() { return durations; }
+}
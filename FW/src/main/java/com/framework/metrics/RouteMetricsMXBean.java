@@ -0,0 +1,15 @@
+package com.framework.metrics;
+
+/**
+ * Vue JMX des métriques d'une route (durées en ms ; p50/p99 = borne de la tranche d'histogramme).
+ */
+public interface RouteMetricsMXBean {
+    String getRoute();
+    long getRequestCount();
+    long getErrorCount();
+    long getInFlight();
+    long getRejectedCount();
+    double getMeanDurationMillis();
+    double getP50DurationMillis();
+    double getP99DurationMillis();
+}
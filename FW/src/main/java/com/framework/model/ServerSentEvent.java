@@ -0,0 +1,59 @@
+package com.framework.model;
+
+/**
+ * Événement d'une route @EventStream : data est sérialisé en JSON (un texte est envoyé tel quel),
+ * event, id et retry sont facultatifs.
+ */
+public class ServerSentEvent {
+    private final Object data;
+    private String event;
+    private String id;
+    private long retry = -1;
+
+    public ServerSentEvent(Object data) {
+        this.data = data;
+    }
+
+    public static ServerSentEvent of(Object data) {
+        return new ServerSentEvent(data);
+    }
+
+    public Object getData() {
+        return data;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public ServerSentEvent event(String event) {
+        this.event = singleLine(event, "event");
+        return this;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ServerSentEvent id(String id) {
+        this.id = singleLine(id, "id");
+        return this;
+    }
+
+    public long getRetry() {
+        return retry;
+    }
+
+    // délai de reconnexion du client, en ms
+    public ServerSentEvent retry(long millis) {
+        this.retry = millis;
+        return this;
+    }
+
+    private static String singleLine(String value, String field) {
+        if (value != null && (value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0)) {
+            throw new IllegalArgumentException("Champ " + field + " d'un événement sur plusieurs lignes");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,47 @@
+package com.framework.model;
+
+import com.framework.binding.UploadStorage;
+import jakarta.servlet.http.Part;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Descripteur léger d'un fichier reçu via @FileUpload : rien n'est lu
+ * ni copié tant que le controller ne le demande pas.
+ */
+public class UploadedFile {
+    private final Part part;
+
+    public UploadedFile(Part part) {
+        this.part = part;
+    }
+
+    public String getFieldName() { return part.getName(); }
+
+    public String getOriginalFileName() { return part.getSubmittedFileName(); }
+
+    public String getContentType() { return part.getContentType(); }
+
+    public long getSize() { return part.getSize(); }
+
+    public InputStream getInputStream() throws IOException {
+        return part.getInputStream();
+    }
+
+    // copie en flux vers target (écrasé s'il existe)
+    public Path transferTo(Path target) throws IOException {
+        try (InputStream in = part.getInputStream()) {
+            UploadStorage.copy(in, target, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+        return target;
+    }
+
+    // enregistre dans directory sous un nom libre dérivé du nom d'origine
+    public Path saveTo(Path directory) throws IOException {
+        return UploadStorage.store(part, directory);
+    }
+}
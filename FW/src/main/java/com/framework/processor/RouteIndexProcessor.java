@@ -0,0 +1,100 @@
+package com.framework.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Génère à la compilation l'index des controllers (META-INF/framework/controllers.idx),
+ * lu par ControllerScanner au démarrage à la place du parcours du classpath.
+ * Activé automatiquement par javac dès que FrameworkServlet.jar est dans le classpath.
+ * Une compilation incrémentale ne voit que les classes recompilées : l'index existant est
+ * complété, ses entrées dont la classe a disparu ou n'est plus @Controller sont retirées.
+ */
+@SupportedAnnotationTypes("com.framework.annotation.Controller")
+public class RouteIndexProcessor extends AbstractProcessor {
+    public static final String INDEX = "META-INF/framework/controllers.idx";
+    private static final String CONTROLLER = "com.framework.annotation.Controller";
+
+    private final Set<String> controllers = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    controllers.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !controllers.isEmpty()) {
+            controllers.addAll(previousIndex());
+            writeIndex();
+        }
+        return false;
+    }
+
+    // entrées de l'index précédent encore valides (classe présente et toujours annotée)
+    private Set<String> previousIndex() {
+        Set<String> previous = new TreeSet<>();
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#") && isController(line)) previous.add(line);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // pas d'index précédent (build complet)
+        }
+        return previous;
+    }
+
+    private boolean isController(String binaryName) {
+        TypeElement type = processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.'));
+        if (type == null) return false;
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(CONTROLLER)) return true;
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (Writer out = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                out.write("# Généré par RouteIndexProcessor, ne pas modifier\n");
+                for (String controller : controllers) {
+                    out.write(controller);
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Index des controllers non généré (" + e.getMessage() + "), scan du classpath au démarrage");
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.framework.scanner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Lecture minimale d'un fichier .class (pool de constantes et attributs),
+ * pour savoir si une classe porte une annotation sans la charger ni l'initialiser.
+ */
+public final class ClassFileInspector {
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] data;
+    private final int[] offsets; // position de chaque constante dans data
+    private int pos;
+
+    private ClassFileInspector(byte[] data) {
+        this.data = data;
+        if (data.length < 10 || u4(0) != 0xCAFEBABE) throw new IllegalArgumentException("Fichier .class invalide");
+        int count = u2(8);
+        offsets = new int[count];
+        pos = 10;
+        for (int i = 1; i < count; i++) {
+            offsets[i] = pos;
+            int tag = data[pos++] & 0xFF;
+            switch (tag) {
+                case 1: pos += 2 + u2(pos); break;                                    // Utf8
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18: pos += 4; break;
+                case 5: case 6: pos += 8; i++; break;                                  // Long, Double : 2 entrées
+                case 7: case 8: case 16: case 19: case 20: pos += 2; break;
+                case 15: pos += 3; break;
+                default: throw new IllegalArgumentException("Constante inconnue : " + tag);
+            }
+        }
+    }
+
+    /** La classe elle-même porte l'annotation (descripteur "Lcom/framework/annotation/Controller;"). */
+    public static boolean isAnnotatedWith(byte[] classFile, String annotationDescriptor) {
+        byte[] descriptor = annotationDescriptor.getBytes(StandardCharsets.UTF_8);
+        ClassFileInspector inspector = new ClassFileInspector(classFile);
+        // cas le plus fréquent : le descripteur n'est même pas dans le pool, rien d'autre à lire
+        return inspector.hasUtf8(descriptor) && inspector.classAnnotatedWith(descriptor);
+    }
+
+    /** Le descripteur apparaît dans le pool de constantes (annotation de méthode, de champ...). */
+    public static boolean references(byte[] classFile, String descriptor) {
+        return new ClassFileInspector(classFile).hasUtf8(descriptor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean hasUtf8(byte[] expected) {
+        for (int i = 1; i < offsets.length; i++) {
+            if (utf8Equals(i, expected)) return true;
+        }
+        return false;
+    }
+
+    private boolean classAnnotatedWith(byte[] descriptor) {
+        pos += 6; // access_flags, this_class, super_class
+        pos += 2 + 2 * u2(pos); // interfaces
+        skipMembers(); // champs
+        skipMembers(); // méthodes
+        int attributes = u2(pos);
+        pos += 2;
+        for (int a = 0; a < attributes; a++) {
+            int name = u2(pos);
+            int length = u4(pos + 2);
+            pos += 6;
+            int end = pos + length;
+            if (utf8Equals(name, RUNTIME_VISIBLE_ANNOTATIONS)) {
+                int annotations = u2(pos);
+                pos += 2;
+                for (int n = 0; n < annotations; n++) {
+                    if (utf8Equals(u2(pos), descriptor)) return true;
+                    skipAnnotation();
+                }
+            }
+            pos = end;
+        }
+        return false;
+    }
+
+    private void skipMembers() {
+        int count = u2(pos);
+        pos += 2;
+        for (int i = 0; i < count; i++) {
+            pos += 6;
+            int attributes = u2(pos);
+            pos += 2;
+            for (int a = 0; a < attributes; a++) {
+                pos += 6 + u4(pos + 2);
+            }
+        }
+    }
+
+    private void skipAnnotation() {
+        pos += 2; // type_index
+        int pairs = u2(pos);
+        pos += 2;
+        for (int i = 0; i < pairs; i++) {
+            pos += 2; // element_name_index
+            skipElementValue();
+        }
+    }
+
+    private void skipElementValue() {
+        int tag = data[pos++] & 0xFF;
+        switch (tag) {
+            case 'e': pos += 4; break;
+            case '@': skipAnnotation(); break;
+            case '[':
+                int count = u2(pos);
+                pos += 2;
+                for (int i = 0; i < count; i++) skipElementValue();
+                break;
+            default: pos += 2; // constante ou classe
+        }
+    }
+
+    private boolean utf8Equals(int index, byte[] expected) {
+        if (index <= 0 || index >= offsets.length) return false;
+        int offset = offsets[index];
+        if (data[offset] != 1 || u2(offset + 1) != expected.length) return false;
+        return Arrays.equals(data, offset + 3, offset + 3 + expected.length, expected, 0, expected.length);
+    }
+
+    private int u2(int at) {
+        return ((data[at] & 0xFF) << 8) | (data[at + 1] & 0xFF);
+    }
+
+    private int u4(int at) {
+        return (u2(at) << 16) | u2(at + 2);
+    }
+}
@@ -2,101 +2,236 @@ package com.framework.scanner;
 
 import com.framework.annotation.Controller;
 import com.framework.annotation.Path;
+import com.framework.binding.ParamBinders;
 import com.framework.mapping.AnnotationStore;
+import com.framework.mapping.ControllerProvider;
+import com.framework.mapping.ExceptionHandlers;
 import com.framework.mapping.MappingStore;
+import com.framework.mapping.RouteInvoker;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 public class ControllerScanner {
+    private static final Logger LOG = Logger.getLogger("com.framework.routes");
 
     public static MappingStore scan(String packageName) throws Exception {
+        return scan(packageName, true);
+    }
+
+    // useIndex : lit l'index généré à la compilation s'il existe, sinon parcourt le classpath
+    public static MappingStore scan(String packageName, boolean useIndex) throws Exception {
         MappingStore store = new MappingStore();
-        List<Class<?>> classes = findClasses(packageName);
+        List<Class<?>> classes = useIndex
+                ? RouteIndex.controllers(packageName, Thread.currentThread().getContextClassLoader())
+                : null;
+        if (classes == null) classes = findControllers(packageName);
 
+        Map<String, AnnotationStore> routes = new LinkedHashMap<>();
         for (Class<?> clazz : classes) {
             if (clazz.isAnnotationPresent(Controller.class)) {
-                registerController(clazz, store);
+                putRoutes(routes, routes(clazz));
             }
         }
+        store.addMappings(routes); // une seule publication pour tout le scan
         return store;
     }
 
-private static void registerController(Class<?> clazz, MappingStore store) {
-    Controller ctrl = clazz.getAnnotation(Controller.class);
-    String baseUrl = ctrl.url();                     // ← url()
-    if (!baseUrl.startsWith("/")) baseUrl = "/" + baseUrl;
-    if (baseUrl.endsWith("/")) baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+    /** Ajoute (ou remplace) à chaud les routes d'un controller. */
+    public static void register(MappingStore store, Class<?> clazz) throws Exception {
+        if (!clazz.isAnnotationPresent(Controller.class)) {
+            throw new IllegalArgumentException(clazz.getName() + " n'est pas annoté @Controller");
+        }
+        store.replaceController(clazz.getName(), routes(clazz));
+    }
+
+    /** Retire à chaud toutes les routes d'un controller. */
+    public static boolean unregister(MappingStore store, Class<?> clazz) {
+        return store.removeController(clazz.getName());
+    }
 
-    for (var method : clazz.getDeclaredMethods()) {
-        if (method.isAnnotationPresent(Path.class)) {
-            Path path = method.getAnnotation(Path.class);
-            String methodUrl = path.url();           // ← url()
-            String httpMethod = path.method();       // ← method()
+    // routes d'un controller, construites hors de la table (la publication est atomique)
+    static Map<String, AnnotationStore> routes(Class<?> clazz) throws Exception {
+        Map<String, AnnotationStore> routes = new LinkedHashMap<>();
+        Controller ctrl = clazz.getAnnotation(Controller.class);
+        ControllerProvider provider = null;                // créé au premier @Path (singleton instancié ici)
+        ExceptionHandlers handlers = ExceptionHandlers.of(clazz); // partagés par toutes les routes du controller
+        String baseUrl = ctrl.url();                     // ← url()
+        if (!baseUrl.startsWith("/")) baseUrl = "/" + baseUrl;
+        if (baseUrl.endsWith("/")) baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
 
-            if (!methodUrl.startsWith("/")) methodUrl = "/" + methodUrl;
-            String fullUrl = (baseUrl + methodUrl).replaceAll("/+", "/");
-            if ("/".equals(fullUrl)) fullUrl = "/";
+        for (var method : clazz.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Path.class)) {
+                Path path = method.getAnnotation(Path.class);
+                String methodUrl = path.url();           // ← url()
+                String httpMethod = path.method();       // ← method()
 
-            String key = httpMethod.toUpperCase() + ":" + fullUrl;
-            store.addMapping(key, new AnnotationStore(clazz, method, fullUrl, httpMethod.toUpperCase()));
+                if (!methodUrl.startsWith("/")) methodUrl = "/" + methodUrl;
+                String fullUrl = (baseUrl + methodUrl).replaceAll("/+", "/");
+                if ("/".equals(fullUrl)) fullUrl = "/";
 
-            System.out.println("Mapped " + key + " → " + clazz.getSimpleName() + "." + method.getName() + "()");
+                if (provider == null) provider = ControllerProvider.of(clazz, ctrl.scope(), ctrl.poolSize());
+
+                String key = httpMethod.toUpperCase() + ":" + fullUrl;
+                putRoutes(routes, Map.of(key, new AnnotationStore(clazz, method, fullUrl, httpMethod.toUpperCase(),
+                        RouteInvoker.of(method), provider, ParamBinders.plan(method, fullUrl), handlers)));
+
+                System.out.println("Mapped " + key + " → " + clazz.getSimpleName() + "." + method.getName() + "()");
+            }
         }
+        return routes;
     }
-}
 
-    private static List<Class<?>> findClasses(String packageName) throws Exception {
-        List<Class<?>> classes = new ArrayList<>();
+    // comme avant la table copy-on-write : la dernière déclaration l'emporte, signalée au démarrage
+    private static void putRoutes(Map<String, AnnotationStore> target, Map<String, AnnotationStore> routes) {
+        routes.forEach((key, route) -> {
+            AnnotationStore previous = target.put(key, route);
+            if (previous != null) {
+                LOG.warning("Route " + key + " déclarée deux fois : "
+                        + previous.getControllerClass().getSimpleName() + "." + previous.getMethod().getName() + "() remplacée par "
+                        + route.getControllerClass().getSimpleName() + "." + route.getMethod().getName() + "()");
+            }
+        });
+    }
+
+    static final String CONTROLLER = "Lcom/framework/annotation/Controller;";
+
+    public static List<Class<?>> findControllers(String packageName) throws Exception {
+        return findClasses(packageName, bytes -> ClassFileInspector.isAnnotatedWith(bytes, CONTROLLER));
+    }
+
+    /**
+     * Parcourt en parallèle (fork-join) les dossiers et jars du package et ne charge,
+     * sans les initialiser, que les classes dont le bytecode satisfait le filtre.
+     * packageName vide : toutes les racines "dossier" du classpath.
+     */
+    public static List<Class<?>> findClasses(String packageName, Predicate<byte[]> filter) throws Exception {
+        List<String> names = new ArrayList<>();
         String path = packageName.replace('.', '/');
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
         Enumeration<URL> resources = cl.getResources(path);
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
 
-        while (resources.hasMoreElements()) {
-            URL resource = resources.nextElement();
-            if ("file".equals(resource.getProtocol())) {
-                String filePath = URLDecoder.decode(resource.getFile(), "UTF-8");
-                classes.addAll(findInDirectory(new File(filePath), packageName));
-            } else if ("jar".equals(resource.getProtocol())) {
-                String jarPath = resource.getPath();
-                int sep = jarPath.indexOf("!");
-                String jarFile = jarPath.substring(5, sep);
-                jarFile = URLDecoder.decode(jarFile, "UTF-8");
-                try (JarFile jar = new JarFile(jarFile)) {
-                    Enumeration<JarEntry> entries = jar.entries();
-                    while (entries.hasMoreElements()) {
-                        JarEntry e = entries.nextElement();
-                        if (e.getName().startsWith(path + "/") && e.getName().endsWith(".class")) {
-                            String className = e.getName().replace("/", ".").substring(0, e.getName().length() - 6);
-                            classes.add(Class.forName(className));
-                        }
-                    }
+        try {
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                if ("file".equals(resource.getProtocol())) {
+                    String filePath = URLDecoder.decode(resource.getFile(), "UTF-8");
+                    names.addAll(pool.invoke(new DirectoryTask(new File(filePath), packageName, filter)));
+                } else if ("jar".equals(resource.getProtocol())) {
+                    String jarPath = resource.getPath();
+                    int sep = jarPath.indexOf("!");
+                    String jarFile = jarPath.substring(5, sep);
+                    jarFile = URLDecoder.decode(jarFile, "UTF-8");
+                    names.addAll(findInJar(new JarFile(jarFile), path, filter, pool));
                 }
             }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : names) {
+            try {
+                classes.add(Class.forName(className, false, cl));
+            } catch (LinkageError e) {
+                // superclasse ou interface absente du classpath (dépendance optionnelle) : classe ignorée
+                LOG.warning("Classe ignorée, chargement impossible : " + className + " (" + e + ")");
+            }
         }
         return classes;
     }
 
-    private static List<Class<?>> findInDirectory(File dir, String packageName) throws ClassNotFoundException {
-        List<Class<?>> list = new ArrayList<>();
-        if (!dir.exists()) return list;
-        File[] files = dir.listFiles();
-        if (files == null) return list;
-
-        for (File f : files) {
-            if (f.isDirectory()) {
-                list.addAll(findInDirectory(f, packageName + "." + f.getName()));
-            } else if (f.getName().endsWith(".class")) {
-                String className = packageName + "." + f.getName().substring(0, f.getName().length() - 6);
-                list.add(Class.forName(className));
+    private static List<String> findInJar(JarFile jar, String path, Predicate<byte[]> filter, ForkJoinPool pool)
+            throws Exception {
+        try (jar) {
+            List<JarEntry> candidates = new ArrayList<>();
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry e = entries.nextElement();
+                if (e.getName().startsWith(path + "/") && isClassFile(e.getName())) {
+                    candidates.add(e);
+                }
+            }
+            return pool.submit(() -> candidates.parallelStream()
+                    .filter(e -> matches(() -> readEntry(jar, e), filter))
+                    .map(e -> e.getName().replace("/", ".").substring(0, e.getName().length() - 6))
+                    .collect(Collectors.toList())).get();
+        }
+    }
+
+    private static byte[] readEntry(JarFile jar, JarEntry entry) throws IOException {
+        try (InputStream in = jar.getInputStream(entry)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static final class DirectoryTask extends RecursiveTask<List<String>> {
+        private static final long serialVersionUID = 1L;
+
+        private final File dir;
+        private final String packageName;
+        private final Predicate<byte[]> filter;
+
+        DirectoryTask(File dir, String packageName, Predicate<byte[]> filter) {
+            this.dir = dir;
+            this.packageName = packageName;
+            this.filter = filter;
+        }
+
+        @Override
+        protected List<String> compute() {
+            List<String> list = new ArrayList<>();
+            File[] files = dir.listFiles();
+            if (files == null) return list;
+
+            List<DirectoryTask> subTasks = new ArrayList<>();
+            String prefix = packageName.isEmpty() ? "" : packageName + ".";
+            for (File f : files) {
+                if (f.isDirectory()) {
+                    DirectoryTask task = new DirectoryTask(f, prefix + f.getName(), filter);
+                    task.fork();
+                    subTasks.add(task);
+                } else if (isClassFile(f.getName()) && matches(() -> Files.readAllBytes(f.toPath()), filter)) {
+                    list.add(prefix + f.getName().substring(0, f.getName().length() - 6));
+                }
+            }
+            for (DirectoryTask task : subTasks) {
+                list.addAll(task.join());
             }
+            return list;
         }
-        return list;
     }
-}
\ No newline at end of file
+
+    private interface ClassBytes {
+        byte[] read() throws IOException;
+    }
+
+    private static boolean matches(ClassBytes source, Predicate<byte[]> filter) {
+        try {
+            return filter.test(source.read());
+        } catch (IOException | RuntimeException e) {
+            return false; // fichier illisible ou .class corrompu : ignoré
+        }
+    }
+
+    private static boolean isClassFile(String name) {
+        return name.endsWith(".class") && !name.endsWith("module-info.class") && !name.endsWith("package-info.class");
+    }
+}
@@ -0,0 +1,58 @@
+package com.framework.scanner;
+
+import com.framework.processor.RouteIndexProcessor;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Lecture de l'index généré à la compilation par {@link RouteIndexProcessor}.
+ */
+public final class RouteIndex {
+    private static final Logger LOG = Logger.getLogger("com.framework.routes");
+
+    private RouteIndex() {}
+
+    /**
+     * @return les controllers indexés du package, ou null si aucun index ne couvre ce package
+     * (un index d'une autre bibliothèque du classpath ne dispense pas du scan)
+     */
+    public static List<Class<?>> controllers(String packageName, ClassLoader cl) throws Exception {
+        Enumeration<URL> indexes = cl.getResources(RouteIndexProcessor.INDEX);
+        if (!indexes.hasMoreElements()) return null;
+
+        Set<String> names = new LinkedHashSet<>();
+        String prefix = packageName.isEmpty() ? "" : packageName + ".";
+        while (indexes.hasMoreElements()) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(indexes.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#") && line.startsWith(prefix)) names.add(line);
+                }
+            }
+        }
+        if (names.isEmpty()) return null;
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (String name : names) {
+            try {
+                classes.add(Class.forName(name, false, cl));
+            } catch (ClassNotFoundException e) {
+                LOG.warning("Index des controllers obsolète, classe absente : " + name);
+            } catch (LinkageError e) {
+                LOG.warning("Controller ignoré, chargement impossible : " + name + " (" + e + ")");
+            }
+        }
+        return classes;
+    }
+}
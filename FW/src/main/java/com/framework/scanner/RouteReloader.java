@@ -0,0 +1,201 @@
+package com.framework.scanner;
+
+import com.framework.mapping.MappingStore;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Rechargement à chaud (développement) : surveille les dossiers de classes du package
+ * des controllers et, quand des .class changent, recharge seulement ces classes dans
+ * un ClassLoader neuf puis remplace leurs routes dans la table (publication atomique,
+ * les requêtes en cours ne sont pas bloquées). Un .class supprimé retire ses routes.
+ *
+ * Les autres classes (modèles, services) restent celles du chargement initial.
+ */
+public final class RouteReloader implements Closeable {
+    private static final Logger LOG = Logger.getLogger("com.framework.routes");
+    private static final long QUIET_PERIOD_MS = 200; // regroupe les écritures d'une même compilation
+
+    private final MappingStore store;
+    private final ClassLoader parent;
+    private final WatchService watcher;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Map<Path, Path> rootOf = new HashMap<>(); // dossier surveillé → racine du classpath
+    private final Thread thread;
+
+    private RouteReloader(MappingStore store, ClassLoader parent, Map<Path, Path> packageDirs) throws IOException {
+        this.store = store;
+        this.parent = parent;
+        this.watcher = FileSystems.getDefault().newWatchService();
+        for (Map.Entry<Path, Path> dir : packageDirs.entrySet()) watchTree(dir.getKey(), dir.getValue());
+        this.thread = new Thread(this::run, "route-reload");
+        thread.setDaemon(true);
+    }
+
+    /** @return null si le package n'est dans aucun dossier (jar uniquement) : rien à surveiller */
+    public static RouteReloader start(MappingStore store, String packageName) throws IOException {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        String path = packageName.replace('.', '/');
+        Map<Path, Path> packageDirs = new LinkedHashMap<>();
+        Enumeration<URL> resources = cl.getResources(path);
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            if (!"file".equals(resource.getProtocol())) continue;
+            Path dir = new File(URLDecoder.decode(resource.getFile(), StandardCharsets.UTF_8)).toPath().toAbsolutePath();
+            Path root = dir;
+            for (int i = path.isEmpty() ? 0 : path.split("/").length; i > 0; i--) root = root.getParent();
+            packageDirs.put(dir, root);
+        }
+        if (packageDirs.isEmpty()) return null;
+
+        RouteReloader reloader = new RouteReloader(store, cl, packageDirs);
+        reloader.thread.start();
+        LOG.info("Rechargement des routes actif : " + packageDirs.keySet());
+        return reloader;
+    }
+
+    private void watchTree(Path dir, Path root) throws IOException {
+        try (Stream<Path> tree = Files.walk(dir)) {
+            for (Path d : (Iterable<Path>) tree.filter(Files::isDirectory)::iterator) {
+                directories.put(d.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), d);
+                rootOf.put(d, root);
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                Map<String, Path> changed = new LinkedHashMap<>(); // classe de haut niveau → racine
+                collect(key, changed);
+                while ((key = watcher.poll(QUIET_PERIOD_MS, TimeUnit.MILLISECONDS)) != null) collect(key, changed);
+                changed.forEach(this::reload);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // arrêt
+        }
+    }
+
+    private void collect(WatchKey key, Map<String, Path> changed) {
+        Path dir = directories.get(key);
+        if (dir != null) {
+            Path root = rootOf.get(dir);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    classFiles(dir).forEach(file -> changed.put(className(root, file), root));
+                    continue;
+                }
+                Path file = dir.resolve((Path) event.context());
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(file)) {
+                    try {
+                        watchTree(file, root);
+                    } catch (IOException e) {
+                        LOG.warning("Dossier non surveillé : " + file + " (" + e.getMessage() + ")");
+                    }
+                    classFiles(file).forEach(f -> changed.put(className(root, f), root));
+                } else if (file.getFileName().toString().endsWith(".class")) {
+                    changed.put(className(root, file), root);
+                }
+            }
+        }
+        if (!key.reset()) directories.remove(key);
+    }
+
+    private static List<Path> classFiles(Path dir) {
+        try (Stream<Path> tree = Files.walk(dir)) {
+            return tree.filter(f -> f.getFileName().toString().endsWith(".class")).toList();
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    // com/x/Foo$Bar.class → com.x.Foo : une classe interne recompilée recharge sa classe englobante
+    private static String className(Path root, Path file) {
+        String name = root.relativize(file).toString().replace(File.separatorChar, '.');
+        name = name.substring(0, name.length() - ".class".length());
+        int inner = name.indexOf('$');
+        return inner > 0 ? name.substring(0, inner) : name;
+    }
+
+    private void reload(String className, Path root) {
+        Path file = root.resolve(className.replace('.', File.separatorChar) + ".class");
+        try {
+            if (!Files.isRegularFile(file) || !ClassFileInspector.isAnnotatedWith(Files.readAllBytes(file), ControllerScanner.CONTROLLER)) {
+                if (store.removeController(className)) LOG.info("Controller retiré : " + className);
+                return;
+            }
+            Class<?> clazz = new ReloadingClassLoader(parent, root, className).loadClass(className);
+            ControllerScanner.register(store, clazz);
+            LOG.info("Controller rechargé : " + className);
+        } catch (Exception | LinkageError e) {
+            // classe en cours d'écriture ou invalide : les anciennes routes restent en place
+            LOG.warning("Rechargement de " + className + " impossible : " + e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watcher.close();
+        thread.interrupt();
+    }
+
+    /**
+     * Charge la classe rechargée et ses classes internes (même nest, donc même chargeur)
+     * depuis le dossier ; tout le reste est délégué au chargeur de l'application.
+     */
+    private static final class ReloadingClassLoader extends ClassLoader {
+        private final Path root;
+        private final String className;
+
+        ReloadingClassLoader(ClassLoader parent, Path root, String className) {
+            super(parent);
+            this.root = root;
+            this.className = className;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(className) && !name.startsWith(className + "$")) return super.loadClass(name, resolve);
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> c = findLoadedClass(name);
+                if (c == null) {
+                    Path file = root.resolve(name.replace('.', File.separatorChar) + ".class");
+                    try {
+                        byte[] bytes = Files.readAllBytes(file);
+                        c = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                if (resolve) resolveClass(c);
+                return c;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.framework.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Exécuteur des controllers @Async et démarrage des requêtes asynchrones.
+ *
+ * Paramètres (context-param) : async-executor ("virtual" par défaut, sinon "pool"),
+ * async-threads (taille du pool de repli), async-timeout (ms).
+ */
+public class AsyncSupport {
+    private static final String OWNER = AsyncSupport.class.getName() + ".owner";
+    private static final Object TIMED_OUT = new Object();
+
+    private final ExecutorService executor;
+    private final long timeout;
+
+    public AsyncSupport(FrameworkConfig config) {
+        this.timeout = config.getLong("async-timeout", 30000);
+        ExecutorService virtual = "virtual".equals(config.get("async-executor", "virtual")) ? virtualThreads() : null;
+        this.executor = virtual != null ? virtual : pool(config.getInt("async-threads", 64));
+    }
+
+    /** Un thread virtuel par tâche, ou null avant Java 21 (newVirtualThreadPerTaskExecutor absent). */
+    public static ExecutorService virtualThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService pool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "framework-async-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), factory);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    public AsyncContext start(HttpServletRequest req, HttpServletResponse resp) {
+        return start(req, resp, timeout);
+    }
+
+    /** timeout en ms, 0 : aucun délai (flux d'événements). */
+    public AsyncContext start(HttpServletRequest req, HttpServletResponse resp, long timeout) {
+        AsyncContext async = req.startAsync(req, resp);
+        AtomicReference<Object> owner = new AtomicReference<>();
+        req.setAttribute(OWNER, owner);
+        async.setTimeout(timeout);
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) throws IOException {
+                // le rendu a déjà pris la réponse : c'est lui qui la termine et complète
+                if (!owner.compareAndSet(null, TIMED_OUT)) return;
+                HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+                if (!response.isCommitted()) {
+                    response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Délai de traitement dépassé");
+                }
+                event.getAsyncContext().complete();
+            }
+
+            @Override public void onComplete(AsyncEvent event) {}
+            @Override public void onError(AsyncEvent event) {}
+            @Override public void onStartAsync(AsyncEvent event) {}
+        });
+        return async;
+    }
+
+    /**
+     * Le rendu (ou l'erreur) et le délai dépassé se disputent la réponse d'une requête asynchrone :
+     * seul le premier y écrit et la complète. Rendu puis erreur sur le même thread : même propriétaire.
+     */
+    public static boolean claim(AsyncContext async) {
+        Object attribute = async.getRequest().getAttribute(OWNER);
+        if (!(attribute instanceof AtomicReference<?> ref)) return true;
+        @SuppressWarnings("unchecked")
+        AtomicReference<Object> owner = (AtomicReference<Object>) ref;
+        Thread current = Thread.currentThread();
+        return owner.compareAndSet(null, current) || owner.get() == current;
+    }
+
+    // attente bloquante quand le mode asynchrone n'est pas disponible
+    public static Object await(CompletionStage<?> stage) throws Exception {
+        try {
+            return stage.toCompletableFuture().get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    public static Exception unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Error err) throw err;
+        return cause instanceof Exception e ? e : new RuntimeException(cause);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
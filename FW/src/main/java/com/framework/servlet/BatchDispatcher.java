@@ -0,0 +1,304 @@
+package com.framework.servlet;
+
+import com.framework.binding.BatchBindingContext;
+import com.framework.binding.ParamBinders;
+import com.framework.binding.UploadSettings;
+import com.framework.exception.FrameworkException;
+import com.framework.json.JsonReader;
+import com.framework.json.JsonSerializer;
+import com.framework.json.JsonWriter;
+import com.framework.limit.RouteLimiter;
+import com.framework.mapping.AnnotationStore;
+import com.framework.mapping.ExceptionHandlers;
+import com.framework.mapping.MappingStore;
+import com.framework.mapping.RouteMatch;
+import com.framework.metrics.RouteMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Route réservée qui exécute plusieurs appels @Json en une requête HTTP.
+ *
+ * Corps (POST) : [{"method":"GET","path":"/api/x/1","params":{"q":"..."}}, ...] ;
+ * "body" (facultatif) est transmis au paramètre @RequestBody de la route.
+ * Réponse : tableau des enveloppes, dans l'ordre des sous-requêtes. Les GET consécutifs
+ * s'exécutent en parallèle ; les autres méthodes, en ordre, servent de barrière.
+ *
+ * Les sous-requêtes passent directement par le routage : les filtres servlet (authentification,
+ * CSRF...) ne s'exécutent pas pour leur chemin, seulement pour celui du batch. Le batch est donc
+ * désactivé par défaut, et n'accepte qu'un corps application/json (un formulaire d'un autre site
+ * ne peut pas l'appeler sans pré-vérification CORS).
+ *
+ * Paramètres (context-param) : batch-path ("off" par défaut, par exemple "/__batch" pour l'activer),
+ * batch-max-requests (50), batch-threads (nombre de processeurs).
+ */
+public class BatchDispatcher {
+    private final MappingStore mappingStore;
+    private final ErrorResponses errors;
+    private final UploadSettings uploadSettings;
+    private final String path;
+    private final int maxRequests;
+    private final ThreadPoolExecutor executor;
+
+    public BatchDispatcher(MappingStore mappingStore, UploadSettings uploadSettings, ErrorResponses errors,
+                           FrameworkConfig config) {
+        this.errors = errors;
+        this.mappingStore = mappingStore;
+        this.uploadSettings = uploadSettings;
+        String configured = config.get("batch-path", "off");
+        this.path = "off".equals(configured) ? null : configured;
+        this.maxRequests = config.getInt("batch-max-requests", 50);
+        int threads = Math.max(1, config.getInt("batch-threads", Runtime.getRuntime().availableProcessors()));
+        AtomicInteger counter = new AtomicInteger();
+        // file bornée : une fois pleine, le thread de la requête batch exécute lui-même l'appel
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(threads * 8), task -> {
+                    Thread t = new Thread(task, "framework-batch-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /** null si le batch est désactivé. */
+    public String getPath() { return path; }
+
+    public void handle(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (!"POST".equals(req.getMethod().toUpperCase(Locale.ROOT))) {
+            resp.setHeader("Allow", "POST");
+            resp.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "Le batch s'appelle en POST");
+            return;
+        }
+        String contentType = req.getContentType();
+        if (contentType == null || !contentType.trim().toLowerCase(Locale.ROOT).startsWith("application/json")) {
+            resp.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE, "Le batch attend un corps application/json");
+            return;
+        }
+        List<Call> calls;
+        try {
+            calls = parse(new JsonReader(req.getInputStream()), maxRequests);
+        } catch (IllegalArgumentException | FrameworkException e) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        Outcome[] outcomes = run(calls);
+
+        resp.setContentType("application/json;charset=UTF-8");
+        resp.setStatus(200);
+        JsonWriter w = new JsonWriter(resp.getOutputStream());
+        w.writeByte('[');
+        for (int i = 0; i < outcomes.length; i++) {
+            if (i > 0) w.writeByte(',');
+            Outcome o = outcomes[i];
+            if (o.error != null) JsonSerializer.writeError(w, o.code, o.error);
+            else if (o.handled) ErrorResponses.writeData(w, o.code, o.data);
+            else JsonSerializer.writeEnvelope(w, o.data);
+        }
+        w.writeByte(']');
+        w.flush();
+    }
+
+    private Outcome[] run(List<Call> calls) {
+        Outcome[] outcomes = new Outcome[calls.size()];
+        int i = 0;
+        while (i < calls.size()) {
+            if (!"GET".equals(calls.get(i).method)) {
+                outcomes[i] = execute(calls.get(i));
+                i++;
+                continue;
+            }
+            // série de GET indépendants : tous sauf le dernier partent sur l'exécuteur
+            int end = i;
+            while (end < calls.size() && "GET".equals(calls.get(end).method)) end++;
+            List<Future<Outcome>> futures = new ArrayList<>();
+            for (int j = i; j < end - 1; j++) {
+                Call call = calls.get(j);
+                futures.add(executor.submit(() -> execute(call)));
+            }
+            outcomes[end - 1] = execute(calls.get(end - 1));
+            for (int j = i; j < end - 1; j++) {
+                outcomes[j] = await(futures.get(j - i), calls.get(j));
+            }
+            i = end;
+        }
+        return outcomes;
+    }
+
+    // execute intercepte les exceptions : ne reste ici qu'une Error, jamais détaillée au client
+    private Outcome await(Future<Outcome> future, Call call) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.error(503, "Batch interrompu");
+        } catch (ExecutionException e) {
+            errors.log(e.getCause(), "batch " + call.method + " " + call.path);
+            return Outcome.error(500, ErrorResponses.INTERNAL_ERROR);
+        }
+    }
+
+    private Outcome execute(Call call) {
+        RouteMatch match = mappingStore.match(call.path, call.method);
+        if (match == null) return Outcome.error(404, "Route non trouvée : " + call.method + " " + call.path);
+        AnnotationStore route = match.getStore();
+        if (!route.isJson()) return Outcome.error(400, "Route non @Json, exclue du batch : " + call.method + " " + call.path);
+
+        RouteLimiter limiter = route.getLimiter();
+        int admission = limiter != null ? limiter.acquire() : RouteLimiter.ADMITTED;
+        if (admission != RouteLimiter.ADMITTED) {
+            route.getMetrics().rejected();
+            return Outcome.error(admission, admission == RouteLimiter.TOO_MANY_REQUESTS ? "Trop de requêtes" : "Service surchargé");
+        }
+
+        RouteMetrics metrics = route.getMetrics();
+        long start = metrics.started();
+        Object controller = null;
+        boolean failed = false;
+        try {
+            controller = route.getProvider().acquire();
+            Object[] args = ParamBinders.bind(route.getBinders(), new BatchBindingContext(call.params, match, uploadSettings, call.body));
+            Object result = route.getInvoker().invoke(controller, args);
+            if (result instanceof CompletionStage<?> stage) result = AsyncSupport.await(stage);
+            return Outcome.success(result);
+        } catch (Exception e) {
+            failed = true;
+            return fail(call, route, controller, e);
+        } finally {
+            if (controller != null) route.getProvider().release(controller);
+            metrics.finished(start, failed);
+            if (limiter != null) limiter.release();
+        }
+    }
+
+    // comme FrontServlet : @ExceptionHandler du controller s'il y en a un, sinon statut et message de l'erreur.
+    // Les sous-requêtes partagent la requête et la réponse du batch (non thread-safe) : un gestionnaire
+    // qui les demande est ignoré ici, seuls ceux qui ne prennent que l'exception s'appliquent.
+    private Outcome fail(Call call, AnnotationStore route, Object controller, Exception e) {
+        ExceptionHandlers.Handler handler = route.getExceptionHandlers().find(e);
+        if (handler != null && !handler.usesServletObjects() && (controller != null || handler.isStatic())) {
+            try {
+                Object result = handler.invoke(controller, e, null, null);
+                return Outcome.handled(handler.getStatus(e), result);
+            } catch (Exception handlerError) {
+                handlerError.addSuppressed(e);
+                e = handlerError;
+            }
+        }
+        errors.log(e, "batch " + call.method + " " + call.path);
+        return Outcome.error(ErrorResponses.status(e), ErrorResponses.message(e));
+    }
+
+    // la limite est vérifiée pendant la lecture : un tableau démesuré n'est jamais construit
+    private static List<Call> parse(JsonReader reader, int maxRequests) throws IOException {
+        List<Call> calls = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (calls.size() == maxRequests) {
+                throw new IllegalArgumentException("Trop de sous-requêtes (max " + maxRequests + ")");
+            }
+            String method = "GET";
+            String path = null;
+            Map<String, String> params = new HashMap<>();
+            byte[] body = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "method": method = reader.nextString().toUpperCase(Locale.ROOT); break;
+                    case "path": path = reader.nextString(); break;
+                    case "params":
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            String name = reader.nextName();
+                            if (reader.peek() == JsonReader.Token.NULL) reader.nextNull();
+                            else params.put(name, reader.nextString());
+                        }
+                        reader.endObject();
+                        break;
+                    case "body":
+                        // réécrit en JSON compact pour le lecteur en flux de la route
+                        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                        JsonWriter w = new JsonWriter(bytes);
+                        JsonSerializer.write(w, reader.readValue());
+                        w.flush();
+                        body = bytes.toByteArray();
+                        break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (path == null || !path.startsWith("/")) {
+                throw new IllegalArgumentException("Sous-requête " + calls.size() + " : 'path' absolu requis");
+            }
+            int query = path.indexOf('?');
+            if (query >= 0) {
+                // les paramètres explicites l'emportent sur ceux de la query string
+                for (String pair : path.substring(query + 1).split("&")) {
+                    if (pair.isEmpty()) continue;
+                    int eq = pair.indexOf('=');
+                    String name = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+                    String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+                    params.putIfAbsent(name, value);
+                }
+                path = path.substring(0, query);
+            }
+            calls.add(new Call(method, path, params, body));
+        }
+        reader.endArray();
+        reader.peek(); // END_DOCUMENT, sinon erreur de syntaxe
+        return calls;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Call {
+        final String method;
+        final String path;
+        final Map<String, String> params;
+        final byte[] body;
+
+        Call(String method, String path, Map<String, String> params, byte[] body) {
+            this.method = method;
+            this.path = path;
+            this.params = params;
+            this.body = body;
+        }
+    }
+
+    private static final class Outcome {
+        final int code;
+        final Object data;
+        final String error;
+        final boolean handled; // résultat d'un @ExceptionHandler
+
+        private Outcome(int code, Object data, String error, boolean handled) {
+            this.code = code;
+            this.data = data;
+            this.error = error;
+            this.handled = handled;
+        }
+
+        static Outcome success(Object data) { return new Outcome(200, data, null, false); }
+        static Outcome handled(int code, Object data) { return new Outcome(code, data, null, true); }
+        static Outcome error(int code, String message) { return new Outcome(code, null, message != null ? message : "", false); }
+    }
+}
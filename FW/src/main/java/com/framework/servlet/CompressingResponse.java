@@ -0,0 +1,264 @@
+package com.framework.servlet;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Réponse compressée à la volée. Les premiers octets (jusqu'au seuil) sont retenus :
+ * une réponse qui tient dans le seuil part telle quelle avec sa longueur, au-delà le
+ * reste est compressé en flux, sans jamais garder le corps entier en mémoire.
+ */
+class CompressingResponse extends HttpServletResponseWrapper {
+    private final String encoding;          // null : le client n'accepte aucune compression
+    private final ResponseCompression settings;
+    private final byte[] pending;
+    private int pendingCount;
+    private long declaredLength = -1;
+    private boolean decided;
+    private boolean bypassed;
+    private OutputStream target;            // flux de sortie une fois la décision prise (ouvert au besoin)
+    private DeflaterOutputStream compressor;
+    private Deflater deflater;
+    private ServletOutputStream stream;
+    private PrintWriter writer;
+
+    CompressingResponse(HttpServletResponse response, String encoding, ResponseCompression settings) {
+        super(response);
+        this.encoding = encoding;
+        this.settings = settings;
+        this.pending = new byte[settings.getMinSize()];
+    }
+
+    String getEncoding() { return bypassed ? null : encoding; }
+    ResponseCompression getSettings() { return settings; }
+
+    void bypass() {
+        if (!decided) bypassed = true;
+    }
+
+    void finish() throws IOException {
+        if (writer != null) writer.flush();
+        if (bypassed) return;
+        if (!decided) decide(false);
+        if (compressor != null && deflater != null) {
+            compressor.finish();
+            compressor.flush();
+            deflater.end();
+            deflater = null;
+        }
+    }
+
+    // large : la taille dépasse le seuil (ou est inconnue au moment d'un flush)
+    private void decide(boolean large) throws IOException {
+        decided = true;
+        HttpServletResponse resp = (HttpServletResponse) getResponse();
+        boolean compressible = settings.compressible(getContentType());
+        if (compressible) addVary(resp);
+
+        int status = getStatus();
+        boolean compress = encoding != null && large && compressible
+                && status == SC_OK && !containsHeader("Content-Encoding") && !containsHeader("Content-Range");
+        if (compress) {
+            resp.setHeader("Content-Encoding", encoding);
+            String etag = resp.getHeader("ETag");
+            // le corps n'est plus identique octet pour octet : l'ETag devient faible
+            if (etag != null && etag.startsWith("\"")) resp.setHeader("ETag", "W/" + etag);
+            OutputStream out = resp.getOutputStream();
+            if ("gzip".equals(encoding)) {
+                GzipStream gzip = new GzipStream(out, settings.getLevel());
+                deflater = gzip.deflater();
+                compressor = gzip;
+            } else {
+                deflater = new Deflater(settings.getLevel());
+                compressor = new DeflaterOutputStream(out, deflater, 8192, true);
+            }
+            target = compressor;
+        } else {
+            if (declaredLength >= 0) resp.setContentLengthLong(declaredLength);
+            else if (!large) resp.setContentLength(pendingCount);
+        }
+        if (pendingCount > 0) {
+            target().write(pending, 0, pendingCount);
+            pendingCount = 0;
+        }
+    }
+
+    // hors compression, le flux du conteneur n'est ouvert qu'au premier octet (sendfile reste possible)
+    private OutputStream target() throws IOException {
+        if (target == null) target = getResponse().getOutputStream();
+        return target;
+    }
+
+    private static void addVary(HttpServletResponse resp) {
+        String vary = resp.getHeader("Vary");
+        if (vary == null) {
+            resp.setHeader("Vary", "Accept-Encoding");
+        } else if (!vary.toLowerCase().contains("accept-encoding") && !vary.trim().equals("*")) {
+            resp.setHeader("Vary", vary + ", Accept-Encoding");
+        }
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        if (bypassed) {
+            getResponse().getOutputStream().write(b, off, len);
+            return;
+        }
+        if (!decided) {
+            if (pendingCount + len <= pending.length) {
+                System.arraycopy(b, off, pending, pendingCount, len);
+                pendingCount += len;
+                return;
+            }
+            decide(true);
+        }
+        target().write(b, off, len);
+    }
+
+    // flush() du flux : sans effet tant que le seuil n'est pas atteint (les sérialiseurs flushent
+    // en fin d'écriture) ; flushBuffer() de la réponse, lui, force la décision et l'envoi
+    private void flushStream(boolean force) throws IOException {
+        if (bypassed) {
+            if (force) getResponse().flushBuffer();
+            return;
+        }
+        if (!decided) {
+            if (!force) return;
+            decide(declaredLength < 0 || declaredLength > pending.length);
+        }
+        if (target != null) target.flush(); // syncFlush : les octets déjà compressés partent
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (decided || bypassed) {
+            if (compressor == null) super.setContentLengthLong(len);
+        } else {
+            declaredLength = len;
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) setContentLengthLong(Long.parseLong(value));
+        else super.setHeader(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) setContentLengthLong(Long.parseLong(value));
+        else super.addHeader(name, value);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        discardUndecided();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        discardUndecided();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        discardUndecided();
+        super.sendRedirect(location);
+    }
+
+    // la page d'erreur (ou la redirection) est écrite par le conteneur, hors de cette enveloppe
+    private void discardUndecided() {
+        if (!decided) {
+            pendingCount = 0;
+            bypassed = true;
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (!decided) pendingCount = 0;
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (!decided) {
+            pendingCount = 0;
+            declaredLength = -1;
+        }
+        super.reset();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        flushStream(true);
+        if (!bypassed) super.flushBuffer();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) throw new IllegalStateException("getWriter() déjà appelé");
+        if (stream == null) {
+            ServletOutputStream raw = getResponse().getOutputStream();
+            stream = new ServletOutputStream() {
+                private final byte[] one = new byte[1];
+
+                @Override
+                public void write(int b) throws IOException {
+                    one[0] = (byte) b;
+                    CompressingResponse.this.write(one, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    CompressingResponse.this.write(b, off, len);
+                }
+
+                @Override public void flush() throws IOException { flushStream(false); }
+                @Override public void close() throws IOException { finish(); }
+                @Override public boolean isReady() { return raw.isReady(); }
+                @Override public void setWriteListener(WriteListener listener) { raw.setWriteListener(listener); }
+            };
+        }
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (stream != null) throw new IllegalStateException("getOutputStream() déjà appelé");
+            // l'encodage est figé ici, comme pour la réponse du conteneur
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            stream = null;
+        }
+        return writer;
+    }
+
+    // GZIPOutputStream n'expose pas le niveau de compression
+    private static final class GzipStream extends GZIPOutputStream {
+        GzipStream(OutputStream out, int level) throws IOException {
+            super(out, 8192, true);
+            def.setLevel(level);
+        }
+
+        Deflater deflater() {
+            return def;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.framework.servlet;
+
+import com.framework.exception.FrameworkException;
+import com.framework.json.JsonSerializer;
+import com.framework.json.JsonWriter;
+import com.framework.limit.RateLimiter;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Réponses et journal d'erreur. Les débuts d'enveloppe JSON sont précalculés par statut
+ * et l'erreur 500 générique est entièrement préconstruite ; aucune trace de pile n'est
+ * envoyée au client. Côté serveur, les 5xx sont journalisées avec leur trace, mais au plus
+ * error-log-rate fois par seconde (10) : les suivantes sont seulement comptées.
+ * Les 4xx (entrées client) ne sont journalisées qu'au niveau FINE, sans trace.
+ */
+public class ErrorResponses {
+    public static final String INTERNAL_ERROR = "Erreur interne du serveur";
+
+    private static final Logger LOG = Logger.getLogger("com.framework.errors");
+    private static final byte[] INTERNAL_ERROR_JSON =
+            ("{\"status\":\"error\",\"code\":500,\"message\":\"" + INTERNAL_ERROR + "\"}").getBytes(StandardCharsets.UTF_8);
+    private static final byte[][] MESSAGE_PREFIXES = new byte[600][];
+    private static final byte[][] DATA_PREFIXES = new byte[600][];
+
+    static {
+        for (int status = 100; status < 600; status++) {
+            String head = "{\"status\":\"" + (status < 400 ? "success" : "error") + "\",\"code\":" + status;
+            MESSAGE_PREFIXES[status] = (head + ",\"message\":").getBytes(StandardCharsets.UTF_8);
+            DATA_PREFIXES[status] = (head + ",\"data\":").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private final RateLimiter logRate;
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public ErrorResponses(FrameworkConfig config) {
+        double perSecond = config.getDouble("error-log-rate", 10);
+        this.logRate = perSecond > 0 ? new RateLimiter(perSecond, (int) Math.max(1, Math.ceil(perSecond))) : null;
+    }
+
+    public static int status(Throwable e) {
+        return e instanceof FrameworkException fe ? fe.getStatus() : 500;
+    }
+
+    /** Message montré au client : celui d'une FrameworkException, jamais le détail d'une erreur interne. */
+    public static String message(Throwable e) {
+        return e instanceof FrameworkException ? e.getMessage() : INTERNAL_ERROR;
+    }
+
+    public void log(Throwable e, String request) {
+        if (e instanceof FrameworkException fe && fe.getStatus() < 500) {
+            if (LOG.isLoggable(Level.FINE)) LOG.fine(request + " : " + fe.getStatus() + " " + fe.getMessage());
+            return;
+        }
+        if (logRate != null && logRate.tryAcquire() != 0) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        long skipped = suppressed.getAndSet(0);
+        LOG.log(Level.SEVERE, request + " : " + e + (skipped > 0 ? " (" + skipped + " erreurs non journalisées)" : ""), e);
+    }
+
+    /** Erreur sans résultat de gestionnaire : enveloppe {"status":"error",...} ou page d'erreur du conteneur. */
+    public static void write(HttpServletResponse resp, int status, String message, boolean json) throws IOException {
+        if (resp.isCommitted()) return;
+        if (!json) {
+            resp.sendError(status, message);
+            return;
+        }
+        resp.resetBuffer();
+        resp.setStatus(status);
+        resp.setContentType("application/json;charset=UTF-8");
+        if (status == 500 && INTERNAL_ERROR.equals(message)) {
+            resp.setContentLength(INTERNAL_ERROR_JSON.length);
+            resp.getOutputStream().write(INTERNAL_ERROR_JSON);
+            return;
+        }
+        JsonWriter w = new JsonWriter(resp.getOutputStream());
+        w.writeRaw(prefix(MESSAGE_PREFIXES, status));
+        if (message != null) w.writeString(message);
+        else w.writeNull();
+        w.writeByte('}');
+        w.flush();
+    }
+
+    /** Résultat d'un @ExceptionHandler en JSON : {"status":"error","code":...,"data":...}. */
+    public static void writeData(HttpServletResponse resp, int status, Object data) throws IOException {
+        resp.setStatus(status);
+        resp.setContentType("application/json;charset=UTF-8");
+        JsonWriter w = new JsonWriter(resp.getOutputStream());
+        writeData(w, status, data);
+        w.flush();
+    }
+
+    /** Même enveloppe, écrite dans un document plus large (réponse batch). */
+    public static void writeData(JsonWriter w, int status, Object data) throws IOException {
+        w.writeRaw(prefix(DATA_PREFIXES, status));
+        JsonSerializer.write(w, data);
+        w.writeByte('}');
+    }
+
+    private static byte[] prefix(byte[][] prefixes, int status) {
+        return status >= 100 && status < 600 ? prefixes[status] : prefixes[500];
+    }
+}
@@ -0,0 +1,55 @@
+package com.framework.servlet;
+
+import jakarta.servlet.ServletContext;
+
+import java.util.function.Function;
+
+/**
+ * Paramètres du framework, lus depuis les context-param du web.xml
+ * (ou toute autre source : fichier properties, ligne de commande...).
+ */
+public class FrameworkConfig {
+    private final Function<String, String> source;
+
+    public FrameworkConfig(Function<String, String> source) {
+        this.source = source;
+    }
+
+    public static FrameworkConfig of(ServletContext context) {
+        return new FrameworkConfig(context::getInitParameter);
+    }
+
+    public String get(String name, String defaultValue) {
+        String value = source.apply(name);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    public int getInt(String name, int defaultValue) {
+        return (int) getLong(name, defaultValue);
+    }
+
+    public long getLong(String name, long defaultValue) {
+        String value = get(name, null);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Paramètre '" + name + "' invalide : " + value);
+        }
+    }
+
+    public double getDouble(String name, double defaultValue) {
+        String value = get(name, null);
+        if (value == null) return defaultValue;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Paramètre '" + name + "' invalide : " + value);
+        }
+    }
+
+    public boolean getBoolean(String name, boolean defaultValue) {
+        String value = get(name, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
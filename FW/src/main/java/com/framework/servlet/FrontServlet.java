@@ -1,51 +1,109 @@
 package com.framework.servlet;
 
 import com.framework.mapping.AnnotationStore;
+import com.framework.mapping.ExceptionHandlers;
 import com.framework.mapping.MappingStore;
+import com.framework.mapping.RouteMatch;
 import com.framework.model.ModelView;
 import com.framework.scanner.ControllerScanner;
-import com.framework.annotation.Json;
-import com.framework.annotation.FileUpload;
-import com.framework.annotation.RequestParam;
+import com.framework.scanner.RouteReloader;
+import com.framework.binding.BindingContext;
+import com.framework.binding.ParamBinders;
+import com.framework.binding.ServletBindingContext;
+import com.framework.binding.UploadSettings;
+import com.framework.cache.CachedResponse;
+import com.framework.cache.CapturingResponse;
+import com.framework.cache.ResponseCache;
+import com.framework.json.JsonSerializer;
+import com.framework.json.ResponseFormat;
+import com.framework.limit.RouteLimiter;
+import com.framework.metrics.MetricsExporter;
+import com.framework.metrics.RequestTiming;
+import com.framework.metrics.RequestTiming.Phase;
+import com.framework.metrics.RouteMetrics;
+import com.framework.view.View;
+import com.framework.view.ViewResolvers;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.annotation.MultipartConfig;  // ← Indispensable pour les uploads
 import jakarta.servlet.http.*;
 import java.io.*;
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.Collection;
-import java.util.HashMap;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import javax.management.ObjectName;
 
-@WebServlet("/")
+@WebServlet(value = "/", asyncSupported = true)
+// Limites par défaut du conteneur ; MultipartLimits les remplace au démarrage par les context-param
+// upload-max-* définis : le conteneur refuse alors lui-même un corps trop gros, avant de l'écrire sur disque
 @MultipartConfig(
-    location = "G:/TEST/sauvegard/",      // Dossier temporaire (peut être le même)
-    maxFileSize = 10485760,              // 10 Mo max par fichier
-    maxRequestSize = 52428800,           // 50 Mo max pour toute la requête
-    fileSizeThreshold = 1048576          // 1 Mo avant écriture disque
+    maxFileSize = UploadSettings.DEFAULT_MAX_FILE_SIZE,
+    maxRequestSize = UploadSettings.DEFAULT_MAX_REQUEST_SIZE,
+    fileSizeThreshold = MultipartLimits.FILE_SIZE_THRESHOLD
 )
 public class FrontServlet extends HttpServlet {
-    private MappingStore mappingStore;
+    private static final long serialVersionUID = 1L;
 
-    // Chemin de sauvegarde des fichiers uploadés
-    private static final String UPLOAD_DIRECTORY = "G:/TEST/sauvegard/";
+    private MappingStore mappingStore;
+    private UploadSettings uploadSettings;
+    private StaticResourceHandler staticResources;
+    private AsyncSupport asyncSupport;
+    private ResponseCompression compression;
+    private BatchDispatcher batch;
+    private ViewResolvers views;
+    private RequestTimings timings;
+    private ErrorResponses errors;
+    private StreamingResponses streaming;
+    private RouteReloader reloader;
+    private String metricsPath;
+    private List<ObjectName> metricsMBeans = List.of();
 
     @Override
     public void init() throws ServletException {
-        String packageName = getServletContext().getInitParameter("controller-package");
-        if (packageName == null || packageName.trim().isEmpty()) {
+        FrameworkConfig config = FrameworkConfig.of(getServletContext());
+        String packageName = config.get("controller-package", null);
+        if (packageName == null) {
             throw new ServletException("Paramètre 'controller-package' manquant dans web.xml");
         }
         try {
-            mappingStore = ControllerScanner.scan(packageName.trim());
+            mappingStore = ControllerScanner.scan(packageName, config.getBoolean("route-index", true));
             getServletContext().setAttribute("mappingStore", mappingStore);
             System.out.println("Framework initialisé : " + mappingStore.getAllMappings().size() + " routes chargées");
 
-            File uploadDir = new File(UPLOAD_DIRECTORY);
-            if (!uploadDir.exists()) {
-                uploadDir.mkdirs();
-                System.out.println("Dossier d'upload créé : " + UPLOAD_DIRECTORY);
+            uploadSettings = new UploadSettings(
+                    Paths.get(config.get("upload-directory", defaultUploadDirectory())),
+                    config.getLong("upload-max-file-size", UploadSettings.DEFAULT_MAX_FILE_SIZE),
+                    config.getLong("upload-max-request-size", UploadSettings.DEFAULT_MAX_REQUEST_SIZE));
+            staticResources = new StaticResourceHandler(getServletContext(), config);
+            asyncSupport = new AsyncSupport(config);
+            compression = new ResponseCompression(config);
+            errors = new ErrorResponses(config);
+            batch = new BatchDispatcher(mappingStore, uploadSettings, errors, config);
+            views = new ViewResolvers(getServletContext(), config);
+            timings = new RequestTimings(config);
+            streaming = new StreamingResponses(config);
+
+            // route réservée des métriques Prometheus ("off" pour la désactiver) et vue JMX
+            metricsPath = config.get("metrics-path", "/__metrics");
+            if ("off".equals(metricsPath)) metricsPath = null;
+            if (config.getBoolean("metrics-jmx", true)) {
+                registerMetricsMBeans();
+                mappingStore.addListener(this::registerMetricsMBeans); // routes ajoutées ou retirées à chaud
+            }
+            // développement : les controllers recompilés sont rechargés sans redémarrer
+            if (config.getBoolean("route-reload", false)) {
+                reloader = RouteReloader.start(mappingStore, packageName);
+            }
+
+            if (!Files.isDirectory(uploadSettings.getDirectory())) {
+                Files.createDirectories(uploadSettings.getDirectory());
+                System.out.println("Dossier d'upload créé : " + uploadSettings.getDirectory());
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -53,266 +111,350 @@ public class FrontServlet extends HttpServlet {
         }
     }
 
+    private String defaultUploadDirectory() {
+        Object tempDir = getServletContext().getAttribute(ServletContext.TEMPDIR);
+        String base = tempDir instanceof File f ? f.getPath() : System.getProperty("java.io.tmpdir");
+        return Paths.get(base, "uploads").toString();
+    }
+
     @Override
-    protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+    protected void service(HttpServletRequest req, HttpServletResponse response) throws ServletException, IOException {
+        HttpServletResponse resp = compression.wrap(req, response);
+        try {
+            route(req, resp);
+        } finally {
+            // requête passée en asynchrone : le flux compressé est terminé à la complétion
+            if (!req.isAsyncStarted()) ResponseCompression.finish(resp);
+        }
+    }
+
+    private void route(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         String path = req.getRequestURI().substring(req.getContextPath().length());
         if (path.isEmpty() || "/".equals(path)) path = "/";
         String method = req.getMethod().toUpperCase();
 
-        AnnotationStore route = mappingStore.findMapping(path, method);
-
-        if (route == null) {
-            String realPath = getServletContext().getRealPath(path);
-            File file = new File(realPath);
-            if (file.exists() && file.isFile()) {
-                String mime = getServletContext().getMimeType(file.getName());
-                resp.setContentType(mime != null ? mime : "application/octet-stream");
-                try (InputStream in = new FileInputStream(file);
-                     OutputStream out = resp.getOutputStream()) {
-                    in.transferTo(out);
-                }
-            } else {
+        if (path.equals(metricsPath)) {
+            resp.setContentType(MetricsExporter.CONTENT_TYPE);
+            MetricsExporter.writePrometheus(routeMetrics(), resp.getWriter());
+            MetricsExporter.writeCachePrometheus(responseCaches(), resp.getWriter());
+            return;
+        }
+
+        if (path.equals(batch.getPath())) {
+            batch.handle(req, resp);
+            return;
+        }
+
+        RequestTiming timing = timings.start(method, req.getRequestURI());
+        RouteMatch match = mappingStore.match(path, method);
+        if (timing != null) timing.lap(Phase.ROUTE);
+
+        if (match == null) {
+            if (!staticResources.handle(path, req, resp)) {
                 resp.sendError(404, "Page non trouvée : " + path);
             }
             return;
         }
 
-        try {
-            Object controller = route.getControllerClass().getDeclaredConstructor().newInstance();
-            Method m = route.getMethod();
-            m.setAccessible(true);
-
-            Map<String, String> pathParams = extractPathParams(route.getUrl(), path);
-
-            // === Gestion multipart : lecture une seule fois de tous les parts ===
-            Map<String, String> textParams = new HashMap<>();
-            Map<String, Part> fileParts = new HashMap<>();
-
-            boolean isMultipart = req.getContentType() != null && req.getContentType().startsWith("multipart/form-data");
-            if (isMultipart) {
-                Collection<Part> parts = req.getParts();  // Fonctionne grâce à @MultipartConfig
-                for (Part part : parts) {
-                    String fieldName = part.getName();
-                    if (part.getSubmittedFileName() != null && !part.getSubmittedFileName().isEmpty()) {
-                        fileParts.put(fieldName, part);
-                    } else {
-                        try (InputStream is = part.getInputStream();
-                             BufferedReader reader = new BufferedReader(new InputStreamReader(is, "UTF-8"))) {
-                            String textValue = reader.lines().collect(java.util.stream.Collectors.joining());
-                            textParams.put(fieldName, textValue);
-                        }
-                    }
-                }
-            }
+        AnnotationStore route = match.getStore();
+        ResponseCache cache = route.getCache();
+        if (cache != null) {
+            serveCached(req, resp, match, cache, path, timing);
+            return;
+        }
+        if (!admit(resp, route)) return;
+        if (route.isAsync() && req.isAsyncSupported()) {
+            AsyncContext async = startAsync(req, resp, route);
+            asyncSupport.execute(() -> dispatch(req, resp, match, async, timing));
+            return;
+        }
+        dispatch(req, resp, match, null, timing);
+    }
 
-            Parameter[] parameters = m.getParameters();
-            Object[] args = new Object[parameters.length];
-
-            for (int i = 0; i < parameters.length; i++) {
-                Parameter param = parameters[i];
-                String value = null;
-                String paramName = null;
-                boolean required = true;
-                String defaultValue = "";
-
-                // 1. Gestion du fichier (@FileUpload en byte[])
-                if (param.getType() == byte[].class && param.isAnnotationPresent(FileUpload.class)) {
-                    FileUpload fu = param.getAnnotation(FileUpload.class);
-                    String fieldName = fu.value();
-                    Part part = fileParts.get(fieldName);
-
-                    if (part == null || part.getSubmittedFileName() == null || part.getSubmittedFileName().isEmpty()) {
-                        args[i] = null;
-                        continue;
-                    }
-
-                    try (InputStream is = part.getInputStream()) {
-                        byte[] bytes = is.readAllBytes();
-                        args[i] = bytes;
-
-                        String originalFileName = part.getSubmittedFileName();
-                        String finalFileName = originalFileName;
-                        File savedFile = new File(UPLOAD_DIRECTORY + finalFileName);
-                        int counter = 1;
-
-                        while (savedFile.exists()) {
-                            String nameWithoutExt = originalFileName.substring(0, originalFileName.lastIndexOf('.'));
-                            String ext = originalFileName.substring(originalFileName.lastIndexOf('.'));
-                            finalFileName = nameWithoutExt + "_" + counter + ext;
-                            savedFile = new File(UPLOAD_DIRECTORY + finalFileName);
-                            counter++;
-                        }
+    // hit : les octets déjà produits sont renvoyés tels quels ; miss : rendu capturé puis rejoué
+    // les durées d'un miss ne sont pas mises dans la réponse capturée (elle serait rejouée telle quelle)
+    private void serveCached(HttpServletRequest req, HttpServletResponse resp, RouteMatch match,
+                             ResponseCache cache, String path, RequestTiming timing) throws ServletException, IOException {
+        CachedResponse response;
+        boolean[] computed = new boolean[1];
+        try {
+            response = cache.get(cache.key(path, req), () -> {
+                computed[0] = true;
+                CapturingResponse capture = new CapturingResponse(resp);
+                // seul le calcul est soumis aux limites : un hit ne sollicite rien
+                if (admit(capture, match.getStore())) dispatch(req, capture, match, null, null);
+                return capture.toCachedResponse();
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+        if (timing != null) {
+            timing.lap(Phase.CONTROLLER);
+            timings.beforeRender(resp, timing);
+        }
+        // un miss est compté par dispatch ; un hit (ou une attente du calcul d'un autre) l'est ici
+        RouteMetrics metrics = computed[0] ? null : match.getStore().getMetrics();
+        long start = metrics != null ? metrics.started() : 0;
+        boolean failed = true;
+        try {
+            response.writeTo(resp);
+            failed = false;
+        } finally {
+            if (metrics != null) metrics.finished(start, failed);
+        }
+        if (timing != null) {
+            timing.lap(Phase.RENDER);
+            timings.finish(resp, match.getStore(), timing);
+        }
+    }
 
-                        try (FileOutputStream fos = new FileOutputStream(savedFile)) {
-                            fos.write(bytes);
+    private void dispatch(HttpServletRequest req, HttpServletResponse resp, RouteMatch match, AsyncContext async,
+                          RequestTiming timing) {
+        AnnotationStore route = match.getStore();
+        RouteMetrics metrics = route.getMetrics();
+        long start = metrics.started();
+        Object controller = null;
+        boolean releaseLater = false;
+        boolean failed = false;
+        try {
+            controller = route.getProvider().acquire();
+
+            BindingContext ctx = new ServletBindingContext(req, match, uploadSettings, timing);
+            Object[] args = ParamBinders.bind(route.getBinders(), ctx);
+            if (timing != null) timing.lap(Phase.BIND);
+
+            Object result = route.getInvoker().invoke(controller, args);
+            if (timing != null) timing.lap(Phase.CONTROLLER);
+
+            // CompletableFuture / CompletionStage : réponse rendue à la complétion, sans bloquer de thread
+            if (result instanceof CompletionStage<?> stage) {
+                // une réponse capturée pour le cache doit être complète au retour de dispatch
+                boolean canSuspend = req.isAsyncSupported() && !(resp instanceof CapturingResponse);
+                AsyncContext target = async != null ? async : canSuspend ? startAsync(req, resp, route) : null;
+                if (target == null) {
+                    result = AsyncSupport.await(stage);
+                    if (timing != null) timing.lap(Phase.CONTROLLER);
+                } else {
+                    Object instance = controller;
+                    releaseLater = true;
+                    stage.whenComplete((value, error) -> {
+                        boolean stageFailed = false;
+                        try {
+                            if (timing != null) timing.lap(Phase.CONTROLLER);
+                            if (error != null) throw AsyncSupport.unwrap(error);
+                            render(req, resp, route, value, target, timing);
+                        } catch (Throwable e) {
+                            // une Error aussi : la requête doit être complétée (pas de délai pour un flux d'événements)
+                            stageFailed = true;
+                            fail(req, resp, route, instance, e instanceof Exception ex ? ex : new ServletException(e), target);
+                        } finally {
+                            route.getProvider().release(instance);
+                            finished(resp, route, start, stageFailed, timing);
                         }
-
-                        req.setAttribute("uploadedFileName", finalFileName);
-                        req.setAttribute("uploadedOriginalName", originalFileName);
-                        req.setAttribute("uploadedFileSize", bytes.length);
-                        req.setAttribute("uploadedFileType", part.getContentType());
-                        req.setAttribute("uploadedFilePath", savedFile.getAbsolutePath());
-                    }
-                    continue;
+                    });
+                    return;
                 }
+            }
+            render(req, resp, route, result, async, timing);
+        } catch (Exception e) {
+            failed = true;
+            fail(req, resp, route, controller, e, async);
+        } catch (Error e) {
+            if (async == null) throw e; // synchrone : le conteneur s'en charge
+            failed = true;
+            fail(req, resp, route, controller, new ServletException(e), async);
+        } finally {
+            if (!releaseLater) {
+                if (controller != null) route.getProvider().release(controller);
+                finished(resp, route, start, failed, timing);
+            }
+        }
+    }
 
-                // 2. Gestion des @RequestParam
-                if (param.isAnnotationPresent(RequestParam.class)) {
-                    RequestParam rp = param.getAnnotation(RequestParam.class);
-                    paramName = rp.value();
-                    required = rp.required();
-                    defaultValue = rp.defaultValue();
-
-                    if (isMultipart) {
-                        value = textParams.get(paramName);
-                    } else {
-                        value = req.getParameter(paramName);
-                    }
-                }
-                // 3. Gestion des path parameters
-                else if (!pathParams.isEmpty()) {
-                    int idx = 0;
-                    for (String key : pathParams.keySet()) {
-                        if (idx == i) {
-                            paramName = key;
-                            value = pathParams.get(key);
-                            break;
-                        }
-                        idx++;
-                    }
-                }
+    // un flux d'événements reste ouvert tant que le producteur en fournit : pas de délai
+    private AsyncContext startAsync(HttpServletRequest req, HttpServletResponse resp, AnnotationStore route) {
+        return route.isEventStream() ? asyncSupport.start(req, resp, 0) : asyncSupport.start(req, resp);
+    }
 
-                if (value == null || value.isEmpty()) {
-                    if (required) {
-                        String name = paramName != null ? paramName : "paramètre " + i;
-                        throw new IllegalArgumentException("Paramètre requis manquant : " + name);
-                    }
-                    value = defaultValue;
-                }
+    private void finished(HttpServletResponse resp, AnnotationStore route, long start, boolean failed,
+                          RequestTiming timing) {
+        route.getMetrics().finished(start, failed);
+        if (route.getLimiter() != null) route.getLimiter().release();
+        if (timing != null) timings.finish(resp, route, timing);
+    }
 
-                args[i] = convert(value, param.getType());
-            }
+    private void render(HttpServletRequest req, HttpServletResponse resp, AnnotationStore route,
+                        Object result, AsyncContext async, RequestTiming timing) throws Exception {
+        if (async != null && !AsyncSupport.claim(async)) return; // délai dépassé : 503 déjà envoyé
+        if (timing == null) {
+            render(req, resp, route, result, async);
+            return;
+        }
+        timings.beforeRender(resp, timing);
+        try {
+            render(req, resp, route, result, async);
+        } finally {
+            timing.lap(Phase.RENDER);
+        }
+    }
 
-            Object result = m.invoke(controller, args);
-
-            // Gestion du retour
-            if (m.isAnnotationPresent(Json.class)) {
-                resp.setContentType("application/json;charset=UTF-8");
-                resp.setStatus(200);
-                String jsonData = objectToJson(result);
-                String jsonResponse = """
-                    {
-                        "status": "success",
-                        "code": 200,
-                        "data": %s
-                    }
-                    """.formatted(jsonData == null ? "null" : jsonData);
-                resp.getWriter().print(jsonResponse);
-            } else if (result instanceof String s) {
-                resp.setContentType("text/html;charset=UTF-8");
-                resp.getWriter().print(s);
-            } else if (result instanceof ModelView mv) {
-                if (mv.getData() != null) {
-                    mv.getData().forEach(req::setAttribute);
-                }
-                String viewPath = mv.getView();
-                if (!viewPath.startsWith("/")) viewPath = "/" + viewPath;
-                if (!viewPath.endsWith(".jsp")) viewPath += ".jsp";
-                viewPath = "/WEB-INF/views" + viewPath;
-                req.getRequestDispatcher(viewPath).forward(req, resp);
-            } else {
-                req.setAttribute("data", result);
-                req.getRequestDispatcher("/WEB-INF/views/result.jsp").forward(req, resp);
-            }
+    // contrôle d'admission : false si la requête a été refusée (429/503 déjà envoyé)
+    private static boolean admit(HttpServletResponse resp, AnnotationStore route) throws IOException {
+        RouteLimiter limiter = route.getLimiter();
+        if (limiter == null) return true;
+        int status = limiter.acquire();
+        if (status == RouteLimiter.ADMITTED) return true;
+
+        route.getMetrics().rejected();
+        String message = status == RouteLimiter.TOO_MANY_REQUESTS ? "Trop de requêtes" : "Service surchargé";
+        resp.setHeader("Retry-After", String.valueOf(limiter.retryAfterSeconds(status)));
+        ErrorResponses.write(resp, status, message, route.isJson());
+        return false;
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+    private void render(HttpServletRequest req, HttpServletResponse resp, AnnotationStore route,
+                        Object result, AsyncContext async) throws Exception {
+        // Gestion du retour
+        if (route.isEventStream()) {
+            streaming.writeEvents(resp, result);
+        } else if (route.isJson()) {
+            // JSON par défaut, CBOR pour les clients qui le préfèrent (Accept), NDJSON pour une séquence
+            boolean sequence = JsonSerializer.isSequence(result);
+            ResponseFormat format = ResponseFormat.negotiate(req.getHeader("Accept"), sequence);
+            resp.addHeader("Vary", "Accept");
+            resp.setContentType(format.getContentType());
+            resp.setStatus(200);
+            if (sequence) streaming.write(resp, format, result);
+            else format.writeEnvelope(resp.getOutputStream(), result);
+        } else if (result instanceof String s) {
             resp.setContentType("text/html;charset=UTF-8");
-            resp.getWriter().println("<h2 style='color:red'>Erreur 500</h2><pre>");
-            e.printStackTrace(resp.getWriter());
-            resp.getWriter().println("</pre>");
+            resp.getWriter().print(s);
+        } else if (result instanceof ModelView mv) {
+            renderView(req, resp, mv.getView(), mv.getData() != null ? mv.getData() : Collections.emptyMap(), async);
+            return;
+        } else {
+            renderView(req, resp, "result", Collections.singletonMap("data", result), async);
+            return;
         }
+        if (async != null) complete(async, resp);
     }
 
-    private Map<String, String> extractPathParams(String pattern, String actualPath) {
-        Map<String, String> params = new HashMap<>();
-        String[] pat = pattern.split("/");
-        String[] act = actualPath.split("/");
+    private void renderView(HttpServletRequest req, HttpServletResponse resp, String viewName,
+                            Map<String, Object> model, AsyncContext async) throws Exception {
+        View view = views.resolve(viewName);
+        String dispatchPath = view.getDispatchPath();
+        if (dispatchPath != null) {
+            // JSP : rendue par le conteneur (dispatch asynchrone le cas échéant)
+            model.forEach(req::setAttribute);
+            forward(req, resp, dispatchPath, async);
+            return;
+        }
+        view.render(model, req, resp);
+        if (async != null) complete(async, resp);
+    }
 
-        if (pat.length != act.length) return params;
+    private static void complete(AsyncContext async, HttpServletResponse resp) throws IOException {
+        ResponseCompression.finish(resp);
+        async.complete();
+    }
 
-        for (int i = 0; i < pat.length; i++) {
-            if (pat[i].startsWith("{") && pat[i].endsWith("}")) {
-                String name = pat[i].substring(1, pat[i].length() - 1);
-                params.put(name, act[i]);
-            }
+    // en mode asynchrone, c'est le conteneur qui termine la requête après le dispatch
+    private void forward(HttpServletRequest req, HttpServletResponse resp, String viewPath, AsyncContext async)
+            throws ServletException, IOException {
+        if (async != null) {
+            // la JSP est rendue par le conteneur après ce dispatch : pas de flux compressé à terminer
+            ResponseCompression.bypass(resp);
+            async.dispatch(viewPath);
+        } else {
+            req.getRequestDispatcher(viewPath).forward(req, resp);
         }
-        return params;
     }
 
-    private Object convert(String value, Class<?> targetType) {
-        if (value == null) return null;
-        if (targetType == String.class) return value;
-        if (targetType == int.class || targetType == Integer.class) return Integer.parseInt(value);
-        if (targetType == long.class || targetType == Long.class) return Long.parseLong(value);
-        if (targetType == double.class || targetType == Double.class) return Double.parseDouble(value);
-        if (targetType == boolean.class || targetType == Boolean.class) {
-            return Boolean.parseBoolean(value) || "on".equalsIgnoreCase(value) || "true".equalsIgnoreCase(value) || "1".equals(value);
+    // @ExceptionHandler du controller s'il y en a un pour ce type, sinon statut et message de l'erreur
+    private void fail(HttpServletRequest req, HttpServletResponse resp, AnnotationStore route, Object controller,
+                      Exception e, AsyncContext async) {
+        if (async != null && !AsyncSupport.claim(async)) return; // délai dépassé : 503 déjà envoyé
+        boolean completed = false;
+        try {
+            ExceptionHandlers.Handler handler = route.getExceptionHandlers().find(e);
+            if (handler != null && (controller != null || handler.isStatic()) && !resp.isCommitted()) {
+                try {
+                    completed = handle(req, resp, route, handler, controller, e, async);
+                    return;
+                } catch (Exception handlerError) {
+                    handlerError.addSuppressed(e);
+                    e = handlerError;
+                }
+            }
+            errors.log(e, req.getMethod() + " " + req.getRequestURI());
+            ErrorResponses.write(resp, ErrorResponses.status(e), ErrorResponses.message(e), route.isJson());
+        } catch (IOException | IllegalStateException ignored) {
+            // réponse déjà engagée ou requête asynchrone expirée
+        } finally {
+            if (async != null && !completed) {
+                try {
+                    complete(async, resp);
+                } catch (IOException | IllegalStateException ignored) {
+                }
+            }
         }
-        return value;
     }
 
-    private String objectToJson(Object obj) {
-        if (obj == null) return "null";
-
-        if (obj instanceof String) {
-            return "\"" + obj.toString().replace("\"", "\\\"") + "\"";
+    // true si le rendu a déjà terminé la requête asynchrone
+    private boolean handle(HttpServletRequest req, HttpServletResponse resp, AnnotationStore route,
+                           ExceptionHandlers.Handler handler, Object controller, Exception e, AsyncContext async)
+            throws Exception {
+        int status = handler.getStatus(e);
+        resp.resetBuffer();
+        resp.setStatus(status); // le gestionnaire peut le changer via HttpServletResponse
+        Object result = handler.invoke(controller, e, req, resp);
+        if (resp.isCommitted()) return false;
+        if (handler.isJson() || route.isJson()) {
+            ErrorResponses.writeData(resp, resp.getStatus(), result);
+            return false;
         }
-        if (obj instanceof Number || obj instanceof Boolean) {
-            return obj.toString();
+        if (result == null) {
+            ErrorResponses.write(resp, status, ErrorResponses.message(e), false);
+            return false;
         }
+        render(req, resp, route, result, async);
+        return async != null;
+    }
 
-        if (obj instanceof java.util.Collection<?> coll) {
-            StringBuilder sb = new StringBuilder("[");
-            boolean first = true;
-            for (Object item : coll) {
-                if (!first) sb.append(",");
-                sb.append(objectToJson(item));
-                first = false;
-            }
-            sb.append("]");
-            return sb.toString();
-        }
+    private List<RouteMetrics> routeMetrics() {
+        List<RouteMetrics> metrics = new ArrayList<>();
+        mappingStore.getAllMappings().values().forEach(route -> metrics.add(route.getMetrics()));
+        return metrics;
+    }
 
-        if (obj instanceof java.util.Map<?, ?> map) {
-            StringBuilder sb = new StringBuilder("{");
-            boolean first = true;
-            for (Map.Entry<?, ?> entry : map.entrySet()) {
-                if (!first) sb.append(",");
-                sb.append("\"").append(entry.getKey().toString().replace("\"", "\\\"")).append("\":");
-                sb.append(objectToJson(entry.getValue()));
-                first = false;
-            }
-            sb.append("}");
-            return sb.toString();
-        }
+    private List<ResponseCache> responseCaches() {
+        List<ResponseCache> caches = new ArrayList<>();
+        mappingStore.getAllMappings().values().forEach(route -> {
+            if (route.getCache() != null) caches.add(route.getCache());
+        });
+        return caches;
+    }
 
-        StringBuilder sb = new StringBuilder("{");
-        java.lang.reflect.Field[] fields = obj.getClass().getDeclaredFields();
-        boolean first = true;
-        for (java.lang.reflect.Field field : fields) {
-            field.setAccessible(true);
+    @Override
+    public void destroy() {
+        if (reloader != null) {
             try {
-                Object value = field.get(obj);
-                if (!first) sb.append(",");
-                sb.append("\"").append(field.getName()).append("\":");
-                sb.append(objectToJson(value));
-                first = false;
-            } catch (IllegalAccessException e) {
-                // ignore
+                reloader.close();
+            } catch (IOException ignored) {
             }
         }
-        sb.append("}");
-        return sb.toString();
+        if (asyncSupport != null) asyncSupport.shutdown();
+        if (batch != null) batch.shutdown();
+        synchronized (this) {
+            MetricsExporter.unregister(metricsMBeans);
+            metricsMBeans = List.of();
+        }
+    }
+
+    private synchronized void registerMetricsMBeans() {
+        MetricsExporter.unregister(metricsMBeans);
+        metricsMBeans = MetricsExporter.register(routeMetrics(), getServletContext().getContextPath());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.framework.servlet;
+
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.ServletContainerInitializer;
+import jakarta.servlet.annotation.MultipartConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletRegistration;
+
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Reporte les context-param upload-max-file-size et upload-max-request-size dans la
+ * configuration multipart du conteneur pour chaque FrontServlet déclarée : un upload trop
+ * gros est refusé pendant la lecture, même en chunked, au lieu d'être d'abord écrit sur disque
+ * puis contrôlé par le framework. Une valeur <= 0 lève la limite ; un context-param absent
+ * laisse la limite correspondante telle que configurée (web.xml ou @MultipartConfig).
+ *
+ * L'API Servlet ne permet pas de relire la configuration d'une registration : sans aucun des
+ * deux context-param, elle n'est pas touchée ; sinon location et fileSizeThreshold repartent
+ * de l'annotation @MultipartConfig de FrontServlet.
+ *
+ * Déclaré dans META-INF/services/jakarta.servlet.ServletContainerInitializer.
+ */
+public class MultipartLimits implements ServletContainerInitializer {
+    static final int FILE_SIZE_THRESHOLD = 1048576; // 1 Mo avant écriture disque
+
+    private static final Logger LOG = Logger.getLogger("com.framework.upload");
+
+    @Override
+    public void onStartup(Set<Class<?>> classes, ServletContext context) {
+        FrameworkConfig config = FrameworkConfig.of(context);
+        String fileSize = config.get("upload-max-file-size", null);
+        String requestSize = config.get("upload-max-request-size", null);
+        if (fileSize == null && requestSize == null) return; // configuration du conteneur conservée
+        MultipartConfigElement base = new MultipartConfigElement(FrontServlet.class.getAnnotation(MultipartConfig.class));
+        long maxFileSize = fileSize != null ? config.getLong("upload-max-file-size", 0) : base.getMaxFileSize();
+        long maxRequestSize = requestSize != null ? config.getLong("upload-max-request-size", 0) : base.getMaxRequestSize();
+        for (ServletRegistration registration : context.getServletRegistrations().values()) {
+            if (!FrontServlet.class.getName().equals(registration.getClassName())) continue;
+            if (registration instanceof ServletRegistration.Dynamic dynamic) {
+                dynamic.setMultipartConfig(new MultipartConfigElement(base.getLocation(),
+                        maxFileSize > 0 ? maxFileSize : -1, maxRequestSize > 0 ? maxRequestSize : -1, base.getFileSizeThreshold()));
+            } else {
+                // limites de @MultipartConfig (10 Mo / 50 Mo) ; les context-param restent vérifiés par le framework
+                LOG.warning("Configuration multipart de " + registration.getName() + " non modifiable : limites par défaut du conteneur");
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.framework.servlet;
+
+import com.framework.limit.RateLimiter;
+import com.framework.mapping.AnnotationStore;
+import com.framework.metrics.RequestTiming;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Mesure par phase des requêtes : en-tête Server-Timing et journal échantillonné
+ * des requêtes lentes. Désactivé (par défaut), {@link #start} renvoie null et le
+ * pipeline ne fait qu'un test de nullité par phase.
+ *
+ * Paramètres (context-param) : server-timing (false), slow-request-threshold
+ * (ms, "off" par défaut), slow-request-sample (part des requêtes lentes journalisées, 1.0),
+ * slow-request-log-rate (lignes par seconde au plus, 10).
+ */
+public class RequestTimings {
+    private static final Logger SLOW_LOG = Logger.getLogger("com.framework.slow-requests");
+
+    private final boolean serverTiming;
+    private final long slowThresholdNanos; // < 0 : journal désactivé
+    private final double sampleRate;
+    private final RateLimiter logRate;
+
+    public RequestTimings(FrameworkConfig config) {
+        this.serverTiming = config.getBoolean("server-timing", false);
+        String threshold = config.get("slow-request-threshold", "off");
+        this.slowThresholdNanos = "off".equals(threshold) ? -1 : TimeUnit.MILLISECONDS.toNanos(config.getLong("slow-request-threshold", 0));
+        this.sampleRate = config.getDouble("slow-request-sample", 1.0);
+        double perSecond = config.getDouble("slow-request-log-rate", 10);
+        this.logRate = perSecond > 0 ? new RateLimiter(perSecond, (int) Math.max(1, Math.ceil(perSecond))) : null;
+    }
+
+    public RequestTiming start(String method, String path) {
+        return serverTiming || slowThresholdNanos >= 0 ? new RequestTiming(method, path) : null;
+    }
+
+    /** Avant le rendu : après, les en-têtes peuvent déjà être partis. */
+    public void beforeRender(HttpServletResponse resp, RequestTiming timing) {
+        if (serverTiming && !resp.isCommitted()) resp.setHeader("Server-Timing", timing.toServerTiming());
+    }
+
+    /** Fin de la requête ; en asynchrone, la réponse peut déjà être terminée (et recyclée). */
+    public void finish(HttpServletResponse resp, AnnotationStore route, RequestTiming timing) {
+        long elapsed = timing.getElapsed();
+        String status = "?";
+        try {
+            // réponse encore en mémoire (petite, compressée ou capturée) : en-tête complet avec le rendu
+            if (serverTiming && !resp.isCommitted()) resp.setHeader("Server-Timing", timing.toServerTiming());
+            status = String.valueOf(resp.getStatus());
+        } catch (IllegalStateException ignored) {
+            // requête asynchrone déjà rendue au conteneur
+        }
+        if (slowThresholdNanos < 0 || elapsed < slowThresholdNanos) return;
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) return;
+        if (logRate != null && logRate.tryAcquire() != 0) return;
+        if (!SLOW_LOG.isLoggable(Level.WARNING)) return;
+        SLOW_LOG.warning("slow-request method=" + timing.getMethod() + " path=" + timing.getPath()
+                + " route=" + route.getUrl() + " status=" + status
+                + " total=" + String.format(Locale.ROOT, "%.3f", elapsed / 1e6) + "ms" + timing.toLogFields());
+    }
+}
@@ -0,0 +1,109 @@
+package com.framework.servlet;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * Compression gzip/deflate des réponses, négociée sur Accept-Encoding.
+ *
+ * Paramètres (context-param) : compression (true par défaut), compression-min-size
+ * (octets, 1024), compression-level (1 à 9, 6), compression-types (liste de types MIME
+ * séparés par des virgules, "text/*" accepté).
+ */
+public class ResponseCompression {
+    static final String DEFAULT_TYPES = "text/html,text/plain,text/css,text/csv,text/xml,text/javascript,"
+            + "application/json,application/cbor,application/x-ndjson,application/javascript,application/xml,image/svg+xml";
+
+    private final boolean enabled;
+    private final int minSize;
+    private final int level;
+    private final Set<String> types = new HashSet<>();
+    private final Set<String> typePrefixes = new HashSet<>();
+
+    public ResponseCompression(FrameworkConfig config) {
+        this.enabled = config.getBoolean("compression", true);
+        this.minSize = Math.max(0, config.getInt("compression-min-size", 1024));
+        int configured = config.getInt("compression-level", 6);
+        this.level = configured < Deflater.BEST_SPEED || configured > Deflater.BEST_COMPRESSION
+                ? Deflater.DEFAULT_COMPRESSION : configured;
+        for (String type : config.get("compression-types", DEFAULT_TYPES).split(",")) {
+            String t = type.trim().toLowerCase(Locale.ROOT);
+            if (t.endsWith("/*")) typePrefixes.add(t.substring(0, t.length() - 1));
+            else if (!t.isEmpty()) types.add(t);
+        }
+    }
+
+    /**
+     * Enveloppe la réponse dès que la compression est active, même si le client ne l'accepte pas :
+     * les réponses compressibles doivent toutes porter Vary: Accept-Encoding pour les caches HTTP.
+     */
+    public HttpServletResponse wrap(HttpServletRequest req, HttpServletResponse resp) {
+        if (!enabled || resp instanceof CompressingResponse) return resp;
+        return new CompressingResponse(resp, negotiate(req.getHeader("Accept-Encoding")), this);
+    }
+
+    /** Termine le flux compressé ; à appeler avant que la réponse ne soit rendue au conteneur. */
+    public static void finish(HttpServletResponse resp) throws IOException {
+        if (resp instanceof CompressingResponse c) c.finish();
+    }
+
+    /** Renonce à compresser une réponse dont l'écriture échappe au framework (dispatch asynchrone). */
+    public static void bypass(HttpServletResponse resp) {
+        if (resp instanceof CompressingResponse c) c.bypass();
+    }
+
+    /** La réponse sera compressée si elle est de ce type (le transfert direct sendfile est alors exclu). */
+    public static boolean compresses(HttpServletResponse resp, String contentType) {
+        return resp instanceof CompressingResponse c && c.getEncoding() != null && c.getSettings().compressible(contentType);
+    }
+
+    int getMinSize() { return minSize; }
+    int getLevel() { return level; }
+
+    boolean compressible(String contentType) {
+        if (contentType == null) return false;
+        int semicolon = contentType.indexOf(';');
+        String base = (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType).trim().toLowerCase(Locale.ROOT);
+        if (types.contains(base)) return true;
+        int slash = base.indexOf('/');
+        return slash > 0 && typePrefixes.contains(base.substring(0, slash + 1));
+    }
+
+    private static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) return null;
+        if (accepts(acceptEncoding, "gzip")) return "gzip";
+        if (accepts(acceptEncoding, "deflate")) return "deflate";
+        return null;
+    }
+
+    /** Le codage est listé dans Accept-Encoding (ou couvert par "*") avec q > 0. */
+    static boolean accepts(String header, String coding) {
+        Boolean wildcard = null;
+        for (String part : header.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String name = tokens[0].trim();
+            boolean exact = name.equalsIgnoreCase(coding);
+            if (!exact && !"*".equals(name)) continue;
+            boolean accepted = true;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (exact) return accepted;
+            wildcard = accepted;
+        }
+        return wildcard != null && wildcard;
+    }
+}
@@ -0,0 +1,378 @@
+package com.framework.servlet;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service des fichiers statiques quand aucune route ne correspond :
+ * ETag/Last-Modified et 304, requêtes Range, cache mémoire borné des petits
+ * fichiers, transfert sans copie pour les gros, et variantes .br/.gz précompressées.
+ *
+ * Paramètres (context-param) : static-cache-max-bytes, static-cache-max-file-size,
+ * static-check-interval (ms entre deux vérifications du disque), static-max-age (s).
+ */
+public class StaticResourceHandler {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    private final ServletContext context;
+    private final long cacheMaxBytes;
+    private final long cacheMaxFileSize;
+    private final long checkIntervalNanos;
+    private final String cacheControl;
+
+    private final Map<String, Resource> resources = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+
+    public StaticResourceHandler(ServletContext context, FrameworkConfig config) {
+        this.context = context;
+        this.cacheMaxBytes = config.getLong("static-cache-max-bytes", 16L * 1024 * 1024);
+        this.cacheMaxFileSize = config.getLong("static-cache-max-file-size", 64 * 1024);
+        this.checkIntervalNanos = config.getLong("static-check-interval", 2000) * 1_000_000L;
+        long maxAge = config.getLong("static-max-age", 0);
+        this.cacheControl = maxAge > 0 ? "public, max-age=" + maxAge : null;
+    }
+
+    /** @return false si aucun fichier ne correspond (le dispatcher répond 404) */
+    public boolean handle(String rawPath, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String path = normalize(rawPath);
+        if (path == null) return false;
+        String upper = path.toUpperCase(Locale.ROOT);
+        if (upper.startsWith("/WEB-INF") || upper.startsWith("/META-INF")) return false;
+
+        Resource resource = lookup(path);
+        if (resource == null) return false;
+
+        Representation rep = resource.select(req.getHeader("Accept-Encoding"));
+        if (resource.hasVariants()) resp.setHeader("Vary", "Accept-Encoding");
+        resp.setHeader("ETag", rep.etag);
+        resp.setDateHeader("Last-Modified", resource.lastModified);
+        resp.setHeader("Accept-Ranges", "bytes");
+        if (cacheControl != null) resp.setHeader("Cache-Control", cacheControl);
+
+        if (notModified(req, rep, resource.lastModified)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+
+        resp.setContentType(resource.mimeType);
+        if (rep.encoding != null) resp.setHeader("Content-Encoding", rep.encoding);
+
+        long start = 0;
+        long end = rep.length - 1;
+        String range = req.getHeader("Range");
+        if (range != null && rangeApplies(req, rep, resource.lastModified)) {
+            long[] bounds = parseRange(range, rep.length);
+            if (bounds == UNSATISFIABLE) {
+                resp.setHeader("Content-Range", "bytes */" + rep.length);
+                resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return true;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                end = bounds[1];
+                resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                resp.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + rep.length);
+            }
+        }
+        long count = end - start + 1;
+        resp.setContentLengthLong(count);
+        if ("HEAD".equals(req.getMethod()) || count <= 0) return true;
+
+        byte[] content = rep.content(this);
+        if (content != null) {
+            resp.getOutputStream().write(content, (int) start, (int) count);
+        } else if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(req.getAttribute(SENDFILE_SUPPORT))
+                && (rep.encoding != null || !ResponseCompression.compresses(resp, resource.mimeType))) {
+            // Tomcat envoie le fichier lui-même (sendfile) : aucune copie en espace utilisateur
+            req.setAttribute("org.apache.tomcat.sendfile.filename", rep.file.toAbsolutePath().toString());
+            req.setAttribute("org.apache.tomcat.sendfile.start", start);
+            req.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+        } else {
+            transfer(rep.file, start, count, resp.getOutputStream());
+        }
+        return true;
+    }
+
+    /**
+     * Chemin décodé, "//" réduits et "." retirés ; null si un segment ".." (ou un octet nul,
+     * une barre inverse) pourrait sortir du chemin vérifié : /x/../WEB-INF ne passe pas le garde.
+     */
+    static String normalize(String rawPath) {
+        String decoded;
+        try {
+            decoded = URLDecoder.decode(rawPath.replace("+", "%2B"), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null; // séquence % invalide
+        }
+        if (decoded.indexOf('\0') >= 0 || decoded.indexOf('\\') >= 0) return null;
+        StringBuilder path = new StringBuilder(decoded.length());
+        for (String segment : decoded.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) continue;
+            if ("..".equals(segment)) return null;
+            path.append('/').append(segment);
+        }
+        return path.length() == 0 ? "/" : path.toString();
+    }
+
+    private Resource lookup(String path) throws IOException {
+        long now = System.nanoTime();
+        Resource cached = resources.get(path);
+        if (cached != null && now - cached.checkedAt < checkIntervalNanos) return cached;
+
+        String realPath = context.getRealPath(path);
+        if (realPath == null) return null;
+        Path file = Paths.get(realPath);
+        BasicFileAttributes attrs = attributes(file);
+        if (attrs == null || !attrs.isRegularFile()) {
+            if (cached != null) evict(path, cached);
+            return null;
+        }
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        if (cached != null && cached.lastModified == lastModified && cached.identity.length == attrs.size()) {
+            cached.checkedAt = now;
+            return cached;
+        }
+
+        String mime = context.getMimeType(file.getFileName().toString());
+        Resource resource = new Resource(mime != null ? mime : "application/octet-stream", lastModified, now,
+                new Representation(file, attrs.size(), lastModified, null),
+                variant(file, ".br", "br"), variant(file, ".gz", "gzip"));
+        if (cached != null) evict(path, cached);
+        resources.put(path, resource);
+        return resource;
+    }
+
+    private static Representation variant(Path file, String suffix, String encoding) throws IOException {
+        Path sibling = file.resolveSibling(file.getFileName() + suffix);
+        BasicFileAttributes attrs = attributes(sibling);
+        if (attrs == null || !attrs.isRegularFile()) return null;
+        return new Representation(sibling, attrs.size(), attrs.lastModifiedTime().toMillis(), encoding);
+    }
+
+    private static BasicFileAttributes attributes(Path file) throws IOException {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static boolean notModified(HttpServletRequest req, Representation rep, long lastModified) {
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null) return etagMatches(ifNoneMatch, rep.etag);
+        long since = dateHeader(req, "If-Modified-Since");
+        return since >= 0 && lastModified / 1000 <= since / 1000;
+    }
+
+    // If-Range : on ne renvoie une portion que si le client a toujours la même version
+    private static boolean rangeApplies(HttpServletRequest req, Representation rep, long lastModified) {
+        String ifRange = req.getHeader("If-Range");
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"")) return ifRange.equals(rep.etag);
+        long date = dateHeader(req, "If-Range");
+        return date >= 0 && lastModified / 1000 <= date / 1000;
+    }
+
+    private static boolean etagMatches(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private static long dateHeader(HttpServletRequest req, String name) {
+        try {
+            return req.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    // une seule plage "bytes=a-b", "a-" ou "-n" ; plusieurs plages : fichier complet
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) return null;
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) return null;
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) return UNSATISFIABLE;
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                if (start >= length) return UNSATISFIABLE;
+                end = dash == spec.length() - 1 ? length - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1);
+                if (end < start) return null;
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void transfer(Path file, long start, long count, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long n = channel.transferTo(position, remaining, target);
+                if (n <= 0) break;
+                position += n;
+                remaining -= n;
+            }
+        }
+    }
+
+    // réserve la place dans le budget mémoire, en évinçant les contenus les moins récemment servis
+    private boolean reserve(long size) {
+        while (true) {
+            long current = cachedBytes.get();
+            if (current + size <= cacheMaxBytes) {
+                if (cachedBytes.compareAndSet(current, current + size)) return true;
+                continue;
+            }
+            if (!evictOldest()) return false;
+        }
+    }
+
+    private boolean evictOldest() {
+        Representation oldest = null;
+        for (Resource resource : resources.values()) {
+            for (Representation rep : resource.representations()) {
+                if (rep != null && rep.bytes != null && (oldest == null || rep.lastAccess < oldest.lastAccess)) {
+                    oldest = rep;
+                }
+            }
+        }
+        return oldest != null && oldest.release(cachedBytes);
+    }
+
+    private void evict(String path, Resource resource) {
+        resources.remove(path, resource);
+        for (Representation rep : resource.representations()) {
+            if (rep != null) rep.retire(cachedBytes);
+        }
+    }
+
+    private static final class Resource {
+        final String mimeType;
+        final long lastModified;
+        final Representation identity;
+        final Representation brotli;
+        final Representation gzip;
+        volatile long checkedAt;
+
+        Resource(String mimeType, long lastModified, long checkedAt,
+                 Representation identity, Representation brotli, Representation gzip) {
+            this.mimeType = mimeType;
+            this.lastModified = lastModified;
+            this.checkedAt = checkedAt;
+            this.identity = identity;
+            this.brotli = brotli;
+            this.gzip = gzip;
+        }
+
+        boolean hasVariants() {
+            return brotli != null || gzip != null;
+        }
+
+        Representation[] representations() {
+            return new Representation[] {identity, brotli, gzip};
+        }
+
+        Representation select(String acceptEncoding) {
+            if (acceptEncoding == null || !hasVariants()) return identity;
+            if (brotli != null && ResponseCompression.accepts(acceptEncoding, "br")) return brotli;
+            if (gzip != null && ResponseCompression.accepts(acceptEncoding, "gzip")) return gzip;
+            return identity;
+        }
+    }
+
+    private static final class Representation {
+        final Path file;
+        final long length;
+        final String etag;
+        final String encoding;
+        volatile byte[] bytes;
+        volatile long lastAccess;
+        private final AtomicBoolean loading = new AtomicBoolean();
+        private boolean retired;
+
+        Representation(Path file, long length, long lastModified, String encoding) {
+            this.file = file;
+            this.length = length;
+            this.encoding = encoding;
+            this.etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified)
+                    + (encoding != null ? "-" + encoding : "") + "\"";
+        }
+
+        // null : pas (encore) en cache, le fichier est servi depuis le disque
+        byte[] content(StaticResourceHandler handler) throws IOException {
+            lastAccess = System.nanoTime();
+            byte[] cached = bytes;
+            if (cached != null || length > handler.cacheMaxFileSize || length > handler.cacheMaxBytes) return cached;
+            if (!loading.compareAndSet(false, true)) return null; // un seul chargement à la fois
+            try {
+                if (!handler.reserve(length)) return null;
+                byte[] data;
+                try {
+                    data = Files.readAllBytes(file);
+                } catch (IOException | RuntimeException | Error e) {
+                    handler.cachedBytes.addAndGet(-length); // fichier supprimé ou illisible : réservation rendue
+                    throw e;
+                }
+                synchronized (this) {
+                    if (data.length == length && !retired) {
+                        bytes = data;
+                        return data;
+                    }
+                }
+                handler.cachedBytes.addAndGet(-length); // modifié pendant la lecture, ou déjà remplacé
+                return null;
+            } finally {
+                loading.set(false);
+            }
+        }
+
+        synchronized boolean release(AtomicLong counter) {
+            if (bytes == null) return false;
+            bytes = null;
+            counter.addAndGet(-length);
+            return true;
+        }
+
+        synchronized void retire(AtomicLong counter) {
+            retired = true;
+            release(counter);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.framework.servlet;
+
+import com.framework.json.JsonSerializer;
+import com.framework.json.JsonWriter;
+import com.framework.json.ResponseFormat;
+import com.framework.json.SequenceFlusher;
+import com.framework.model.ServerSentEvent;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Résultats écrits au fil de leur producteur (Stream, Iterator, Iterable) : la mémoire reste
+ * constante quelle que soit la taille de la séquence. Une séquence @Json est envoyée au client
+ * au moins toutes les stream-flush-interval ms (100) ; un événement @EventStream dès qu'il est
+ * produit. Un client parti (écriture impossible) arrête et ferme le producteur, sans erreur
+ * journalisée. Une erreur du producteur après les premiers octets coupe la réponse.
+ */
+public class StreamingResponses {
+    private static final Logger LOG = Logger.getLogger("com.framework.streaming");
+    private static final byte[] ID = "id: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENT = "event: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RETRY = "retry: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DATA = "data: ".getBytes(StandardCharsets.UTF_8);
+    private static final Pattern LINES = Pattern.compile("\r\n|\r|\n");
+
+    private final long flushIntervalNanos;
+
+    public StreamingResponses(FrameworkConfig config) {
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(config.getLong("stream-flush-interval", 100));
+    }
+
+    /** Séquence d'une route @Json ; une Collection, déjà en mémoire, n'est pas envoyée par morceaux. */
+    public void write(HttpServletResponse resp, ResponseFormat format, Object items) throws IOException {
+        long interval = items instanceof Collection ? -1 : flushIntervalNanos;
+        try {
+            format.writeSequence(resp.getOutputStream(), items, new SequenceFlusher(resp::flushBuffer, interval));
+        } catch (IOException e) {
+            disconnected(e);
+        }
+    }
+
+    /** Route @EventStream : un événement par élément, une valeur seule fait un événement. */
+    public void writeEvents(HttpServletResponse resp, Object result) throws IOException {
+        resp.setStatus(200);
+        resp.setContentType("text/event-stream;charset=UTF-8");
+        resp.setHeader("Cache-Control", "no-cache");
+        resp.setHeader("X-Accel-Buffering", "no"); // nginx : pas de mise en tampon du flux
+        Object events = JsonSerializer.isSequence(result) ? result : Collections.singletonList(result);
+        try {
+            resp.flushBuffer(); // en-têtes envoyés avant le premier événement : le client est connecté
+            JsonWriter w = new JsonWriter(resp.getOutputStream());
+            Iterator<?> it = JsonSerializer.iterator(events);
+            try {
+                while (it.hasNext()) {
+                    writeEvent(w, it.next());
+                    w.flush();
+                    resp.flushBuffer();
+                }
+            } finally {
+                JsonSerializer.close(events);
+            }
+        } catch (IOException e) {
+            disconnected(e);
+        }
+    }
+
+    private static void writeEvent(JsonWriter w, Object item) throws IOException {
+        Object data = item;
+        if (item instanceof ServerSentEvent event) {
+            // ServerSentEvent refuse déjà CR/LF, mais ses getters sont redéfinissables
+            if (event.getId() != null) field(w, ID, LINES.matcher(event.getId()).replaceAll(""));
+            if (event.getEvent() != null) field(w, EVENT, LINES.matcher(event.getEvent()).replaceAll(""));
+            if (event.getRetry() >= 0) {
+                w.writeRaw(RETRY);
+                w.writeNumber(event.getRetry());
+                w.writeByte('\n');
+            }
+            data = event.getData();
+        }
+        if (data instanceof CharSequence text) {
+            for (String line : LINES.split(text, -1)) field(w, DATA, line);
+        } else if (data != null || !(item instanceof ServerSentEvent)) {
+            // le JSON produit n'a pas de saut de ligne : une seule ligne data
+            w.writeRaw(DATA);
+            JsonSerializer.write(w, data);
+            w.writeByte('\n');
+        }
+        w.writeByte('\n');
+    }
+
+    private static void field(JsonWriter w, byte[] name, String value) throws IOException {
+        w.writeRaw(name);
+        w.writeRaw(value.getBytes(StandardCharsets.UTF_8));
+        w.writeByte('\n');
+    }
+
+    private static void disconnected(IOException e) {
+        if (LOG.isLoggable(Level.FINE)) LOG.fine("Envoi interrompu, client déconnecté : " + e);
+    }
+}
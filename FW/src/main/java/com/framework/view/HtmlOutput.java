@@ -0,0 +1,81 @@
+package com.framework.view;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Sortie d'un template : tampon d'octets, texte encodé en UTF-8 à la volée,
+ * échappement HTML des valeurs sans String intermédiaire.
+ */
+final class HtmlOutput {
+    private final OutputStream out;
+    private final byte[] buf = new byte[8192];
+    private int pos;
+
+    HtmlOutput(OutputStream out) {
+        this.out = out;
+    }
+
+    void write(byte[] bytes) throws IOException {
+        if (bytes.length > buf.length - pos) {
+            flushBuffer();
+            if (bytes.length > buf.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    void write(CharSequence s, boolean escape) throws IOException {
+        for (int i = 0, len = s.length(); i < len; i++) {
+            if (buf.length - pos < 6) flushBuffer(); // "&quot;" ou 4 octets UTF-8
+            char c = s.charAt(i);
+            if (escape) {
+                switch (c) {
+                    case '&': ascii("&amp;"); continue;
+                    case '<': ascii("&lt;"); continue;
+                    case '>': ascii("&gt;"); continue;
+                    case '"': ascii("&quot;"); continue;
+                    case '\'': ascii("&#39;"); continue;
+                    default:
+                }
+            }
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?'; // demi-paire isolée
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void ascii(String s) {
+        for (int i = 0; i < s.length(); i++) buf[pos++] = (byte) s.charAt(i);
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+    void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+}
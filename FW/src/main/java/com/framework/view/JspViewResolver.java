@@ -0,0 +1,46 @@
+package com.framework.view;
+
+import com.framework.servlet.FrameworkConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.Map;
+
+/**
+ * Résolveur de repli : /WEB-INF/views/{nom}.jsp, rendu par le moteur JSP du conteneur.
+ */
+public class JspViewResolver implements ViewResolver {
+    private String prefix;
+
+    @Override
+    public void init(ServletContext context, FrameworkConfig config) {
+        prefix = ViewResolvers.prefix(config);
+    }
+
+    @Override
+    public View resolve(String viewName) {
+        String path = viewName.startsWith("/") ? viewName : "/" + viewName;
+        if (!path.endsWith(".jsp")) path += ".jsp";
+        return new JspView(prefix + path);
+    }
+
+    static final class JspView implements View {
+        private final String path;
+
+        JspView(String path) {
+            this.path = path;
+        }
+
+        @Override
+        public void render(Map<String, Object> model, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+            model.forEach(req::setAttribute);
+            req.getRequestDispatcher(path).forward(req, resp);
+        }
+
+        @Override
+        public String getDispatchPath() {
+            return path;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.framework.view;
+
+import com.framework.json.BeanMetadata;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template compilé : le texte est analysé une seule fois en une suite de nœuds
+ * (texte déjà encodé en UTF-8, expressions découpées), rendue directement dans le flux.
+ *
+ * Syntaxe :
+ *   {{ a.b.c }}                   valeur échappée (HTML)
+ *   {{{ a.b }}}                   valeur brute
+ *   {{#if expr}} ... {{else}} ... {{/if}}
+ *   {{#each expr as item}} ... {{/each}}   ({{@index}} : rang, à partir de 0)
+ *   {{> autre/vue}}               inclusion d'un autre template
+ *   {{! commentaire }}
+ */
+public final class Template {
+    private static final int MAX_INCLUDE_DEPTH = 32;
+
+    /** Templates inclus ({{> nom}}), résolus au rendu pour profiter du rechargement. */
+    interface Loader {
+        Template load(String name) throws IOException;
+    }
+
+    private final String name;
+    private final Node[] nodes;
+
+    private Template(String name, Node[] nodes) {
+        this.name = name;
+        this.nodes = nodes;
+    }
+
+    public String getName() { return name; }
+
+    public void render(Map<String, ?> model, OutputStream out) throws IOException {
+        HtmlOutput html = new HtmlOutput(out);
+        render(new Frame(null, model, null, null, -1), html, 0);
+        html.flush();
+    }
+
+    void render(Frame frame, HtmlOutput out, int depth) throws IOException {
+        if (depth > MAX_INCLUDE_DEPTH) throw new IllegalStateException("Inclusions trop profondes (boucle ?) dans " + name);
+        for (Node node : nodes) node.render(frame, out, depth);
+    }
+
+    // ---- compilation ---------------------------------------------------------------------
+
+    static Template compile(String name, String source, Loader loader) {
+        Parser parser = new Parser(name, source, loader);
+        List<Node> nodes = parser.parse(null);
+        return new Template(name, nodes.toArray(new Node[0]));
+    }
+
+    private static final class Parser {
+        private final String name;
+        private final String src;
+        private final Loader loader;
+        private int pos;
+        private String closing; // dernière balise fermante ou {{else}} rencontrée
+
+        Parser(String name, String src, Loader loader) {
+            this.name = name;
+            this.src = src;
+            this.loader = loader;
+        }
+
+        // jusqu'à {{/end}} (ou {{else}} dans un if) ; end null : jusqu'à la fin du texte
+        List<Node> parse(String end) {
+            List<Node> nodes = new ArrayList<>();
+            while (pos < src.length()) {
+                int open = src.indexOf("{{", pos);
+                if (open < 0) {
+                    nodes.add(new Text(src.substring(pos)));
+                    pos = src.length();
+                    break;
+                }
+                if (open > pos) nodes.add(new Text(src.substring(pos, open)));
+                boolean raw = src.startsWith("{{{", open);
+                int close = src.indexOf(raw ? "}}}" : "}}", open);
+                if (close < 0) throw error(open, "balise non fermée");
+                String tag = src.substring(open + (raw ? 3 : 2), close).trim();
+                pos = close + (raw ? 3 : 2);
+
+                if (raw) {
+                    nodes.add(new Value(path(tag, open), false));
+                } else if (tag.startsWith("!")) {
+                    // commentaire
+                } else if (tag.startsWith("#if ")) {
+                    String[] condition = path(tag.substring(4).trim(), open);
+                    Node[] then = parse("if").toArray(new Node[0]);
+                    Node[] otherwise = new Node[0];
+                    if ("else".equals(closing)) otherwise = parse("if").toArray(new Node[0]);
+                    if (!"/if".equals(closing)) throw error(open, "{{/if}} manquant");
+                    nodes.add(new If(condition, then, otherwise));
+                } else if (tag.startsWith("#each ")) {
+                    String[] parts = tag.substring(6).trim().split("\\s+as\\s+");
+                    if (parts.length != 2) throw error(open, "syntaxe attendue : {{#each liste as element}}");
+                    String[] items = path(parts[0].trim(), open);
+                    String var = parts[1].trim();
+                    Node[] body = parse("each").toArray(new Node[0]);
+                    if (!"/each".equals(closing)) throw error(open, "{{/each}} manquant");
+                    nodes.add(new Each(items, var, body));
+                } else if (tag.startsWith(">")) {
+                    nodes.add(new Include(tag.substring(1).trim(), loader));
+                } else if (tag.equals("else") || tag.startsWith("/")) {
+                    if (end == null || !(tag.equals("/" + end) || ("else".equals(tag) && "if".equals(end)))) {
+                        throw error(open, "balise {{" + tag + "}} inattendue");
+                    }
+                    closing = tag;
+                    return nodes;
+                } else {
+                    nodes.add(new Value(path(tag, open), true));
+                }
+            }
+            closing = null;
+            if (end != null) throw error(pos, "{{/" + end + "}} manquant");
+            return nodes;
+        }
+
+        private String[] path(String expr, int at) {
+            if (expr.isEmpty()) throw error(at, "expression vide");
+            String[] segments = expr.split("\\.");
+            for (String s : segments) {
+                if (s.isEmpty()) throw error(at, "expression invalide : " + expr);
+            }
+            return segments;
+        }
+
+        private IllegalStateException error(int at, String message) {
+            int line = 1;
+            for (int i = 0; i < at && i < src.length(); i++) if (src.charAt(i) == '\n') line++;
+            return new IllegalStateException("Template " + name + ", ligne " + line + " : " + message);
+        }
+    }
+
+    // ---- rendu ---------------------------------------------------------------------------
+
+    /** Variables visibles : modèle à la racine, variable de boucle dans les {{#each}}. */
+    private static final class Frame {
+        final Frame parent;
+        final Map<String, ?> model;
+        final String var;
+        final Object value;
+        final int index;
+
+        Frame(Frame parent, Map<String, ?> model, String var, Object value, int index) {
+            this.parent = parent;
+            this.model = model;
+            this.var = var;
+            this.value = value;
+            this.index = index;
+        }
+
+        Object lookup(String name) {
+            for (Frame f = this; f != null; f = f.parent) {
+                if (f.model != null) return f.model.get(name);
+                if (name.equals(f.var)) return f.value;
+                if (f.index >= 0 && "@index".equals(name)) return f.index;
+            }
+            return null;
+        }
+    }
+
+    private interface Node {
+        void render(Frame frame, HtmlOutput out, int depth) throws IOException;
+    }
+
+    static Object resolve(Frame frame, String[] path) {
+        Object value = frame.lookup(path[0]);
+        for (int i = 1; i < path.length && value != null; i++) {
+            value = property(value, path[i]);
+        }
+        return value;
+    }
+
+    private static Object property(Object target, String name) {
+        if (target instanceof Map<?, ?> map) return map.get(name);
+        if (target instanceof Map.Entry<?, ?> entry) {
+            if ("key".equals(name)) return entry.getKey();
+            if ("value".equals(name)) return entry.getValue();
+        }
+        if ("size".equals(name) || "length".equals(name)) {
+            if (target instanceof Collection<?> c) return c.size();
+            if (target instanceof CharSequence s) return s.length();
+            if (target.getClass().isArray()) return Array.getLength(target);
+        }
+        BeanMetadata.Property property = BeanMetadata.of(target.getClass()).getProperty(name);
+        return property != null ? property.get(target) : null;
+    }
+
+    static boolean truthy(Object value) {
+        if (value == null) return false;
+        if (value instanceof Boolean b) return b;
+        if (value instanceof CharSequence s) return s.length() > 0;
+        if (value instanceof Collection<?> c) return !c.isEmpty();
+        if (value instanceof Map<?, ?> m) return !m.isEmpty();
+        if (value instanceof Number n) return n.doubleValue() != 0;
+        if (value.getClass().isArray()) return Array.getLength(value) > 0;
+        return true;
+    }
+
+    private static final class Text implements Node {
+        private final byte[] bytes;
+
+        Text(String text) {
+            this.bytes = text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void render(Frame frame, HtmlOutput out, int depth) throws IOException {
+            out.write(bytes);
+        }
+    }
+
+    private static final class Value implements Node {
+        private final String[] path;
+        private final boolean escape;
+
+        Value(String[] path, boolean escape) {
+            this.path = path;
+            this.escape = escape;
+        }
+
+        @Override
+        public void render(Frame frame, HtmlOutput out, int depth) throws IOException {
+            Object value = resolve(frame, path);
+            if (value == null) return;
+            out.write(value instanceof CharSequence s ? s : value.toString(), escape);
+        }
+    }
+
+    private static final class If implements Node {
+        private final String[] condition;
+        private final Node[] then;
+        private final Node[] otherwise;
+
+        If(String[] condition, Node[] then, Node[] otherwise) {
+            this.condition = condition;
+            this.then = then;
+            this.otherwise = otherwise;
+        }
+
+        @Override
+        public void render(Frame frame, HtmlOutput out, int depth) throws IOException {
+            for (Node node : truthy(resolve(frame, condition)) ? then : otherwise) node.render(frame, out, depth);
+        }
+    }
+
+    private static final class Each implements Node {
+        private final String[] items;
+        private final String var;
+        private final Node[] body;
+
+        Each(String[] items, String var, Node[] body) {
+            this.items = items;
+            this.var = var;
+            this.body = body;
+        }
+
+        @Override
+        public void render(Frame frame, HtmlOutput out, int depth) throws IOException {
+            Object value = resolve(frame, items);
+            if (value == null) return;
+            Iterator<?> it;
+            if (value instanceof Iterable<?> iterable) it = iterable.iterator();
+            else if (value instanceof Map<?, ?> map) it = map.entrySet().iterator();
+            else if (value instanceof Iterator<?> iterator) it = iterator;
+            else if (value.getClass().isArray()) {
+                int len = Array.getLength(value);
+                for (int i = 0; i < len; i++) renderItem(frame, Array.get(value, i), i, out, depth);
+                return;
+            } else {
+                throw new IllegalStateException("{{#each}} sur une valeur non itérable : " + value.getClass().getName());
+            }
+            for (int i = 0; it.hasNext(); i++) renderItem(frame, it.next(), i, out, depth);
+        }
+
+        private void renderItem(Frame frame, Object item, int index, HtmlOutput out, int depth) throws IOException {
+            Frame inner = new Frame(frame, null, var, item, index);
+            for (Node node : body) node.render(inner, out, depth);
+        }
+    }
+
+    private static final class Include implements Node {
+        private final String name;
+        private final Loader loader;
+
+        Include(String name, Loader loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        @Override
+        public void render(Frame frame, HtmlOutput out, int depth) throws IOException {
+            Template template = loader.load(name);
+            if (template == null) throw new IllegalStateException("Template inclus introuvable : " + name);
+            template.render(frame, out, depth + 1);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.framework.view;
+
+import com.framework.servlet.FrameworkConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moteur de templates intégré : /WEB-INF/views/{nom}.html, compilé à la première
+ * utilisation puis gardé en mémoire (voir {@link Template} pour la syntaxe).
+ * Avec view-reload, un template modifié sur disque est recompilé au rendu suivant.
+ */
+public class TemplateViewResolver implements ViewResolver {
+    private ServletContext context;
+    private String prefix;
+    private String suffix;
+    private boolean reload;
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+
+    @Override
+    public void init(ServletContext context, FrameworkConfig config) {
+        this.context = context;
+        this.prefix = ViewResolvers.prefix(config);
+        this.suffix = config.get("view-template-suffix", ".html");
+        this.reload = config.getBoolean("view-reload", false);
+    }
+
+    @Override
+    public View resolve(String viewName) throws IOException {
+        if (viewName.endsWith(".jsp")) return null;
+        Source source = source(viewName);
+        return source != null ? new TemplateView(source) : null;
+    }
+
+    private Source source(String viewName) throws IOException {
+        Source source = sources.get(viewName);
+        if (source != null) {
+            if (!(reload && source.deleted())) return source;
+            sources.remove(viewName, source);
+        }
+        String path = prefix + (viewName.startsWith("/") ? viewName : "/" + viewName);
+        if (!path.endsWith(suffix)) path += suffix;
+        URL url = context.getResource(path);
+        if (url == null) return null;
+        source = new Source(viewName, url);
+        Source previous = sources.putIfAbsent(viewName, source);
+        return previous != null ? previous : source;
+    }
+
+    private Template load(String viewName) throws IOException {
+        Source source = source(viewName);
+        return source != null ? source.template() : null;
+    }
+
+    /** Fichier d'un template et sa forme compilée. */
+    private final class Source {
+        private final String name;
+        private final URL url;
+        private final Path file; // null si le template n'est pas un fichier (archive) : pas de rechargement
+        private volatile Template template;
+        private volatile long lastModified;
+
+        Source(String name, URL url) {
+            this.name = name;
+            this.url = url;
+            Path path = null;
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    path = Paths.get(url.toURI());
+                } catch (URISyntaxException | IllegalArgumentException ignored) {
+                    // chemin non convertible : lu par l'URL, sans rechargement
+                }
+            }
+            this.file = path;
+        }
+
+        Template template() throws IOException {
+            Template t = template;
+            if (t != null && !(reload && file != null && modified())) return t;
+            synchronized (this) {
+                if (template == null || (reload && file != null && modified())) {
+                    long stamp = file != null ? lastModified() : 0;
+                    template = Template.compile(name, read(), TemplateViewResolver.this::load);
+                    lastModified = stamp;
+                }
+                return template;
+            }
+        }
+
+        boolean deleted() {
+            return file != null && !Files.isRegularFile(file);
+        }
+
+        private boolean modified() throws IOException {
+            return lastModified() != lastModified;
+        }
+
+        private long lastModified() throws IOException {
+            try {
+                return Files.getLastModifiedTime(file).toMillis();
+            } catch (NoSuchFileException e) {
+                return -1;
+            }
+        }
+
+        private String read() throws IOException {
+            if (file != null) return Files.readString(file, StandardCharsets.UTF_8);
+            try (InputStream in = url.openStream()) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private static final class TemplateView implements View {
+        private final Source source;
+
+        TemplateView(Source source) {
+            this.source = source;
+        }
+
+        @Override
+        public void render(Map<String, Object> model, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+            Template template = source.template();
+            if (resp.getContentType() == null) resp.setContentType("text/html;charset=UTF-8");
+            template.render(model, resp.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.framework.view;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.Map;
+
+/**
+ * Vue résolue une fois par nom, puis rendue à chaque requête.
+ */
+public interface View {
+
+    void render(Map<String, Object> model, HttpServletRequest req, HttpServletResponse resp) throws Exception;
+
+    /**
+     * Chemin confié au conteneur (forward, ou dispatch en mode asynchrone) au lieu de {@link #render},
+     * le modèle étant alors copié dans les attributs de requête. null : rendu direct.
+     */
+    default String getDispatchPath() {
+        return null;
+    }
+}
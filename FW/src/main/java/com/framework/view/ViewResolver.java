@@ -0,0 +1,17 @@
+package com.framework.view;
+
+import com.framework.servlet.FrameworkConfig;
+import jakarta.servlet.ServletContext;
+
+/**
+ * Point d'extension : transforme un nom de vue (ModelView.getView()) en {@link View}.
+ * Les implémentations déclarées dans META-INF/services/com.framework.view.ViewResolver
+ * sont consultées avant les résolveurs intégrés (templates, puis JSP).
+ */
+public interface ViewResolver {
+
+    default void init(ServletContext context, FrameworkConfig config) throws Exception {}
+
+    /** null si ce résolveur ne connaît pas la vue : le suivant est essayé. */
+    View resolve(String viewName) throws Exception;
+}
@@ -0,0 +1,51 @@
+package com.framework.view;
+
+import com.framework.servlet.FrameworkConfig;
+import jakarta.servlet.ServletContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chaîne des résolveurs (SPI, templates, JSP) avec cache nom → vue :
+ * la résolution (chemins, existence du fichier, compilation) n'a lieu qu'une fois par nom.
+ *
+ * Paramètres (context-param) : view-prefix ("/WEB-INF/views"), view-template-suffix (".html"),
+ * view-reload (false ; true en développement : templates relus quand le fichier change).
+ */
+public class ViewResolvers {
+    private final List<ViewResolver> resolvers = new ArrayList<>();
+    private final Map<String, View> cache = new ConcurrentHashMap<>();
+    private final boolean reload;
+
+    public ViewResolvers(ServletContext context, FrameworkConfig config) throws Exception {
+        this.reload = config.getBoolean("view-reload", false);
+        for (ViewResolver resolver : ServiceLoader.load(ViewResolver.class, Thread.currentThread().getContextClassLoader())) {
+            resolvers.add(resolver);
+        }
+        resolvers.add(new TemplateViewResolver());
+        resolvers.add(new JspViewResolver());
+        for (ViewResolver resolver : resolvers) resolver.init(context, config);
+    }
+
+    static String prefix(FrameworkConfig config) {
+        String prefix = config.get("view-prefix", "/WEB-INF/views");
+        return prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+    }
+
+    public View resolve(String viewName) throws Exception {
+        View view = cache.get(viewName);
+        if (view != null) return view;
+        for (ViewResolver resolver : resolvers) {
+            view = resolver.resolve(viewName);
+            if (view != null) break;
+        }
+        if (view == null) throw new IllegalStateException("Vue introuvable : " + viewName);
+        // en développement, un template ajouté après coup doit pouvoir remplacer la JSP
+        if (!reload) cache.put(viewName, view);
+        return view;
+    }
+}
@@ -0,0 +1,62 @@
+package com.framework.embedded;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmbeddedServerTest {
+    private static EmbeddedServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void start() throws Exception {
+        // port libre ; pas d'index compilé (proc=none) ni de MBeans entre deux exécutions
+        server = EmbeddedServer.start(Map.of("controller-package", "com.framework.embedded.testapp",
+                "port", "0", "host", "127.0.0.1", "route-index", "false", "metrics-jmx", "false"));
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stop() {
+        if (server != null) server.close();
+    }
+
+    @Test
+    void servesJsonRoute() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/greeting/hello?name=Ana")).GET());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+        assertEquals("{\"status\":\"success\",\"code\":200,\"data\":{\"message\":\"Bonjour Ana\"}}", response.body());
+    }
+
+    @Test
+    void bindsUrlEncodedForm() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/greeting/form"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("name=%C3%89lise")));
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"status\":\"success\",\"code\":200,\"data\":{\"name\":\"Élise\"}}", response.body());
+    }
+
+    @Test
+    void unknownRouteIs404() throws Exception {
+        assertEquals(404, send(HttpRequest.newBuilder(uri("/absent")).GET()).statusCode());
+    }
+
+    private static URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
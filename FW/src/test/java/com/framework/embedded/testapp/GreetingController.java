@@ -0,0 +1,24 @@
+package com.framework.embedded.testapp;
+
+import com.framework.annotation.Controller;
+import com.framework.annotation.Json;
+import com.framework.annotation.Path;
+import com.framework.annotation.RequestParam;
+
+import java.util.Map;
+
+@Controller(url = "/greeting")
+public class GreetingController {
+
+    @Path(url = "/hello")
+    @Json
+    public Map<String, String> hello(@RequestParam("name") String name) {
+        return Map.of("message", "Bonjour " + name);
+    }
+
+    @Path(url = "/form", method = "POST")
+    @Json
+    public Map<String, String> form(@RequestParam("name") String name) {
+        return Map.of("name", name);
+    }
+}
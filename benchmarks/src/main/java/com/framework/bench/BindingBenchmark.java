@@ -0,0 +1,102 @@
+package com.framework.bench;
+
+import com.framework.annotation.ModelAttribute;
+import com.framework.annotation.Param;
+import com.framework.annotation.RequestParam;
+import com.framework.bench.stub.StubRequest;
+import com.framework.binding.BindingContext;
+import com.framework.binding.ParamBinder;
+import com.framework.binding.ParamBinders;
+import com.framework.binding.ServletBindingContext;
+import com.framework.binding.UploadSettings;
+import com.framework.mapping.MappingStore;
+import com.framework.mapping.AnnotationStore;
+import com.framework.mapping.RouteMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boucle de binding de FrontServlet.dispatch : variables de chemin converties
+ * et @RequestParam (présents ou par défaut), ou les mêmes champs remplis dans
+ * un bean @ModelAttribute, sur une requête en mémoire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindingBenchmark {
+    private static final String URL = "/shops/{shopId}/orders/{orderId}";
+
+    private StubRequest request;
+    private RouteMatch match;
+    private ParamBinder[] binders;
+    private ParamBinder[] modelBinders;
+    private UploadSettings uploadSettings;
+
+    @Setup
+    public void setUp() throws Exception {
+        Method handler = BindingBenchmark.class.getDeclaredMethod("handler",
+                long.class, int.class, String.class, int.class, boolean.class, double.class);
+        MappingStore store = new MappingStore();
+        store.addMapping("GET:" + URL, new AnnotationStore(BindingBenchmark.class, handler, URL, "GET"));
+        match = store.match("/shops/42/orders/1337", "GET");
+        binders = match.getStore().getBinders();
+        Method modelHandler = BindingBenchmark.class.getDeclaredMethod("modelHandler", long.class, int.class, Search.class);
+        modelBinders = ParamBinders.plan(modelHandler, URL);
+        request = new StubRequest("GET", "/shops/42/orders/1337")
+                .param("q", "chaussures de randonnée")
+                .param("page", "3")
+                .param("inStock", "on");
+        uploadSettings = new UploadSettings(Paths.get(System.getProperty("java.io.tmpdir")), 0, 0);
+    }
+
+    @Benchmark
+    public Object[] bind() throws Exception {
+        BindingContext ctx = new ServletBindingContext(request, match, uploadSettings);
+        return ParamBinders.bind(binders, ctx);
+    }
+
+    @Benchmark
+    public Object[] bindModelAttribute() throws Exception {
+        BindingContext ctx = new ServletBindingContext(request, match, uploadSettings);
+        return ParamBinders.bind(modelBinders, ctx);
+    }
+
+    public static class Search {
+        private String q;
+        private int page;
+        private boolean inStock;
+        private double maxPrice = 99.90;
+
+        public void setQ(String q) { this.q = q; }
+        public void setPage(int page) { this.page = page; }
+        public void setInStock(boolean inStock) { this.inStock = inStock; }
+        public void setMaxPrice(double maxPrice) { this.maxPrice = maxPrice; }
+    }
+
+    @SuppressWarnings("unused")
+    private void modelHandler(@Param("shopId") long shopId, @Param("orderId") int orderId, @ModelAttribute Search search) {
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(@Param("shopId") long shopId, @Param("orderId") int orderId,
+                         @RequestParam("q") String query,
+                         @RequestParam(value = "page", required = false, defaultValue = "0") int page,
+                         @RequestParam(value = "inStock", required = false, defaultValue = "false") boolean inStock,
+                         @RequestParam(value = "maxPrice", required = false, defaultValue = "99.90") double maxPrice) {
+    }
+}
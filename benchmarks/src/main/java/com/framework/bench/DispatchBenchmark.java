@@ -0,0 +1,82 @@
+package com.framework.bench;
+
+import com.framework.bench.stub.StubContainer;
+import com.framework.bench.stub.StubRequest;
+import com.framework.bench.stub.StubResponse;
+import com.framework.servlet.FrontServlet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requête complète à travers FrontServlet.service : routage, binding, appel du
+ * controller puis rendu (forward ModelView ou enveloppe JSON), sans conteneur.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+    private FrontServlet servlet;
+    private StubRequest modelView;
+    private StubRequest jsonObject;
+    private StubRequest jsonList;
+    private StubResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        servlet = StubContainer.init(new FrontServlet(), Map.of(
+                "controller-package", "com.framework.bench.controllers",
+                "route-index", "false",
+                "metrics-jmx", "false"));
+        modelView = new StubRequest("GET", "/catalog/products/7");
+        jsonObject = new StubRequest("GET", "/catalog/api/products/7");
+        jsonList = new StubRequest("GET", "/catalog/api/products").param("size", "20");
+        response = new StubResponse();
+
+        servlet.service(modelView, response);
+        if (!"/WEB-INF/views/products/show.jsp".equals(modelView.getForwardedTo())) {
+            throw new IllegalStateException("Forward inattendu : " + modelView.getForwardedTo());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        servlet.destroy();
+    }
+
+    private long run(StubRequest request) throws Exception {
+        request.reset();
+        response.reset();
+        servlet.service(request, response);
+        return response.getBytesWritten();
+    }
+
+    @Benchmark
+    public long modelView() throws Exception {
+        return run(modelView);
+    }
+
+    @Benchmark
+    public long jsonObject() throws Exception {
+        return run(jsonObject);
+    }
+
+    @Benchmark
+    public long jsonList() throws Exception {
+        return run(jsonList);
+    }
+}
@@ -0,0 +1,56 @@
+package com.framework.bench;
+
+import com.framework.mapping.RouteInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare Method.invoke (avec setAccessible à chaque appel, comme avant)
+ * et RouteInvoker sur une route à paramètres primitifs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokerBenchmark {
+    private Method method;
+    private RouteInvoker invoker;
+    private InvokerBenchmark controller;
+    private Object[] callArgs;
+
+    @Setup
+    public void setUp() throws Exception {
+        method = InvokerBenchmark.class.getDeclaredMethod("sum", int.class, long.class, double.class);
+        invoker = RouteInvoker.of(method);
+        controller = new InvokerBenchmark();
+        callArgs = new Object[]{7, 11L, 2.5d};
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        method.setAccessible(true);
+        return method.invoke(controller, callArgs);
+    }
+
+    @Benchmark
+    public Object routeInvoker() throws Exception {
+        return invoker.invoke(controller, callArgs);
+    }
+
+    private long sum(int a, long b, double c) {
+        return a + b + (long) c;
+    }
+}
@@ -0,0 +1,100 @@
+package com.framework.bench;
+
+import com.framework.bench.model.Catalog;
+import com.framework.bench.model.Product;
+import com.framework.json.CborSerializer;
+import com.framework.json.JsonDecoder;
+import com.framework.json.JsonReader;
+import com.framework.json.JsonSerializer;
+import com.framework.json.JsonWriter;
+import com.framework.json.ResponseFormat;
+import com.framework.json.SequenceFlusher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation de l'enveloppe JSON d'une réponse @Json sur des graphes
+ * d'objets réalistes (beans imbriqués, listes, maps, texte accentué), la même
+ * en CBOR (Accept: application/cbor), la liste produite par un Stream (tableau
+ * envoyé par morceaux, NDJSON), et lecture d'un corps @RequestBody équivalent en records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"1", "20", "500"})
+    int products;
+
+    public record Line(long id, String name, String description, BigDecimal price, boolean available, List<String> tags) {}
+
+    private static final long FLUSH_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final JsonDecoder.ValueReader LINES = JsonDecoder.forType(Line[].class);
+
+    private List<Product> list;
+    private Object data;
+    private OutputStream sink;
+    private byte[] body;
+
+    @Setup
+    public void setUp(Blackhole blackhole) throws IOException {
+        list = Catalog.products(products);
+        data = products == 1 ? list.get(0) : list;
+        sink = new OutputStream() {
+            @Override public void write(int b) { blackhole.consume(b); }
+            @Override public void write(byte[] b, int off, int len) { blackhole.consume(len); }
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter w = new JsonWriter(out);
+        JsonSerializer.write(w, list);
+        w.flush();
+        body = out.toByteArray();
+    }
+
+    @Benchmark
+    public void envelope() throws Exception {
+        JsonSerializer.writeEnvelope(sink, data);
+    }
+
+    @Benchmark
+    public void envelopeCbor() throws Exception {
+        CborSerializer.writeEnvelope(sink, data);
+    }
+
+    // intervalle par défaut de stream-flush-interval : seul le premier élément déclenche un envoi
+    @Benchmark
+    public void envelopeStream() throws Exception {
+        ResponseFormat.JSON.writeSequence(sink, list.stream(), new SequenceFlusher(() -> {}, FLUSH_INTERVAL));
+    }
+
+    @Benchmark
+    public void ndjsonStream() throws Exception {
+        ResponseFormat.NDJSON.writeSequence(sink, list.stream(), new SequenceFlusher(() -> {}, FLUSH_INTERVAL));
+    }
+
+    @Benchmark
+    public Object readBody() throws Exception {
+        return LINES.read(new JsonReader(new ByteArrayInputStream(body)));
+    }
+}
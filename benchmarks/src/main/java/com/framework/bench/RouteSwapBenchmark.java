@@ -0,0 +1,90 @@
+package com.framework.bench;
+
+import com.framework.mapping.AnnotationStore;
+import com.framework.mapping.MappingStore;
+import com.framework.mapping.RouteMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectures de la table pendant qu'un thread remplace sans cesse les routes d'un
+ * controller : le temps de match ne doit pas dépendre des écritures (aucun verrou).
+ * À comparer avec RouterBenchmark.paramRoute (routes = 1000).
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteSwapBenchmark {
+    private static final int ROUTES = 1000;
+
+    private MappingStore store;
+    private Map<String, AnnotationStore> swapped;
+    private String[] paths;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        Method handler = RouteSwapBenchmark.class.getDeclaredMethod("handler");
+        Map<String, AnnotationStore> table = new LinkedHashMap<>();
+        paths = new String[ROUTES];
+        for (int i = 0; i < ROUTES; i++) {
+            String url = "/api/resource" + i + "/{id}/items/{itemId}";
+            table.put("GET:" + url, new AnnotationStore(RouteSwapBenchmark.class, handler, url, "GET"));
+            paths[i] = "/api/resource" + i + "/" + (i * 7) + "/items/" + (i * 13);
+        }
+        store = new MappingStore();
+        store.addMappings(table);
+
+        // autre "controller" dont les routes sont republiées en boucle par l'écrivain
+        Method swap = Swapped.class.getDeclaredMethod("handler");
+        swapped = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            String url = "/swap/resource" + i + "/{id}";
+            swapped.put("GET:" + url, new AnnotationStore(Swapped.class, swap, url, "GET"));
+        }
+    }
+
+    @Benchmark
+    @Group("swap")
+    @GroupThreads(3)
+    public RouteMatch match(Cursor cursor) {
+        int i = cursor.next++;
+        if (cursor.next == ROUTES) cursor.next = 0;
+        return store.match(paths[i], "GET");
+    }
+
+    @Benchmark
+    @Group("swap")
+    @GroupThreads(1)
+    public void replace() {
+        store.replaceController(Swapped.class.getName(), swapped);
+    }
+
+    public void handler() {}
+
+    public static class Swapped {
+        public void handler() {}
+    }
+}
@@ -0,0 +1,96 @@
+package com.framework.bench;
+
+import com.framework.mapping.AnnotationStore;
+import com.framework.mapping.MappingStore;
+import com.framework.mapping.RouteMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de MappingStore.match quand le nombre de routes augmente : le temps par
+ * recherche doit rester à peu près constant (routes statiques et {param}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int routes;
+
+    private MappingStore store;
+    private String[] staticPaths;
+    private String[] paramPaths;
+    private String[] missingPaths;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        Method handler = RouterBenchmark.class.getDeclaredMethod("handler");
+        Map<String, AnnotationStore> table = new LinkedHashMap<>();
+        staticPaths = new String[routes];
+        paramPaths = new String[routes];
+        missingPaths = new String[routes];
+        for (int i = 0; i < routes; i++) {
+            add(table, handler, "/api/resource" + i + "/list");
+            add(table, handler, "/api/resource" + i + "/{id}");
+            add(table, handler, "/api/resource" + i + "/{id}/items/{itemId}");
+            staticPaths[i] = "/api/resource" + i + "/list";
+            paramPaths[i] = "/api/resource" + i + "/" + (i * 7) + "/items/" + (i * 13);
+            missingPaths[i] = "/api/resource" + i + "/" + i + "/unknown";
+        }
+        store = new MappingStore();
+        store.addMappings(table);
+    }
+
+    private static void add(Map<String, AnnotationStore> table, Method handler, String url) throws Exception {
+        table.put("GET:" + url, new AnnotationStore(RouterBenchmark.class, handler, url, "GET"));
+    }
+
+    // parcours des chemins pour ne pas mesurer une seule entrée toujours chaude en cache
+    private int nextIndex() {
+        int i = next++;
+        if (next == routes) next = 0;
+        return i;
+    }
+
+    @Benchmark
+    public RouteMatch staticRoute() {
+        return store.match(staticPaths[nextIndex()], "GET");
+    }
+
+    @Benchmark
+    public RouteMatch paramRoute() {
+        return store.match(paramPaths[nextIndex()], "GET");
+    }
+
+    @Benchmark
+    public RouteMatch noRoute() {
+        return store.match(missingPaths[nextIndex()], "GET");
+    }
+
+    @Benchmark
+    public AnnotationStore findMapping() {
+        return store.findMapping(staticPaths[nextIndex()], "GET");
+    }
+
+    @SuppressWarnings("unused")
+    private void handler() {}
+}
@@ -0,0 +1,97 @@
+package com.framework.bench;
+
+import com.framework.bench.stub.StubContainer;
+import com.framework.bench.stub.StubRequest;
+import com.framework.bench.stub.StubResponse;
+import com.framework.servlet.FrontServlet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Rendu d'une ModelView par le moteur de templates intégré (template compilé,
+ * écrit directement dans la réponse), avec et sans vérification de rechargement.
+ * Le forward JSP correspondant est mesuré par DispatchBenchmark.modelView.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewBenchmark {
+    private static final String TEMPLATE = """
+            {{> layout/header}}
+            <h1>{{ product.name }}</h1>
+            <p>{{ product.description }}</p>
+            <p class="price">{{ product.price }} &euro;{{#if product.available}} — en stock{{else}} — épuisé{{/if}}</p>
+            <p>{{ product.category.label }}</p>
+            <ul>{{#each product.tags as tag}}<li data-i="{{@index}}">{{ tag }}</li>{{/each}}</ul>
+            <table>{{#each product.stock as s}}<tr><td>{{ s.key }}</td><td>{{ s.value }}</td></tr>{{/each}}</table>
+            </body></html>
+            """;
+
+    @Param({"false", "true"})
+    public boolean reload;
+
+    private Path webRoot;
+    private FrontServlet servlet;
+    private StubRequest request;
+    private StubResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        webRoot = Files.createTempDirectory("views");
+        Path views = Files.createDirectories(webRoot.resolve("WEB-INF/views/products"));
+        Files.writeString(views.resolve("show.html"), TEMPLATE);
+        Files.createDirectories(webRoot.resolve("WEB-INF/views/layout"));
+        Files.writeString(webRoot.resolve("WEB-INF/views/layout/header.html"),
+                "<!DOCTYPE html><html><head><title>{{ product.name }}</title></head><body>\n");
+
+        servlet = StubContainer.init(new FrontServlet(), Map.of(
+                "controller-package", "com.framework.bench.controllers",
+                "route-index", "false",
+                "metrics-jmx", "false",
+                "view-reload", String.valueOf(reload)), webRoot);
+        request = new StubRequest("GET", "/catalog/products/7");
+        response = new StubResponse();
+
+        servlet.service(request, response);
+        if (request.getForwardedTo() != null || response.getBytesWritten() == 0) {
+            throw new IllegalStateException("Template non rendu : " + request.getForwardedTo());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        servlet.destroy();
+        try (Stream<Path> files = Files.walk(webRoot)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) Files.delete(p);
+        }
+    }
+
+    @Benchmark
+    public long template() throws Exception {
+        request.reset();
+        response.reset();
+        servlet.service(request, response);
+        return response.getBytesWritten();
+    }
+}
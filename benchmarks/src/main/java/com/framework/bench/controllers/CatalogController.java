@@ -0,0 +1,37 @@
+package com.framework.bench.controllers;
+
+import com.framework.annotation.Controller;
+import com.framework.annotation.Json;
+import com.framework.annotation.Param;
+import com.framework.annotation.Path;
+import com.framework.annotation.RequestParam;
+import com.framework.annotation.Scope;
+import com.framework.bench.model.Catalog;
+import com.framework.bench.model.Product;
+import com.framework.model.ModelView;
+
+import java.util.List;
+
+@Controller(url = "/catalog", scope = Scope.SINGLETON)
+public class CatalogController {
+    private final List<Product> products = Catalog.products(20);
+
+    @Path(url = "/products/{id}")
+    public ModelView show(@Param("id") int id) {
+        return new ModelView("products/show").add("product", products.get(id % products.size()));
+    }
+
+    @Json
+    @Path(url = "/api/products")
+    public List<Product> list(@RequestParam(value = "page", required = false, defaultValue = "0") int page,
+                              @RequestParam(value = "size", required = false, defaultValue = "20") int size) {
+        int from = Math.min(page * size, products.size());
+        return products.subList(from, Math.min(from + size, products.size()));
+    }
+
+    @Json
+    @Path(url = "/api/products/{id}")
+    public Product get(@Param("id") long id) {
+        return products.get((int) (id % products.size()));
+    }
+}
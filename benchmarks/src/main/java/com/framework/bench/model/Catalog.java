@@ -0,0 +1,29 @@
+package com.framework.bench.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Jeu de données déterministe, proche d'une réponse d'API réelle (texte accentué, imbrication, collections). */
+public final class Catalog {
+    private Catalog() {}
+
+    public static List<Product> products(int count) {
+        Category root = new Category(1, "Maison", null);
+        Category kitchen = new Category(2, "Cuisine & \"arts de la table\"", root);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Integer> stock = new LinkedHashMap<>();
+            stock.put("Antananarivo", i * 3);
+            stock.put("Toamasina", i % 7);
+            products.add(new Product(i, "Produit n°" + i,
+                    "Description détaillée du produit " + i + ", livrée avec\tnotice et garantie « 2 ans ».",
+                    BigDecimal.valueOf(1999 + i * 37L, 2), i % 3 != 0, LocalDate.of(2024, 1 + i % 12, 1 + i % 28),
+                    i % 2 == 0 ? kitchen : root, List.of("promo", "été", "ref-" + i), stock));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,17 @@
+package com.framework.bench.model;
+
+public class Category {
+    private int id;
+    private String label;
+    private Category parent;
+
+    public Category(int id, String label, Category parent) {
+        this.id = id;
+        this.label = label;
+        this.parent = parent;
+    }
+
+    public int getId() { return id; }
+    public String getLabel() { return label; }
+    public Category getParent() { return parent; }
+}
@@ -0,0 +1,41 @@
+package com.framework.bench.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public class Product {
+    private long id;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private boolean available;
+    private LocalDate createdAt;
+    private Category category;
+    private List<String> tags;
+    private Map<String, Integer> stock;
+
+    public Product(long id, String name, String description, BigDecimal price, boolean available,
+                   LocalDate createdAt, Category category, List<String> tags, Map<String, Integer> stock) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.available = available;
+        this.createdAt = createdAt;
+        this.category = category;
+        this.tags = tags;
+        this.stock = stock;
+    }
+
+    public long getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public BigDecimal getPrice() { return price; }
+    public boolean isAvailable() { return available; }
+    public LocalDate getCreatedAt() { return createdAt; }
+    public Category getCategory() { return category; }
+    public List<String> getTags() { return tags; }
+    public Map<String, Integer> getStock() { return stock; }
+}
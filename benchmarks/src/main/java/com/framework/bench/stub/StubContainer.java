@@ -0,0 +1,74 @@
+package com.framework.bench.stub;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Initialise une servlet hors conteneur : les context-params sont pris dans
+ * la map fournie, les attributs sont gardés en mémoire. Les ressources (vues...)
+ * sont lues sous webRoot s'il est fourni.
+ */
+public final class StubContainer {
+    private StubContainer() {}
+
+    public static <S extends HttpServlet> S init(S servlet, Map<String, String> initParameters) throws ServletException {
+        return init(servlet, initParameters, null);
+    }
+
+    public static <S extends HttpServlet> S init(S servlet, Map<String, String> initParameters, Path webRoot)
+            throws ServletException {
+        ServletContext context = context(initParameters, webRoot);
+        servlet.init(new ServletConfig() {
+            @Override public String getServletName() { return servlet.getClass().getSimpleName(); }
+            @Override public ServletContext getServletContext() { return context; }
+            @Override public String getInitParameter(String name) { return null; }
+            @Override public Enumeration<String> getInitParameterNames() { return Collections.emptyEnumeration(); }
+        });
+        return servlet;
+    }
+
+    private static ServletContext context(Map<String, String> initParameters, Path webRoot) {
+        Map<String, Object> attributes = new HashMap<>();
+        return (ServletContext) Proxy.newProxyInstance(ServletContext.class.getClassLoader(),
+                new Class<?>[]{ServletContext.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInitParameter": return initParameters.get((String) args[0]);
+                        case "getInitParameterNames": return Collections.enumeration(initParameters.keySet());
+                        case "getAttribute": return attributes.get((String) args[0]);
+                        case "setAttribute": attributes.put((String) args[0], args[1]); return null;
+                        case "removeAttribute": attributes.remove((String) args[0]); return null;
+                        case "getContextPath": return "";
+                        case "getResource": {
+                            Path file = resolve(webRoot, (String) args[0]);
+                            return file != null && Files.isRegularFile(file) ? file.toUri().toURL() : null;
+                        }
+                        case "getRealPath": {
+                            Path file = resolve(webRoot, (String) args[0]);
+                            return file != null ? file.toString() : null;
+                        }
+                        case "getMimeType": return null;
+                        case "log": return null;
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == args[0];
+                        case "toString": return "StubContainer.context";
+                        default: throw new UnsupportedOperationException("ServletContext." + method.getName());
+                    }
+                });
+    }
+
+    private static Path resolve(Path webRoot, String path) {
+        if (webRoot == null) return null;
+        Path file = webRoot.resolve(path.startsWith("/") ? path.substring(1) : path).normalize();
+        return file.startsWith(webRoot) ? file : null;
+    }
+}
@@ -0,0 +1,123 @@
+package com.framework.bench.stub;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Requête en mémoire, réutilisable d'une invocation à l'autre : seuls l'URI,
+ * la méthode, les paramètres, les en-têtes et les attributs sont gérés.
+ */
+public class StubRequest extends HttpServletRequestWrapper {
+    private final String method;
+    private final String uri;
+    private final Map<String, String> parameters = new HashMap<>();
+    private final Map<String, String> headers = new HashMap<>();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private String forwardedTo;
+    private String contentType;
+    private byte[] body = new byte[0];
+
+    public StubRequest(String method, String uri) {
+        super(Unsupported.of(HttpServletRequest.class));
+        this.method = method;
+        this.uri = uri;
+    }
+
+    public StubRequest param(String name, String value) {
+        parameters.put(name, value);
+        return this;
+    }
+
+    public StubRequest body(String contentType, byte[] body) {
+        this.contentType = contentType;
+        this.body = body;
+        return this;
+    }
+
+    public StubRequest header(String name, String value) {
+        headers.put(name.toLowerCase(), value);
+        return this;
+    }
+
+    /** Vue vers laquelle la dernière requête a été transférée. */
+    public String getForwardedTo() { return forwardedTo; }
+
+    /** Vide les attributs posés par le rendu précédent. */
+    public void reset() {
+        attributes.clear();
+        forwardedTo = null;
+    }
+
+    @Override public String getMethod() { return method; }
+    @Override public String getRequestURI() { return uri; }
+    @Override public String getContextPath() { return ""; }
+    @Override public String getServletPath() { return uri; }
+    @Override public String getPathInfo() { return null; }
+    @Override public String getQueryString() { return null; }
+    @Override public String getContentType() { return contentType; }
+    @Override public int getContentLength() { return contentType != null ? body.length : -1; }
+    @Override public long getContentLengthLong() { return getContentLength(); }
+
+    // nouveau flux à chaque appel : la même requête peut être rejouée
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override public int read() { return in.read(); }
+            @Override public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+            @Override public boolean isFinished() { return in.available() == 0; }
+            @Override public boolean isReady() { return true; }
+            @Override public void setReadListener(ReadListener listener) {}
+        };
+    }
+    @Override public String getCharacterEncoding() { return "UTF-8"; }
+    @Override public boolean isAsyncSupported() { return false; }
+    @Override public boolean isAsyncStarted() { return false; }
+
+    @Override public String getParameter(String name) { return parameters.get(name); }
+    @Override public Map<String, String[]> getParameterMap() {
+        Map<String, String[]> map = new HashMap<>();
+        parameters.forEach((k, v) -> map.put(k, new String[]{v}));
+        return map;
+    }
+    @Override public Enumeration<String> getParameterNames() { return Collections.enumeration(parameters.keySet()); }
+    @Override public String[] getParameterValues(String name) {
+        String value = parameters.get(name);
+        return value != null ? new String[]{value} : null;
+    }
+
+    @Override public String getHeader(String name) { return headers.get(name.toLowerCase()); }
+    @Override public Enumeration<String> getHeaders(String name) {
+        String value = getHeader(name);
+        return Collections.enumeration(value != null ? java.util.List.of(value) : java.util.List.of());
+    }
+    @Override public Enumeration<String> getHeaderNames() { return Collections.enumeration(headers.keySet()); }
+    @Override public long getDateHeader(String name) {
+        String value = getHeader(name);
+        return value != null ? Long.parseLong(value) : -1;
+    }
+
+    @Override public Object getAttribute(String name) { return attributes.get(name); }
+    @Override public void setAttribute(String name, Object value) { attributes.put(name, value); }
+    @Override public void removeAttribute(String name) { attributes.remove(name); }
+    @Override public Enumeration<String> getAttributeNames() { return Collections.enumeration(attributes.keySet()); }
+
+    // pas de moteur JSP ici : le forward se contente de noter la vue demandée
+    @Override public RequestDispatcher getRequestDispatcher(String path) {
+        return new RequestDispatcher() {
+            @Override public void forward(ServletRequest request, ServletResponse response) { forwardedTo = path; }
+            @Override public void include(ServletRequest request, ServletResponse response) { forwardedTo = path; }
+        };
+    }
+}
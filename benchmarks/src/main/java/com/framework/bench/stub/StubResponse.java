@@ -0,0 +1,82 @@
+package com.framework.bench.stub;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Réponse en mémoire dont le corps est compté puis jeté : on mesure le coût
+ * de production de la réponse, pas celui d'un tampon qui grossit.
+ */
+public class StubResponse extends HttpServletResponseWrapper {
+    private final Map<String, String> headers = new HashMap<>();
+    private final CountingOutputStream body = new CountingOutputStream();
+    private PrintWriter writer;
+    private int status = 200;
+    private String contentType;
+
+    public StubResponse() {
+        super(Unsupported.of(HttpServletResponse.class));
+    }
+
+    /** Octets écrits depuis le dernier reset. */
+    public long getBytesWritten() {
+        if (writer != null) writer.flush();
+        return body.count;
+    }
+
+    @Override
+    public void reset() {
+        headers.clear();
+        body.count = 0;
+        writer = null;
+        status = 200;
+        contentType = null;
+    }
+
+    @Override public void setStatus(int sc) { status = sc; }
+    @Override public int getStatus() { return status; }
+    @Override public void sendError(int sc) { status = sc; }
+    @Override public void sendError(int sc, String msg) { status = sc; }
+    @Override public void setContentType(String type) { contentType = type; }
+    @Override public String getContentType() { return contentType; }
+    @Override public void setCharacterEncoding(String charset) {}
+    @Override public String getCharacterEncoding() { return "UTF-8"; }
+    @Override public void setContentLength(int len) {}
+    @Override public void setContentLengthLong(long len) {}
+    @Override public void setBufferSize(int size) {}
+    @Override public int getBufferSize() { return 8192; }
+    @Override public boolean isCommitted() { return false; }
+    @Override public void flushBuffer() {}
+
+    @Override public void setHeader(String name, String value) { headers.put(name.toLowerCase(), value); }
+    @Override public void addHeader(String name, String value) { headers.merge(name.toLowerCase(), value, (a, b) -> a + ", " + b); }
+    @Override public void setDateHeader(String name, long date) { setHeader(name, Long.toString(date)); }
+    @Override public void setIntHeader(String name, int value) { setHeader(name, Integer.toString(value)); }
+    @Override public boolean containsHeader(String name) { return headers.containsKey(name.toLowerCase()); }
+    @Override public String getHeader(String name) { return headers.get(name.toLowerCase()); }
+
+    @Override public ServletOutputStream getOutputStream() { return body; }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) writer = new PrintWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), false);
+        return writer;
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+        long count;
+
+        @Override public void write(int b) { count++; }
+        @Override public void write(byte[] b, int off, int len) { count += len; }
+        @Override public boolean isReady() { return true; }
+        @Override public void setWriteListener(WriteListener listener) {}
+    }
+}
@@ -0,0 +1,25 @@
+package com.framework.bench.stub;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Implémentation "vide" d'une interface servlet : toute méthode non redéfinie
+ * par le wrapper qui l'enveloppe lève UnsupportedOperationException, ce qui
+ * signale tout de suite un appel que le benchmark ne couvre pas.
+ */
+final class Unsupported {
+    private Unsupported() {}
+
+    static <T> T of(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "equals": return proxy == args[0];
+                    case "toString": return "Unsupported(" + type.getSimpleName() + ")";
+                }
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        }));
+    }
+}